@@ -0,0 +1,53 @@
+package com.audition.benchmark;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.PostComment;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic payloads shaped like the jsonplaceholder responses, so results are comparable between runs.
+ */
+public final class BenchmarkFixtures {
+
+    public static final int COMMENTS_PER_POST = 5;
+    private static final String BODY = "quia et suscipit\nsuscipit recusandae consequuntur expedita et cum\n"
+        + "reprehenderit molestiae ut ut quas totam\nnostrum rerum est autem sunt rem eveniet architecto";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static List<AuditionPost> posts(final int count) {
+        final List<AuditionPost> posts = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            posts.add(new AuditionPost((id - 1) / 10 + 1, id, title(id), BODY));
+        }
+        return posts;
+    }
+
+    public static List<PostComment> comments(final int count) {
+        final List<PostComment> comments = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            comments.add(new PostComment((id - 1) / COMMENTS_PER_POST + 1, id, "comment " + id,
+                "user" + id + "@example.com", BODY));
+        }
+        return comments;
+    }
+
+    public static List<AuditionPostWithComments> postsWithComments(final int count) {
+        final List<AuditionPostWithComments> posts = new ArrayList<>(count);
+        for (final AuditionPost post : posts(count)) {
+            posts.add(new AuditionPostWithComments(post.getUserId(), post.getId(), post.getTitle(), post.getBody(),
+                comments(COMMENTS_PER_POST)));
+        }
+        return posts;
+    }
+
+    /**
+     * Every tenth title contains "dolor" so filters keep a predictable share of the posts.
+     */
+    private static String title(final int id) {
+        return id % 10 == 0 ? "sunt aut facere dolor " + id : "qui est esse repellat " + id;
+    }
+}
@@ -0,0 +1,41 @@
+package com.audition.common.logging;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * Message building in {@link AuditionLogger}, measured without the appender so only the string work is counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditionLoggerBenchmark {
+
+    private AuditionLogger auditionLogger;
+    private ProblemDetail problemDetail;
+
+    @Setup
+    public void setUp() {
+        auditionLogger = new AuditionLogger();
+        problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_GATEWAY, "Upstream returned 502");
+        problemDetail.setTitle("API Error Occurred");
+    }
+
+    @Benchmark
+    public String standardProblemDetailMessage() {
+        return auditionLogger.createStandardProblemDetailMessage(problemDetail);
+    }
+
+    @Benchmark
+    public String basicErrorResponseMessage() {
+        return auditionLogger.createBasicErrorResponseMessage(502, "Bad Gateway");
+    }
+}
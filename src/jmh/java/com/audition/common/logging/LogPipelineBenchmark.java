@@ -0,0 +1,112 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.MDC;
+
+/**
+ * Throughput of the prod JSON log pipeline on one logging thread, writing to a discarding stream so only encoding and
+ * hand-off are measured. {@code sync} encodes on the calling thread; {@code async} goes through
+ * {@link TraceContextAsyncAppender} as configured in logback-spring.xml, so the score is what one core can hand off
+ * and the {@code dropped} secondary result shows how many of those events the encoder thread could not keep up with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class LogPipelineBenchmark {
+
+    @Param({"sync", "async"})
+    private String pipeline;
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private TraceContextAsyncAppender asyncAppender;
+
+    @Setup
+    public void setUp() {
+        loggerContext = new LoggerContext();
+        final LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setCustomFields("{\"service\":\"audition-api\"}");
+        encoder.start();
+        final OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(loggerContext);
+        output.setName("json");
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+
+        Appender<ILoggingEvent> appender = output;
+        if ("async".equals(pipeline)) {
+            asyncAppender = new TraceContextAsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setName("async-json");
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(0);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(output);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        logger = loggerContext.getLogger(LogPipelineBenchmark.class);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        MDC.put("traceId", "0af7651916cd43dd8448eb211c80319c");
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDC.clear();
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void logWithArguments(final Drops drops) {
+        logger.info("Fetched {} posts from {} in {} ms", 100, "jsonplaceholder", 42);
+    }
+
+    long droppedCount() {
+        return asyncAppender == null ? 0 : asyncAppender.getDroppedCount();
+    }
+
+    /**
+     * Events dropped by the async appender during each iteration, reported next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Drops {
+
+        public long dropped;
+        private long droppedBefore;
+
+        @Setup(Level.Iteration)
+        public void start(final LogPipelineBenchmark benchmark) {
+            dropped = 0;
+            droppedBefore = benchmark.droppedCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop(final LogPipelineBenchmark benchmark) {
+            dropped = benchmark.droppedCount() - droppedBefore;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.audition.configuration;
+
+import com.audition.benchmark.BenchmarkFixtures;
+import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.PostComment;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Jackson (de)serialization of model arrays with the mapper from {@link WebServiceConfiguration#objectMapper()}.
+ * Post-with-comments is serialized only: the API never reads it back and it has no default constructor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ObjectMapperBenchmark {
+
+    @Param({"1", "100", "1000"})
+    int size;
+
+    private ObjectWriter writer;
+    private ObjectReader postsReader;
+    private ObjectReader commentsReader;
+    private List<AuditionPost> posts;
+    private List<PostComment> comments;
+    private List<AuditionPostWithComments> postsWithComments;
+    private byte[] postsJson;
+    private byte[] commentsJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        final ObjectMapper objectMapper = new WebServiceConfiguration().objectMapper();
+        writer = objectMapper.writer();
+        postsReader = objectMapper.readerForListOf(AuditionPost.class);
+        commentsReader = objectMapper.readerForListOf(PostComment.class);
+        posts = BenchmarkFixtures.posts(size);
+        comments = BenchmarkFixtures.comments(size);
+        postsWithComments = BenchmarkFixtures.postsWithComments(size);
+        postsJson = writer.writeValueAsBytes(posts);
+        commentsJson = writer.writeValueAsBytes(comments);
+    }
+
+    @Benchmark
+    public byte[] serializePosts() throws JsonProcessingException {
+        return writer.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    public byte[] serializeComments() throws JsonProcessingException {
+        return writer.writeValueAsBytes(comments);
+    }
+
+    @Benchmark
+    public byte[] serializePostsWithComments() throws JsonProcessingException {
+        return writer.writeValueAsBytes(postsWithComments);
+    }
+
+    @Benchmark
+    public List<AuditionPost> deserializePosts() throws IOException {
+        return postsReader.readValue(postsJson);
+    }
+
+    @Benchmark
+    public List<PostComment> deserializeComments() throws IOException {
+        return commentsReader.readValue(commentsJson);
+    }
+}
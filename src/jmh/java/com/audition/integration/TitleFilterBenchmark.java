@@ -0,0 +1,74 @@
+package com.audition.integration;
+
+import com.audition.benchmark.BenchmarkFixtures;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The streaming parse-and-filter path of {@link AuditionIntegrationClient#getPosts(String)} on an in-memory upstream
+ * body, with and without a title query. {@code bufferedBaseline} reproduces the path before streaming: the buffered
+ * body read into a String for logging, bound to an {@code AuditionPost[]}, then wrapped and filtered. Run with
+ * {@code -prof gc} to compare their allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TitleFilterBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int size;
+
+    @Param({"", "dolor"})
+    String title;
+
+    private ObjectMapper objectMapper;
+    private AuditionIntegrationClient client;
+    private byte[] postsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new WebServiceConfiguration().objectMapper();
+        client = new AuditionIntegrationClient();
+        final Field field = ReflectionUtils.findField(AuditionIntegrationClient.class, "objectMapper");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, client, objectMapper);
+        postsJson = objectMapper.writeValueAsBytes(BenchmarkFixtures.posts(size));
+    }
+
+    @Benchmark
+    public List<AuditionPost> parseAndFilter() throws IOException {
+        return client.parseArray(new ByteArrayInputStream(postsJson), AuditionPost.class,
+            AuditionIntegrationClient.titleFilter(title));
+    }
+
+    @Benchmark
+    public List<AuditionPost> bufferedBaseline() throws IOException {
+        final String body = new String(postsJson, StandardCharsets.UTF_8);
+        final AuditionPost[] posts = objectMapper.readValue(body, AuditionPost[].class);
+        if (StringUtils.isNotBlank(title)) {
+            return Arrays.stream(posts)
+                .filter(post -> post.getTitle() != null && post.getTitle().contains(title))
+                .collect(Collectors.toList());
+        }
+        return Arrays.asList(posts);
+    }
+}
@@ -0,0 +1,64 @@
+package com.audition.query;
+
+import com.audition.benchmark.BenchmarkFixtures;
+import com.audition.model.AuditionPost;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A compiled {@code filter} expression against the equivalent stream filter, the way titles are filtered today, on
+ * synthetic posts. {@code compileAndFilter} includes the lookup of the compiled expression by its string.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FilterBenchmark {
+
+    private static final Set<Integer> USER_IDS = Set.of(3, 50, 700, 9000);
+
+    @Param({"10000", "100000", "1000000"})
+    int size;
+
+    @Param({"title", "compound"})
+    String query;
+
+    private List<AuditionPost> posts;
+    private String expression;
+    private Predicate<AuditionPost> streamFilter;
+    private final FilterCompiler<AuditionPost> compiler = new FilterCompiler<>(FilterFields.POSTS);
+
+    @Setup
+    public void setUp() {
+        posts = BenchmarkFixtures.posts(size);
+        if ("title".equals(query)) {
+            expression = "title contains 'dolor'";
+            streamFilter = post -> post.getTitle() != null && post.getTitle().contains("dolor");
+        } else {
+            expression = "title contains 'dolor' and userId in (3, 50, 700, 9000) and not body prefix 'x'";
+            streamFilter = post -> post.getTitle() != null && post.getTitle().contains("dolor")
+                && USER_IDS.contains(post.getUserId())
+                && !(post.getBody() != null && post.getBody().startsWith("x"));
+        }
+    }
+
+    @Benchmark
+    public List<AuditionPost> streamFilter() {
+        return posts.stream().filter(streamFilter).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<AuditionPost> compileAndFilter() {
+        return FilterCompiler.filter(posts, compiler.compile(expression));
+    }
+}
@@ -0,0 +1,105 @@
+package com.audition.store;
+
+import com.audition.model.PostComment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Heap footprint of comments held as a {@code List<PostComment>} against {@link CompactComments}, on their own and
+ * across everything the upstream client and the caches retain for them, measured with JOL and printed once per size,
+ * plus the cost of compacting and of a full scan through each representation. Names and emails repeat like comment
+ * authors do; bodies are distinct.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CommentFootprintBenchmark {
+
+    private static final String BODY = "laudantium enim quasi est quidem magnam voluptate ipsam eos\n"
+        + "tempora quo necessitatibus\ndolor quam autem quasi\nreiciendis et nam sapiente accusantium ";
+    private static final int AUTHORS = 500;
+
+    @Param({"10000", "100000", "500000"})
+    int size;
+
+    private List<PostComment> beans;
+    private List<PostComment> compact;
+
+    @Setup
+    public void setUp() {
+        beans = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            final int author = id % AUTHORS;
+            beans.add(new PostComment(id / 5 + 1, id, "author " + author, "author" + author + "@example.com",
+                BODY + id));
+        }
+        compact = CompactComments.compact(beans);
+        final long beanBytes = GraphLayout.parseInstance(beans).totalSize();
+        final long compactBytes = GraphLayout.parseInstance(compact).totalSize();
+        System.out.printf("%n%d comments: List<PostComment> %,d bytes, CompactComments %,d bytes (%.1f%%)%n", size,
+            beanBytes, compactBytes, 100.0 * compactBytes / beanBytes);
+        // Compacted by the caller after revalidation kept the decoded beans, against compacted by the client
+        final long callerBytes = cachedPathBytes(ArrayList::new, CompactComments::compact);
+        final long clientBytes = cachedPathBytes(CompactComments::compact, UnaryOperator.identity());
+        System.out.printf("%d comments, whole cached path: compacted by the caller %,d bytes, by the client %,d bytes"
+            + " (%.1f%%)%n", size, callerBytes, clientBytes, 100.0 * clientBytes / callerBytes);
+    }
+
+    /**
+     * Everything retained for the same comments once each post was read through both comment endpoints and the
+     * snapshot reconciled all comments: the values {@code UpstreamRevalidation} keeps for 304 replies, the
+     * {@code COMMENTS} and {@code POST_WITH_COMMENTS} cache entries and the snapshot store. Shared objects are
+     * counted once.
+     */
+    private long cachedPathBytes(final UnaryOperator<List<PostComment>> decode,
+        final UnaryOperator<List<PostComment>> cache) {
+        final List<Object> roots = new ArrayList<>();
+        for (final List<PostComment> comments : beans.stream()
+            .collect(Collectors.groupingBy(PostComment::getPostId)).values()) {
+            final List<PostComment> byPostId = decode.apply(comments);
+            final List<PostComment> ofPost = decode.apply(comments);
+            roots.add(byPostId);
+            roots.add(cache.apply(byPostId));
+            roots.add(ofPost);
+        }
+        final List<PostComment> all = decode.apply(beans);
+        roots.add(all);
+        roots.add(CompactComments.of(all));
+        return GraphLayout.parseInstance(roots.toArray()).totalSize();
+    }
+
+    @Benchmark
+    public CompactComments compact() {
+        return CompactComments.of(beans);
+    }
+
+    @Benchmark
+    public long scanBeans() {
+        return scan(beans);
+    }
+
+    @Benchmark
+    public long scanCompact() {
+        return scan(compact);
+    }
+
+    private static long scan(final List<PostComment> comments) {
+        long total = 0;
+        for (final PostComment comment : comments) {
+            total += comment.getPostId() + comment.getEmail().length() + comment.getBody().length();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,53 @@
+package com.audition.web.advice;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Cost of rendering upstream failures as {@link ProblemDetail}, once per failed item in batch responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProblemDetailBenchmark {
+
+    private ProblemDetailMapper mapper;
+    private SystemException systemException;
+    private HttpClientErrorException clientErrorException;
+    private IllegalStateException unexpectedException;
+
+    @Setup
+    public void setUp() {
+        mapper = new ProblemDetailMapper(new AuditionLogger(), new SimpleMeterRegistry());
+        systemException = new SystemException("Post not found", HttpStatus.NOT_FOUND);
+        clientErrorException = new HttpClientErrorException(HttpStatus.NOT_FOUND, "Not Found");
+        unexpectedException = new IllegalStateException("Unexpected");
+    }
+
+    @Benchmark
+    public ProblemDetail fromSystemException() {
+        return mapper.toProblemDetail(systemException);
+    }
+
+    @Benchmark
+    public ProblemDetail fromClientErrorException() {
+        return mapper.toProblemDetail(clientErrorException);
+    }
+
+    @Benchmark
+    public ProblemDetail fromUnexpectedException() {
+        return mapper.toProblemDetail(unexpectedException);
+    }
+}
@@ -0,0 +1,233 @@
+package com.audition.common.cache;
+
+import com.audition.common.exception.SystemException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Local cache in front of the upstream integration. Each named cache has its own TTL and size bound and is evicted
+ * with Caffeine's W-TinyLFU policy. Hit, miss and eviction counts are published as {@code cache.*} meters.
+ *
+ * <p>Entries outlive their TTL by the spec's stale-while-revalidate and stale-if-error windows. Within the first, the
+ * stale copy is served immediately and one background refresh per key replaces it. Within the second, a failed
+ * upstream reload (5xx, I/O, open breaker) falls back to the stale copy instead of failing the request. The age of
+ * every value served from the cache is recorded in the {@value #STALENESS_TIMER} histogram and on the request.
+ */
+public class AuditionCache {
+
+    public static final String STALENESS_TIMER = "audition.cache.staleness";
+    static final String REFRESH_REJECTED_COUNTER = "audition.cache.refresh.rejected";
+    private static final Logger LOG = LoggerFactory.getLogger(AuditionCache.class);
+
+    private final boolean enabled;
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+    private final Set<RefreshKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    public AuditionCache(final AuditionCacheProperties properties, final MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, ForkJoinPool.commonPool(), Clock.systemUTC());
+    }
+
+    public AuditionCache(final AuditionCacheProperties properties, final MeterRegistry meterRegistry,
+        final Executor refreshExecutor, final Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.meterRegistry = meterRegistry;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        if (enabled) {
+            properties.getSpecs().forEach((name, spec) -> regions.put(name,
+                new Region(buildCache(name, spec, meterRegistry), spec)));
+        }
+    }
+
+    private static Cache<Object, CacheEntry<?>> buildCache(final String name, final AuditionCacheProperties.Spec spec,
+        final MeterRegistry meterRegistry) {
+        // Entries are kept long enough for both stale windows; freshness is judged from CacheEntry.fetchedAt
+        final Duration staleWindow = spec.getStaleWhileRevalidate().compareTo(spec.getStaleIfError()) >= 0
+            ? spec.getStaleWhileRevalidate() : spec.getStaleIfError();
+        final Cache<Object, CacheEntry<?>> cache = Caffeine.newBuilder()
+            .maximumSize(spec.getMaximumSize())
+            .expireAfterWrite(spec.getTtl().plus(staleWindow))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    /**
+     * Returns the cached value for the key, invoking the loader at most once per key on a miss. Stale values are
+     * served as described on the class. Exceptions thrown by the loader are propagated and nothing is cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String cacheName, final Object key, final Supplier<T> loader) {
+        final Region region = enabled ? regions.get(cacheName) : null;
+        if (region == null) {
+            return loader.get();
+        }
+        final CacheEntry<?>[] loaded = new CacheEntry<?>[1];
+        final CacheEntry<?> entry = region.cache().get(key,
+            k -> loaded[0] = new CacheEntry<>(loader.get(), clock.instant(), ContentVersion.next()));
+        if (entry == loaded[0]) {
+            ContentVersion.record(entry.version());
+            return (T) entry.value();
+        }
+        final AuditionCacheProperties.Spec spec = region.spec();
+        final Duration age = Duration.between(entry.fetchedAt(), clock.instant());
+        if (age.compareTo(spec.getTtl()) <= 0) {
+            return (T) served(cacheName, entry, age, Freshness.FRESH);
+        }
+        if (age.compareTo(spec.getTtl().plus(spec.getStaleWhileRevalidate())) <= 0) {
+            refreshInBackground(cacheName, region, key, loader);
+            return (T) served(cacheName, entry, age, Freshness.STALE);
+        }
+        try {
+            final T value = loader.get();
+            ContentVersion.record(store(region, key, entry, value, clock.instant()).version());
+            return value;
+        } catch (final RuntimeException ex) {
+            if (age.compareTo(spec.getTtl().plus(spec.getStaleIfError())) > 0 || !isServerSideFailure(ex)) {
+                throw ex;
+            }
+            LOG.warn("Reloading {} {} failed, serving copy from {} ago", cacheName, key, age, ex);
+            return (T) served(cacheName, entry, age, Freshness.STALE_IF_ERROR);
+        }
+    }
+
+    /**
+     * Non-loading lookup for callers that load asynchronously; returns null on a miss, once the value is older than
+     * its TTL, or when caching is off.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getIfPresent(final String cacheName, final Object key) {
+        final Region region = enabled ? regions.get(cacheName) : null;
+        final CacheEntry<?> entry = region == null ? null : region.cache().getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        final Duration age = Duration.between(entry.fetchedAt(), clock.instant());
+        return age.compareTo(region.spec().getTtl()) <= 0 ? (T) served(cacheName, entry, age, Freshness.FRESH) : null;
+    }
+
+    public void put(final String cacheName, final Object key, final Object value) {
+        put(cacheName, key, value, clock.instant());
+    }
+
+    /**
+     * Stores a value that was fetched from the upstream at {@code fetchedAt}, e.g. one restored from disk, so its age
+     * and freshness are counted from then rather than from now.
+     */
+    public void put(final String cacheName, final Object key, final Object value, final Instant fetchedAt) {
+        final Region region = enabled ? regions.get(cacheName) : null;
+        if (region != null && value != null) {
+            store(region, key, region.cache().getIfPresent(key), value, fetchedAt);
+        }
+    }
+
+    public void invalidateAll() {
+        regions.values().forEach(region -> region.cache().invalidateAll());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private Object served(final String cacheName, final CacheEntry<?> entry, final Duration age,
+        final Freshness freshness) {
+        Timer.builder(STALENESS_TIMER)
+            .description("Age of values served from the cache")
+            .tag("cache", cacheName)
+            .tag("freshness", freshness.tag())
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(age);
+        ServedEntry.record(age, freshness);
+        ContentVersion.record(entry.version());
+        return entry.value();
+    }
+
+    /**
+     * Keeps the previous version when the reloaded value equals the one it replaces, e.g. the same decoded objects
+     * after the upstream answered 304, so ETags derived from it stay valid.
+     */
+    private CacheEntry<?> store(final Region region, final Object key, final CacheEntry<?> previous,
+        final Object value, final Instant fetchedAt) {
+        final long version = previous != null && Objects.equals(previous.value(), value)
+            ? previous.version() : ContentVersion.next();
+        final CacheEntry<?> entry = new CacheEntry<>(value, fetchedAt, version);
+        region.cache().put(key, entry);
+        return entry;
+    }
+
+    private void refreshInBackground(final String cacheName, final Region region, final Object key,
+        final Supplier<?> loader) {
+        final RefreshKey refreshKey = new RefreshKey(cacheName, key);
+        if (!refreshing.add(refreshKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    final Object value = loader.get();
+                    store(region, key, region.cache().getIfPresent(key), value, clock.instant());
+                } catch (final RuntimeException ex) {
+                    LOG.warn("Background refresh of {} {} failed, keeping stale copy", cacheName, key, ex);
+                } finally {
+                    refreshing.remove(refreshKey);
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            // Refresh pool saturated: keep serving the stale copy, the next hit tries again
+            refreshing.remove(refreshKey);
+            Counter.builder(REFRESH_REJECTED_COUNTER)
+                .description("Background refreshes dropped because the refresh pool was full")
+                .tag("cache", cacheName)
+                .register(meterRegistry)
+                .increment();
+            LOG.debug("Background refresh of {} {} rejected", cacheName, key);
+        }
+    }
+
+    /**
+     * Client errors are answers, not outages: a 404 must not be masked by an older copy of the resource.
+     */
+    static boolean isServerSideFailure(final Throwable failure) {
+        if (failure instanceof HttpStatusCodeException ex) {
+            return ex.getStatusCode().is5xxServerError();
+        }
+        if (failure instanceof SystemException ex && ex.getStatusCode() != null) {
+            return ex.getStatusCode().is5xxServerError();
+        }
+        if (failure instanceof SystemException ex && ex.getCause() != null) {
+            return isServerSideFailure(ex.getCause());
+        }
+        return true;
+    }
+
+    private record Region(Cache<Object, CacheEntry<?>> cache, AuditionCacheProperties.Spec spec) {
+
+    }
+
+    private record RefreshKey(String cacheName, Object key) {
+
+    }
+}
@@ -0,0 +1,59 @@
+package com.audition.common.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.cache")
+public class AuditionCacheProperties {
+
+    /**
+     * Global switch. When disabled every lookup goes straight to the loader.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Per cache settings keyed by cache name, see {@link CacheNames}. Caches without a spec are not cached.
+     */
+    private Map<String, Spec> specs = new HashMap<>();
+
+    /**
+     * Pool for stale-while-revalidate refreshes.
+     */
+    private Refresh refresh = new Refresh();
+
+    @Getter
+    @Setter
+    public static class Refresh {
+
+        private int threads = 2;
+
+        /**
+         * Refreshes beyond the queue are dropped; the stale copy is kept and the next hit on it tries again.
+         */
+        private int queueCapacity = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+
+        private Duration ttl = Duration.ofMinutes(1);
+        private long maximumSize = 1_000;
+
+        /**
+         * How long past the TTL a value is still served while it is refreshed in the background.
+         */
+        private Duration staleWhileRevalidate = Duration.ZERO;
+
+        /**
+         * How long past the TTL a value is served when reloading it fails on the upstream side.
+         */
+        private Duration staleIfError = Duration.ZERO;
+    }
+}
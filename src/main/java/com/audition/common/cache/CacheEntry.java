@@ -0,0 +1,7 @@
+package com.audition.common.cache;
+
+import java.time.Instant;
+
+public record CacheEntry<T>(T value, Instant fetchedAt, long version) {
+
+}
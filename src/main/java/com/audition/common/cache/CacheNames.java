@@ -0,0 +1,12 @@
+package com.audition.common.cache;
+
+public final class CacheNames {
+
+    public static final String POSTS = "posts";
+    public static final String POST = "post";
+    public static final String POST_WITH_COMMENTS = "post-with-comments";
+    public static final String COMMENTS = "comments";
+
+    private CacheNames() {
+    }
+}
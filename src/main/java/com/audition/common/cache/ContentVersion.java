@@ -0,0 +1,51 @@
+package com.audition.common.cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Version of the cached content the current response was built from, rendered as a strong ETag. A new version is
+ * handed out when content is stored and kept when a reload yields equal content, so the ETag only changes when the data
+ * may have. The sequence is seeded from the start time so versions are not reused across restarts. Recorded on the
+ * request thread like {@link ServedEntry}; when one response combines several cached values their versions are folded
+ * into one.
+ */
+public record ContentVersion(long version) {
+
+    static final String ATTRIBUTE = ContentVersion.class.getName();
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.currentTimeMillis() << 16);
+
+    public static long next() {
+        return SEQUENCE.incrementAndGet();
+    }
+
+    public static void record(final long version) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        final ContentVersion current = (ContentVersion) attributes.getAttribute(ATTRIBUTE,
+            RequestAttributes.SCOPE_REQUEST);
+        final ContentVersion merged = new ContentVersion(current == null ? version : 31 * current.version() + version);
+        attributes.setAttribute(ATTRIBUTE, merged, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public static Optional<ContentVersion> current() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return Optional.ofNullable(attributes)
+            .map(bound -> (ContentVersion) bound.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    public String etag() {
+        return '"' + Long.toHexString(version) + '"';
+    }
+
+    /**
+     * ETag of the gzip encoding of the response, which is a different representation than the JSON itself.
+     */
+    public String gzipEtag() {
+        return '"' + Long.toHexString(version) + "-gzip\"";
+    }
+}
@@ -0,0 +1,21 @@
+package com.audition.common.cache;
+
+/**
+ * How old a value served from the cache was relative to its spec, ordered from best to worst.
+ */
+public enum Freshness {
+
+    FRESH("fresh"),
+    STALE("stale"),
+    STALE_IF_ERROR("stale-if-error");
+
+    private final String tag;
+
+    Freshness(final String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,36 @@
+package com.audition.common.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Age and freshness of the oldest cached value used to answer the current request. Recorded by {@link AuditionCache}
+ * on the request thread and rendered as response headers; lookups outside a request are not tracked.
+ */
+public record ServedEntry(Duration age, Freshness freshness) {
+
+    static final String ATTRIBUTE = ServedEntry.class.getName();
+
+    public static void record(final Duration age, final Freshness freshness) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        final ServedEntry current = (ServedEntry) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        final ServedEntry merged = current == null ? new ServedEntry(age, freshness)
+            : new ServedEntry(max(current.age(), age), max(current.freshness(), freshness));
+        attributes.setAttribute(ATTRIBUTE, merged, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public static Optional<ServedEntry> current() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return Optional.ofNullable(attributes)
+            .map(bound -> (ServedEntry) bound.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    private static <C extends Comparable<C>> C max(final C left, final C right) {
+        return left.compareTo(right) >= 0 ? left : right;
+    }
+}
@@ -0,0 +1,24 @@
+package com.audition.common.exception;
+
+import java.io.Serial;
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown without calling the upstream when its circuit breaker is open or its bulkhead is full. Rendered as a 503
+ * with a Retry-After header.
+ */
+@Getter
+public class UpstreamUnavailableException extends SystemException {
+
+    @Serial
+    private static final long serialVersionUID = 3902841571205962471L;
+
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(final String detail, final Duration retryAfter, final Throwable exception) {
+        super(detail, HttpStatus.SERVICE_UNAVAILABLE, exception);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,58 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes queue depth, capacity and dropped events of every {@link TraceContextAsyncAppender} configured in
+ * logback. Appenders are looked up once, when the registry is bound, after Spring Boot has applied the logging
+ * configuration.
+ */
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+
+    static final String QUEUE_DEPTH_GAUGE = "logback.async.queue.depth";
+    static final String QUEUE_CAPACITY_GAUGE = "logback.async.queue.capacity";
+    static final String DROPPED_COUNTER = "logback.async.dropped";
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        final ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext loggerContext)) {
+            return;
+        }
+        for (final Logger logger : loggerContext.getLoggerList()) {
+            final Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof TraceContextAsyncAppender appender) {
+                    bind(registry, appender);
+                }
+            }
+        }
+    }
+
+    static void bind(final MeterRegistry registry, final TraceContextAsyncAppender appender) {
+        Gauge.builder(QUEUE_DEPTH_GAUGE, appender, TraceContextAsyncAppender::getNumberOfElementsInQueue)
+            .description("Log events waiting in the async appender queue")
+            .tag("appender", appender.getName())
+            .register(registry);
+        Gauge.builder(QUEUE_CAPACITY_GAUGE, appender, TraceContextAsyncAppender::getQueueSize)
+            .description("Capacity of the async appender queue")
+            .tag("appender", appender.getName())
+            .register(registry);
+        FunctionCounter.builder(DROPPED_COUNTER, appender, TraceContextAsyncAppender::getDroppedCount)
+            .description("Log events dropped because the async appender queue was full")
+            .tag("appender", appender.getName())
+            .register(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.MDC;
+
+/**
+ * Logback {@link AsyncAppender} for the JSON pipeline. On the logging thread it stamps each event with the trace and
+ * span id of the current OpenTelemetry span (MDC keys {@value #TRACE_ID} and {@value #SPAN_ID}), which would be lost
+ * by the time the worker thread encodes it. It counts events it drops because the queue is full or because they were
+ * discarded to protect the queue; with {@code neverBlock} the count is approximate under contention. Queue depth and
+ * drops are published by {@link AsyncAppenderMetrics}.
+ */
+public class TraceContextAsyncAppender extends AsyncAppender {
+
+    public static final String TRACE_ID = "trace_id";
+    public static final String SPAN_ID = "span_id";
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Override
+    protected void append(final ILoggingEvent event) {
+        if (isStarted() && isNeverBlock() && getRemainingCapacity() == 0) {
+            dropped.incrementAndGet();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(final ILoggingEvent event) {
+        final boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            dropped.incrementAndGet();
+        }
+        return discardable;
+    }
+
+    @Override
+    protected void preprocess(final ILoggingEvent event) {
+        final SpanContext spanContext = Span.current().getSpanContext();
+        if (spanContext.isValid() && event instanceof LoggingEvent loggingEvent) {
+            final Map<String, String> mdc = MDC.getCopyOfContextMap();
+            final Map<String, String> withTrace = mdc == null ? new HashMap<>(4) : new HashMap<>(mdc);
+            withTrace.put(TRACE_ID, spanContext.getTraceId());
+            withTrace.put(SPAN_ID, spanContext.getSpanId());
+            try {
+                loggingEvent.setMDCPropertyMap(withTrace);
+            } catch (final IllegalStateException ex) {
+                // Another appender already captured the MDC of this event; keep what it saw
+            }
+        }
+        super.preprocess(event);
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
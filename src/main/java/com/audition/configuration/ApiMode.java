@@ -0,0 +1,16 @@
+package com.audition.configuration;
+
+/**
+ * Values of {@code application.api.mode}, which selects the controller, service and upstream client stack serving the
+ * API. {@code blocking} (the default) holds a servlet thread for every in-flight upstream call; {@code reactive}
+ * returns {@code Mono}/{@code Flux} from the controller and calls the upstream through a non-blocking WebClient.
+ */
+public final class ApiMode {
+
+    public static final String PROPERTY = "application.api.mode";
+    public static final String BLOCKING = "blocking";
+    public static final String REACTIVE = "reactive";
+
+    private ApiMode() {
+    }
+}
@@ -0,0 +1,26 @@
+package com.audition.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.batch")
+public class BatchProperties {
+
+    /**
+     * Maximum number of distinct ids accepted in one batch request.
+     */
+    private int maxIds = 500;
+
+    /**
+     * Maximum number of ids fetched from upstream at the same time for one batch request.
+     */
+    private int concurrency = 8;
+
+    /**
+     * From this many ids on, comments are taken from a single bulk /comments call instead of one call per post.
+     */
+    private int bulkCommentsThreshold = 25;
+}
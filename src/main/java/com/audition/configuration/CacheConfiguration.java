@@ -0,0 +1,41 @@
+package com.audition.configuration;
+
+import com.audition.common.cache.AuditionCache;
+import com.audition.common.cache.AuditionCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(AuditionCacheProperties.class)
+public class CacheConfiguration {
+
+    @Bean
+    public AuditionCache auditionCache(final AuditionCacheProperties properties, final MeterRegistry meterRegistry,
+        @Qualifier("cacheRefreshExecutor") final ThreadPoolTaskExecutor cacheRefreshExecutor) {
+        return new AuditionCache(properties, meterRegistry, cacheRefreshExecutor, Clock.systemUTC());
+    }
+
+    /**
+     * Stale-while-revalidate refreshes get their own small pool. The upstream pool runs rejected work on the caller,
+     * which would move refreshes onto request threads exactly when the upstream is slow. Here a full queue rejects
+     * the refresh instead and the stale copy keeps being served.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(final AuditionCacheProperties properties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setCorePoolSize(properties.getRefresh().getThreads());
+        executor.setMaxPoolSize(properties.getRefresh().getThreads());
+        executor.setQueueCapacity(properties.getRefresh().getQueueCapacity());
+        // AuditionCache handles the rejection and releases the key so a later hit can retry
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(new TraceContextTaskDecorator());
+        return executor;
+    }
+}
@@ -0,0 +1,42 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.connection")
+public class ConnectionProperties {
+
+    /**
+     * HTTP client engine used by the upstream RestTemplate.
+     */
+    private Engine engine = Engine.POOLED;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time to wait for a free connection from the pool. Pooled engine only.
+     */
+    private Duration poolAcquireTimeout = Duration.ofSeconds(2);
+    private int maxTotal = 200;
+    private int maxPerRoute = 50;
+
+    /**
+     * Connections idle for longer than this are closed by the pool's eviction thread. Pooled engine only.
+     */
+    private Duration idleEvictionTimeout = Duration.ofSeconds(30);
+
+    public enum Engine {
+        /**
+         * Apache HttpClient 5 with a keep-alive connection pool.
+         */
+        POOLED,
+        /**
+         * JDK HttpURLConnection, no explicit pooling.
+         */
+        SIMPLE
+    }
+}
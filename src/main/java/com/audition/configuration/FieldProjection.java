@@ -0,0 +1,40 @@
+package com.audition.configuration;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.util.Set;
+
+/**
+ * Lets a response serialize only some properties of a model. Models carrying the {@link Projectable} mix-in go through
+ * the {@value #FILTER_ID} property filter, which writes every property unless a request supplies its own filters from
+ * {@link #only(Set)}. Skipped properties are never read, so no trimmed copies of the models are built.
+ */
+public final class FieldProjection {
+
+    public static final String FILTER_ID = "fields";
+
+    /**
+     * Default for the application mapper: projectable models are written in full.
+     */
+    public static final FilterProvider ALL_FIELDS = new SimpleFilterProvider()
+        .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+    private FieldProjection() {
+    }
+
+    /**
+     * Filters that write only the given properties of projectable models.
+     */
+    public static FilterProvider only(final Set<String> fields) {
+        return new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    @JsonFilter(FILTER_ID)
+    interface Projectable {
+
+    }
+}
@@ -0,0 +1,70 @@
+package com.audition.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.http-caching")
+public class HttpCachingProperties {
+
+    /**
+     * Sends strong ETags for responses built from cached content and answers a matching If-None-Match with 304.
+     */
+    private boolean etags = true;
+
+    /**
+     * Cache-Control per endpoint; the rule whose path equals the handler's mapping pattern applies.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * Reuse of serialized response bodies.
+     */
+    private Serialized serialized = new Serialized();
+
+    @Getter
+    @Setter
+    public static class Serialized {
+
+        /**
+         * Keeps the JSON bytes, and their gzip encoding, of responses built from cached content and writes them
+         * again while the content version is unchanged.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Request mapping patterns whose responses are kept, e.g. /posts.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * Bound on the bytes kept, counting both encodings.
+         */
+        private DataSize maximumSize = DataSize.ofMegabytes(32);
+
+        /**
+         * Bodies smaller than this are not gzipped; the saving would not pay for the header overhead.
+         */
+        private DataSize compressionThreshold = DataSize.ofKilobytes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        /**
+         * Request mapping pattern, e.g. /posts/{id}/comments.
+         */
+        private String path;
+
+        /**
+         * Cache-Control header value, e.g. "private, max-age=30".
+         */
+        private String cacheControl;
+    }
+}
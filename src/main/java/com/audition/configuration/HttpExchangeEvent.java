@@ -0,0 +1,39 @@
+package com.audition.configuration;
+
+import jakarta.annotation.Nullable;
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * One upstream call as logged by {@link LoggingInterceptor}. Formatting happens on the log writer thread, not on the
+ * calling thread. A status of 0 means no response was received.
+ */
+public record HttpExchangeEvent(String method, URI uri, int status, long headersNanos, long totalNanos,
+                                @Nullable String traceId, @Nullable String requestBody,
+                                @Nullable String responseBody, @Nullable String error) {
+
+    String format() {
+        final StringBuilder line = new StringBuilder(128)
+            .append("Upstream ").append(method).append(' ').append(uri)
+            .append(" -> ").append(status == 0 ? "no response" : String.valueOf(status))
+            .append(" headersMs=").append(millis(headersNanos))
+            .append(" totalMs=").append(millis(totalNanos));
+        if (traceId != null) {
+            line.append(" traceId=").append(traceId);
+        }
+        if (error != null) {
+            line.append(" error=").append(error);
+        }
+        if (requestBody != null && !requestBody.isEmpty()) {
+            line.append(" requestBody=").append(requestBody);
+        }
+        if (responseBody != null) {
+            line.append(" responseBody=").append(responseBody);
+        }
+        return line.toString();
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+}
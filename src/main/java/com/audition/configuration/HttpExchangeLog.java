@@ -0,0 +1,88 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue between {@link LoggingInterceptor} and a single writer thread. Callers never block: when the queue is
+ * full the event is dropped and counted. Queue depth and event outcomes are published as meters.
+ */
+public class HttpExchangeLog implements AutoCloseable {
+
+    static final String EVENTS_COUNTER = "audition.upstream.logging.events";
+    static final String QUEUE_GAUGE = "audition.upstream.logging.queue.depth";
+    private static final Logger LOG = LoggerFactory.getLogger(LoggingInterceptor.class);
+
+    private final BlockingQueue<HttpExchangeEvent> queue;
+    private final Consumer<String> sink;
+    private final Counter queued;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public HttpExchangeLog(final int capacity, final MeterRegistry meterRegistry) {
+        this(capacity, meterRegistry, LOG::info);
+    }
+
+    HttpExchangeLog(final int capacity, final MeterRegistry meterRegistry, final Consumer<String> sink) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.queued = eventCounter(meterRegistry, "queued");
+        this.dropped = eventCounter(meterRegistry, "dropped");
+        Gauge.builder(QUEUE_GAUGE, queue, BlockingQueue::size)
+            .description("Upstream log events waiting to be written")
+            .register(meterRegistry);
+        this.writer = new Thread(this::drain, "upstream-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static Counter eventCounter(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder(EVENTS_COUNTER)
+            .description("Upstream log events by whether they were queued or dropped under back-pressure")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queues the event without blocking; returns false when it was dropped.
+     */
+    public boolean offer(final HttpExchangeEvent event) {
+        if (queue.offer(event)) {
+            queued.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        // Lets the writer flush what is already queued
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                final HttpExchangeEvent event = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    sink.accept(event.format());
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException ex) {
+                LOG.warn("Could not write upstream log event", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.audition.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.http-logging")
+public class HttpLoggingProperties {
+
+    /**
+     * Logs upstream calls made through the RestTemplate.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Share of upstream calls logged, between 0 and 1.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Logs failed calls (status 400 and above, I/O errors) even when they were not sampled.
+     */
+    private boolean alwaysLogErrors = true;
+
+    /**
+     * Includes request and response bodies, truncated to max-body-bytes, in sampled events.
+     */
+    private boolean logBodies = false;
+
+    private int maxBodyBytes = 1024;
+
+    /**
+     * Events waiting to be written. When full, new events are dropped and counted instead of blocking the caller.
+     */
+    private int queueCapacity = 4096;
+
+    /**
+     * Overrides by upstream path prefix; the first matching rule wins.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        private String pathPrefix = "/";
+
+        /**
+         * Overrides the global sample rate when set.
+         */
+        private Double sampleRate;
+
+        /**
+         * Overrides the global log-bodies switch when set.
+         */
+        private Boolean logBodies;
+    }
+}
@@ -1,43 +1,211 @@
 package com.audition.configuration;
 
 import io.micrometer.common.lang.NonNullApi;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 
+/**
+ * Logs upstream calls without slowing them down. Calls are sampled per path rule; the event carries the time to
+ * response headers and, once the caller has consumed and closed the response, the total time. Bodies are only
+ * captured for sampled calls on rules that ask for them, and only the first max-body-bytes the caller reads anyway
+ * are copied, so the response is never read ahead. Events are written by {@link HttpExchangeLog} on its own thread.
+ */
 @NonNullApi
 public class LoggingInterceptor implements ClientHttpRequestInterceptor {
 
-    private static final Logger logger = LoggerFactory.getLogger(LoggingInterceptor.class);
+    private static final String TRACE_ID = "traceId";
+
+    private final HttpLoggingProperties properties;
+    private final HttpExchangeLog exchangeLog;
+
+    public LoggingInterceptor(final HttpLoggingProperties properties, final HttpExchangeLog exchangeLog) {
+        this.properties = properties;
+        this.exchangeLog = exchangeLog;
+    }
 
     @Override
     public ClientHttpResponse intercept(
         HttpRequest request,
         byte[] body,
         ClientHttpRequestExecution execution) throws IOException {
-        logRequest(request, body);
-        // Execute the request
-        ClientHttpResponse response = execution.execute(request, body);
-        logResponse(response);
+        if (!properties.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        final HttpLoggingProperties.Rule rule = ruleFor(request.getURI().getPath());
+        final boolean sampled = isSampled(rule);
+        if (!sampled && !properties.isAlwaysLogErrors()) {
+            return execution.execute(request, body);
+        }
+        final String traceId = MDC.get(TRACE_ID);
+        final long start = System.nanoTime();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (final IOException | RuntimeException ex) {
+            final long elapsed = System.nanoTime() - start;
+            exchangeLog.offer(new HttpExchangeEvent(request.getMethod().name(), request.getURI(), 0, elapsed, elapsed,
+                traceId, null, null, ex.toString()));
+            throw ex;
+        }
+        final long headersNanos = System.nanoTime() - start;
+        final int status = response.getStatusCode().value();
+        if (!sampled && status < 400) {
+            return response;
+        }
+        final boolean logBodies = sampled && (rule == null || rule.getLogBodies() == null
+            ? properties.isLogBodies() : rule.getLogBodies());
+        final String requestBody = logBodies ? truncate(body) : null;
+        final Consumer<String> onClose = responseBody -> exchangeLog.offer(new HttpExchangeEvent(
+            request.getMethod().name(), request.getURI(), status, headersNanos, System.nanoTime() - start, traceId,
+            requestBody, responseBody, null));
+        return logBodies ? new BodyCapturingResponse(response, properties.getMaxBodyBytes(), onClose)
+            : new TimedResponse(response, onClose);
+    }
+
+    private HttpLoggingProperties.Rule ruleFor(final String path) {
+        for (final HttpLoggingProperties.Rule rule : properties.getRules()) {
+            if (path != null && path.startsWith(rule.getPathPrefix())) {
+                return rule;
+            }
+        }
+        return null;
+    }
 
-        return response;
+    private boolean isSampled(final HttpLoggingProperties.Rule rule) {
+        final double rate = rule == null || rule.getSampleRate() == null
+            ? properties.getSampleRate() : rule.getSampleRate();
+        return rate >= 1.0 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
     }
 
-    private void logRequest(HttpRequest request, byte[] body) {
-        logger.info("Request: {} {}", request.getMethod(), request.getURI());
-        logger.info("Request Body: {}", new String(body, StandardCharsets.UTF_8));
+    private String truncate(final byte[] bytes) {
+        final int kept = Math.min(bytes.length, properties.getMaxBodyBytes());
+        final String text = new String(bytes, 0, kept, StandardCharsets.UTF_8);
+        return kept < bytes.length ? text + "...(" + bytes.length + " bytes)" : text;
+    }
+
+    /**
+     * Hands the exchange over when the caller closes the response, which is when it is done with the body. Nothing
+     * is copied, so the total time costs one {@code nanoTime} call.
+     */
+    private static class TimedResponse implements ClientHttpResponse {
+
+        final ClientHttpResponse delegate;
+        private final Consumer<String> onClose;
+        private boolean closed;
+
+        TimedResponse(final ClientHttpResponse delegate, final Consumer<String> onClose) {
+            this.delegate = delegate;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            // Callers may close more than once; the exchange is logged only the first time
+            if (closed) {
+                return;
+            }
+            closed = true;
+            delegate.close();
+            onClose.accept(responseBody());
+        }
+
+        /**
+         * The response body to log, or null when bodies are not logged.
+         */
+        String responseBody() {
+            return null;
+        }
     }
 
-    private void logResponse(ClientHttpResponse response) throws IOException {
-        logger.info("Response Status Code: {}", response.getStatusCode());
-        InputStream responseBody = response.getBody();
-        String responseBodyString = new String(responseBody.readAllBytes(), StandardCharsets.UTF_8);
-        logger.info("Response Body: {}", responseBodyString);
+    /**
+     * Copies the first bytes the caller reads from the body and hands them over when the response is closed.
+     */
+    private static final class BodyCapturingResponse extends TimedResponse {
+
+        private final int limit;
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private long total;
+        private InputStream body;
+
+        BodyCapturingResponse(final ClientHttpResponse delegate, final int limit, final Consumer<String> onClose) {
+            super(delegate, onClose);
+            this.limit = limit;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        final int value = super.read();
+                        if (value >= 0) {
+                            total++;
+                            if (captured.size() < limit) {
+                                captured.write(value);
+                            }
+                        }
+                        return value;
+                    }
+
+                    @Override
+                    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                        final int count = super.read(buffer, offset, length);
+                        if (count > 0) {
+                            capture(buffer, offset, count);
+                        }
+                        return count;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        String responseBody() {
+            final byte[] bytes = captured.toByteArray();
+            final String text = new String(bytes, StandardCharsets.UTF_8);
+            return total > bytes.length ? text + "...(" + total + " bytes read)" : text;
+        }
+
+        private void capture(final byte[] buffer, final int offset, final int count) {
+            total += count;
+            final int room = limit - captured.size();
+            if (room > 0) {
+                captured.write(buffer, offset, Math.min(room, count));
+            }
+        }
     }
 }
@@ -0,0 +1,54 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Connection pool that records how long callers wait to lease a connection.
+ */
+class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    static final String ACQUIRE_TIMER = "httpcomponents.httpclient.pool.acquire";
+
+    private final Timer acquireTimer;
+
+    MeteredConnectionManager(final MeterRegistry meterRegistry, final String poolName) {
+        super();
+        this.acquireTimer = Timer.builder(ACQUIRE_TIMER)
+            .description("Time spent waiting for a pooled upstream connection")
+            .tag("httpclient", poolName)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Override
+    public LeaseRequest lease(final String id, final HttpRoute route, final Timeout requestTimeout,
+        final Object state) {
+        final LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(final Timeout timeout)
+                throws InterruptedException, ExecutionException, TimeoutException {
+                final long start = System.nanoTime();
+                try {
+                    return delegate.get(timeout);
+                } finally {
+                    acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return delegate.cancel();
+            }
+        };
+    }
+}
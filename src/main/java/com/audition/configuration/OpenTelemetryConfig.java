@@ -1,37 +1,104 @@
 package com.audition.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
 import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
-import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Tracing pipeline: head sampling by trace id ratio, then ended spans are batched off the request thread, tail
+ * sampled and exported over OTLP. See {@link SpanExportMonitor} for the self-metrics. The beans take the place of
+ * the ones Spring Boot would configure for the Micrometer OpenTelemetry bridge, so observed requests are traced here.
+ */
 @Configuration
+@EnableConfigurationProperties(TracingProperties.class)
 public class OpenTelemetryConfig {
 
-    @Bean
-    public Tracer tracer() {
-        // Create an OTLP gRPC Span Exporter
-        OtlpGrpcSpanExporter otlpExporter = OtlpGrpcSpanExporter.builder()
-            .setEndpoint("http://localhost:4317") // Replace with your OTLP endpoint
-            .build();
+    private static final Logger LOG = LoggerFactory.getLogger(OpenTelemetryConfig.class);
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
 
-        // Create a Span Processor
-        SimpleSpanProcessor spanProcessor = (SimpleSpanProcessor) SimpleSpanProcessor.create(otlpExporter);
+    /**
+     * Closed on shutdown, which flushes the spans still queued.
+     */
+    @Bean(destroyMethod = "close")
+    public SdkTracerProvider sdkTracerProvider(final TracingProperties properties, final MeterRegistry meterRegistry) {
+        final SdkTracerProviderBuilder builder = SdkTracerProvider.builder()
+            .setResource(Resource.getDefault().merge(Resource.create(Attributes.of(SERVICE_NAME,
+                properties.getServiceName()))))
+            .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(properties.getSampling().getRatio())));
+        final TracingProperties.Export export = properties.getExport();
+        if (export.isEnabled()) {
+            final TracingProperties.Batch batch = export.getBatch();
+            final SpanExportMonitor monitor = new SpanExportMonitor(batch.getMaxQueueSize(), properties.getSampling(),
+                meterRegistry);
+            builder.addSpanProcessor(monitor.admit(BatchSpanProcessor.builder(monitor.export(exporter(export)))
+                .setMaxQueueSize(batch.getMaxQueueSize())
+                .setMaxExportBatchSize(batch.getMaxExportBatchSize())
+                .setScheduleDelay(batch.getScheduleDelay())
+                .setExporterTimeout(export.getTimeout())
+                .build()));
+        }
+        return builder.build();
+    }
 
-        // Create a Tracer Provider
-        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
-            .addSpanProcessor(spanProcessor)
+    /**
+     * Replaces Spring Boot's {@code OpenTelemetry} bean, so the Micrometer bridge and {@link GlobalOpenTelemetry} users
+     * share the provider above. Propagation follows {@code management.tracing.propagation}, W3C by default.
+     */
+    @Bean
+    public OpenTelemetry openTelemetry(final SdkTracerProvider tracerProvider,
+        final ObjectProvider<ContextPropagators> contextPropagators) {
+        final OpenTelemetrySdk openTelemetrySdk = OpenTelemetrySdk.builder()
+            .setTracerProvider(tracerProvider)
+            .setPropagators(contextPropagators.getIfAvailable(
+                () -> ContextPropagators.create(W3CTraceContextPropagator.getInstance())))
             .build();
+        try {
+            GlobalOpenTelemetry.set(openTelemetrySdk);
+        } catch (final IllegalStateException ex) {
+            // Another application context in the same JVM (tests) registered first
+            LOG.debug("Global OpenTelemetry already registered", ex);
+        }
+        return openTelemetrySdk;
+    }
 
-        // Build and register the OpenTelemetry SDK globally
-        OpenTelemetrySdk openTelemetrySdk = OpenTelemetrySdk.builder()
-            .setTracerProvider(tracerProvider)
-            .buildAndRegisterGlobal();
+    /**
+     * Backs Micrometer's tracer, which starts the spans of observed server requests and upstream calls.
+     */
+    @Bean
+    public Tracer tracer(final OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer("com.audition");
+    }
 
-        // Return the Tracer instance
-        return openTelemetrySdk.getTracer("my-instrumentation-library");
+    private static SpanExporter exporter(final TracingProperties.Export export) {
+        if (export.getProtocol() == TracingProperties.Protocol.HTTP_PROTOBUF) {
+            return OtlpHttpSpanExporter.builder()
+                .setEndpoint(export.getEndpoint())
+                .setTimeout(export.getTimeout())
+                .build();
+        }
+        return OtlpGrpcSpanExporter.builder()
+            .setEndpoint(export.getEndpoint())
+            .setTimeout(export.getTimeout())
+            .build();
     }
 }
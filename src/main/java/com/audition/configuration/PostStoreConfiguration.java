@@ -0,0 +1,13 @@
+package com.audition.configuration;
+
+import com.audition.store.PostStoreProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(PostStoreProperties.class)
+public class PostStoreConfiguration {
+
+}
@@ -0,0 +1,44 @@
+package com.audition.configuration;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@ConditionalOnProperty(name = ApiMode.PROPERTY, havingValue = ApiMode.REACTIVE)
+public class ReactiveClientConfiguration {
+
+    private static final String UPSTREAM_POOL_NAME = "upstream";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(final ConnectionProperties properties) {
+        // Same pool bounds as the blocking engine; requests beyond maxTotal queue without holding a thread
+        return ConnectionProvider.builder(UPSTREAM_POOL_NAME)
+            .maxConnections(properties.getMaxTotal())
+            .pendingAcquireTimeout(properties.getPoolAcquireTimeout())
+            .maxIdleTime(properties.getIdleEvictionTimeout())
+            .metrics(true)
+            .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(final WebClient.Builder webClientBuilder,
+        final ConnectionProvider upstreamConnectionProvider, final ConnectionProperties connectionProperties) {
+        final HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectionProperties.getConnectTimeout().toMillis())
+            .responseTimeout(connectionProperties.getReadTimeout());
+        // The Boot-provided builder already carries the application ObjectMapper codecs and observation support.
+        // There is no base URL: UpstreamBalancer picks the endpoint per call
+        return webClientBuilder
+            .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sits on both ends of a batch span processor. In front of it, ended spans are admitted only while fewer than
+ * max-queue-size are pending and dropped otherwise, so drops are counted here instead of vanishing inside the SDK.
+ * Behind it, each batch is tail sampled and the export outcome is counted. A span stays pending until the export of
+ * its batch completes. Span outcomes are published as {@value #SPANS_COUNTER} and the backlog as
+ * {@value #QUEUE_GAUGE}.
+ */
+public class SpanExportMonitor {
+
+    static final String SPANS_COUNTER = "audition.tracing.spans";
+    static final String QUEUE_GAUGE = "audition.tracing.queue.depth";
+
+    private final int maxQueueSize;
+    private final TracingProperties.Sampling sampling;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter exported;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Counter sampledOut;
+
+    public SpanExportMonitor(final int maxQueueSize, final TracingProperties.Sampling sampling,
+        final MeterRegistry meterRegistry) {
+        this.maxQueueSize = maxQueueSize;
+        this.sampling = sampling;
+        this.exported = spanCounter(meterRegistry, "exported");
+        this.failed = spanCounter(meterRegistry, "failed");
+        this.dropped = spanCounter(meterRegistry, "dropped");
+        this.sampledOut = spanCounter(meterRegistry, "sampled-out");
+        Gauge.builder(QUEUE_GAUGE, pending, AtomicInteger::get)
+            .description("Ended spans waiting for export")
+            .register(meterRegistry);
+    }
+
+    private static Counter spanCounter(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder(SPANS_COUNTER)
+            .description("Recorded spans by export outcome")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    public SpanProcessor admit(final SpanProcessor batchProcessor) {
+        return new AdmittingSpanProcessor(batchProcessor);
+    }
+
+    public SpanExporter export(final SpanExporter exporter) {
+        return new MeteredSpanExporter(exporter);
+    }
+
+    /**
+     * Tail sampling decision for a recorded span.
+     */
+    boolean keep(final SpanData span) {
+        if (sampling.isKeepErrors() && span.getStatus().getStatusCode() == StatusCode.ERROR) {
+            return true;
+        }
+        if (span.getEndEpochNanos() - span.getStartEpochNanos() >= sampling.getSlowThreshold().toNanos()) {
+            return true;
+        }
+        return keepByRatio(span.getTraceId(), sampling.getTailRatio());
+    }
+
+    /**
+     * Same decision as the SDK's trace id ratio sampler, so it is stable across a trace's spans and a trace kept by
+     * head sampling at a ratio is also kept by tail sampling at that ratio.
+     */
+    static boolean keepByRatio(final String traceId, final double ratio) {
+        if (ratio >= 1.0) {
+            return true;
+        }
+        if (ratio <= 0.0) {
+            return false;
+        }
+        final long randomPart = Long.parseUnsignedLong(traceId.substring(16), 16);
+        return Math.abs(randomPart) < (long) (ratio * Long.MAX_VALUE);
+    }
+
+    private final class AdmittingSpanProcessor implements SpanProcessor {
+
+        private final SpanProcessor delegate;
+
+        AdmittingSpanProcessor(final SpanProcessor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onStart(final Context parentContext, final ReadWriteSpan span) {
+            delegate.onStart(parentContext, span);
+        }
+
+        @Override
+        public boolean isStartRequired() {
+            return delegate.isStartRequired();
+        }
+
+        @Override
+        public void onEnd(final ReadableSpan span) {
+            if (!span.getSpanContext().isSampled()) {
+                return;
+            }
+            if (pending.incrementAndGet() > maxQueueSize) {
+                pending.decrementAndGet();
+                dropped.increment();
+                return;
+            }
+            delegate.onEnd(span);
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return delegate.shutdown();
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return delegate.forceFlush();
+        }
+    }
+
+    private final class MeteredSpanExporter implements SpanExporter {
+
+        private final SpanExporter delegate;
+
+        MeteredSpanExporter(final SpanExporter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletableResultCode export(final Collection<SpanData> spans) {
+            final List<SpanData> kept = new ArrayList<>(spans.size());
+            for (final SpanData span : spans) {
+                if (keep(span)) {
+                    kept.add(span);
+                }
+            }
+            sampledOut.increment(spans.size() - kept.size());
+            if (kept.isEmpty()) {
+                pending.addAndGet(-spans.size());
+                return CompletableResultCode.ofSuccess();
+            }
+            final CompletableResultCode result = delegate.export(kept);
+            result.whenComplete(() -> {
+                pending.addAndGet(-spans.size());
+                (result.isSuccess() ? exported : failed).increment(kept.size());
+            });
+            return result;
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return delegate.flush();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return delegate.shutdown();
+        }
+    }
+}
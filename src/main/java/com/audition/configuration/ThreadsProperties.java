@@ -0,0 +1,21 @@
+package com.audition.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.threads")
+public class ThreadsProperties {
+
+    /**
+     * Runs Tomcat request handling and upstream calls on virtual threads. Requires a Java 21 runtime.
+     */
+    private boolean virtual;
+
+    /**
+     * Maximum concurrent upstream tasks when running on virtual threads, replacing the bounded platform pool.
+     */
+    private int upstreamConcurrencyLimit = 1_000;
+}
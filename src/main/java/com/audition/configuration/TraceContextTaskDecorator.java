@@ -0,0 +1,36 @@
+package com.audition.configuration;
+
+import io.opentelemetry.context.Context;
+import java.util.Map;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting thread's MDC (trace ids used by the log pattern) and OpenTelemetry context over to the
+ * thread that runs the task.
+ */
+public class TraceContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(final Runnable runnable) {
+        final Map<String, String> callerMdc = MDC.getCopyOfContextMap();
+        final Runnable withTraceContext = Context.current().wrap(runnable);
+        return () -> {
+            final Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            setMdc(callerMdc);
+            try {
+                withTraceContext.run();
+            } finally {
+                setMdc(previousMdc);
+            }
+        };
+    }
+
+    private static void setMdc(final Map<String, String> contextMap) {
+        if (contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.tracing")
+public class TracingProperties {
+
+    /**
+     * Reported as the service.name resource attribute.
+     */
+    private String serviceName = "audition-api";
+
+    private Export export = new Export();
+
+    private Sampling sampling = new Sampling();
+
+    @Getter
+    @Setter
+    public static class Export {
+
+        /**
+         * Exports finished spans over OTLP. When off, spans are still created for trace ids but never leave the
+         * process.
+         */
+        private boolean enabled = true;
+
+        private Protocol protocol = Protocol.GRPC;
+
+        /**
+         * Collector URL; for http-protobuf this includes the /v1/traces path.
+         */
+        private String endpoint = "http://localhost:4317";
+
+        /**
+         * Deadline for one export call, after which the batch is counted as failed.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        private Batch batch = new Batch();
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * Ended spans waiting for export, including the batch being exported. Further spans are dropped and counted.
+         */
+        private int maxQueueSize = 2048;
+
+        private int maxExportBatchSize = 512;
+
+        /**
+         * Longest time a span waits for its batch to fill up.
+         */
+        private Duration scheduleDelay = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Sampling {
+
+        /**
+         * Head sampling: share of new traces recorded, between 0 and 1. Child spans follow their parent's decision.
+         */
+        private double ratio = 1.0;
+
+        /**
+         * Tail sampling: share of recorded spans exported when they are neither failed nor slow. Decided by trace id,
+         * so the spans of a trace are kept or dropped together.
+         */
+        private double tailRatio = 1.0;
+
+        /**
+         * Exports spans with an error status regardless of tail-ratio.
+         */
+        private boolean keepErrors = true;
+
+        /**
+         * Exports spans at least this long regardless of tail-ratio.
+         */
+        private Duration slowThreshold = Duration.ofSeconds(1);
+    }
+
+    public enum Protocol {
+        GRPC,
+        HTTP_PROTOBUF
+    }
+}
@@ -0,0 +1,58 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties({UpstreamProperties.class, ThreadsProperties.class})
+public class UpstreamExecutorConfiguration {
+
+    static final String THREAD_MODE_TAG = "thread.mode";
+
+    /**
+     * Replaced by a virtual thread executor in {@link VirtualThreadConfiguration} when virtual threads are enabled.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "application.threads.virtual", havingValue = "false", matchIfMissing = true)
+    public ThreadPoolTaskExecutor upstreamExecutor(final UpstreamProperties properties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("upstream-");
+        executor.setCorePoolSize(properties.getPool().getCoreSize());
+        executor.setMaxPoolSize(properties.getPool().getMaxSize());
+        executor.setQueueCapacity(properties.getPool().getQueueCapacity());
+        // Saturation degrades to calling the upstream on the request thread instead of failing the request
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(new TraceContextTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Tags every meter with the thread mode so throughput and latency of platform and virtual thread deployments can
+     * be compared side by side.
+     */
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> threadModeTag(final ThreadsProperties properties) {
+        final String mode = properties.isVirtual() ? "virtual" : "platform";
+        return registry -> registry.config().commonTags(THREAD_MODE_TAG, mode);
+    }
+
+    /**
+     * Boot only creates its default executor when no other Executor bean exists, so it is declared here explicitly
+     * to keep MVC async requests (streamed responses) off the upstream pool. It honours spring.task.execution.*.
+     */
+    @Lazy
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(final TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.upstream")
+public class UpstreamProperties {
+
+    public static final String DEFAULT_BASE_URL = "https://jsonplaceholder.typicode.com";
+
+    /**
+     * Base URL of the upstream posts API.
+     */
+    private String baseUrl = DEFAULT_BASE_URL;
+
+    /**
+     * Base URLs of interchangeable upstream replicas to balance across. When empty, base-url is the only endpoint.
+     * Read on every call, so a configuration refresh takes effect without a restart.
+     */
+    private List<String> endpoints = new ArrayList<>();
+
+    /**
+     * How calls are spread over the endpoints and when a misbehaving endpoint is taken out of rotation.
+     */
+    private Balancing balancing = new Balancing();
+
+    /**
+     * Conditional requests for responses the upstream sent validators (ETag, Last-Modified) with.
+     */
+    private Revalidation revalidation = new Revalidation();
+
+    /**
+     * Deadline for a combined fan-out such as a post together with its comments.
+     */
+    private Duration fanOutTimeout = Duration.ofSeconds(6);
+
+    /**
+     * Bounded pool running concurrent upstream calls.
+     */
+    private Pool pool = new Pool();
+
+    @Getter
+    @Setter
+    public static class Balancing {
+
+        private Strategy strategy = Strategy.ROUND_ROBIN;
+
+        /**
+         * Consecutive failed or slow calls after which an endpoint is ejected.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * Calls slower than this count as failures for ejection.
+         */
+        private Duration slowCallThreshold = Duration.ofSeconds(3);
+
+        /**
+         * How long an ejected endpoint is skipped before it gets traffic again.
+         */
+        private Duration ejectionDuration = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Revalidation {
+
+        /**
+         * Keeps the validators and decoded value of upstream responses and revalidates them with If-None-Match and
+         * If-Modified-Since, reusing the decoded value on 304 Not Modified.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Responses kept for revalidation, least recently used evicted first.
+         */
+        private long maximumSize = 10_000;
+    }
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_OUTSTANDING,
+        LATENCY_WEIGHTED
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private int coreSize = 16;
+        private int maxSize = 64;
+        private int queueCapacity = 500;
+    }
+}
@@ -0,0 +1,39 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Virtual thread mode, enabled with {@code application.threads.virtual=true}. Tomcat hands every request to a new
+ * virtual thread and the upstream executor starts one virtual thread per call, so slow upstream calls no longer
+ * consume pooled platform threads. MDC and trace context are thread locals and keep working unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.threads.virtual", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor(VirtualThreads.factory("tomcat-vt-"));
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean
+    public SimpleAsyncTaskExecutor upstreamExecutor(final ThreadsProperties properties) {
+        final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(VirtualThreads.factory("upstream-vt-"));
+        // Bounds upstream concurrency the way the platform pool's size did, without a queue of parked threads
+        executor.setConcurrencyLimit(properties.getUpstreamConcurrencyLimit());
+        executor.setTaskDecorator(new TraceContextTaskDecorator());
+        return executor;
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(final MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.audition.configuration;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Starts a new thread from the factory for every task. Used as Tomcat's request executor with a virtual thread
+ * factory; virtual threads are cheap enough that pooling them is counterproductive.
+ */
+class VirtualThreadExecutor implements Executor {
+
+    private final ThreadFactory threadFactory;
+
+    VirtualThreadExecutor(final ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        threadFactory.newThread(command).start();
+    }
+}
@@ -0,0 +1,57 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Streams the JDK's {@code jdk.VirtualThreadPinned} flight recorder events into Micrometer. A virtual thread is
+ * pinned when it blocks inside a synchronized block or native frame and so holds on to its carrier thread; frequent
+ * or long pinning erodes the benefit of virtual threads. Published as {@code jvm.threads.virtual.pinned}.
+ */
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_TIMER = "jvm.threads.virtual.pinned";
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+
+    private final Timer pinned;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(final MeterRegistry meterRegistry) {
+        this.pinned = Timer.builder(PINNED_TIMER)
+            .description("Time virtual threads spent blocked while pinned to their carrier thread")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(PINNED_THRESHOLD).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::record);
+        recordingStream.startAsync();
+    }
+
+    void record(final RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (LOG.isDebugEnabled() && event.getStackTrace() != null) {
+            LOG.debug("Virtual thread pinned for {} at {}", event.getDuration(),
+                event.getStackTrace().getFrames().isEmpty() ? "?" : event.getStackTrace().getFrames().get(0));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
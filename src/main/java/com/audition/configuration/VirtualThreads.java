@@ -0,0 +1,60 @@
+package com.audition.configuration;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to JDK 21 virtual threads from code compiled for Java 17. The builder API is looked up reflectively once, so
+ * the same artifact runs on both runtimes and virtual threads are only used when the runtime provides them.
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle OF_VIRTUAL = lookupOfVirtual();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Factory creating one new virtual thread per task, named {@code prefix0}, {@code prefix1} and so on.
+     */
+    public static ThreadFactory factory(final String prefix) {
+        if (OF_VIRTUAL == null) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer, running on "
+                + Runtime.version());
+        }
+        try {
+            final Object builder = OF_VIRTUAL.invoke();
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            final Object named = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(named);
+        } catch (final Throwable ex) {
+            throw new IllegalStateException("Could not create a virtual thread factory", ex);
+        }
+    }
+
+    public static boolean isVirtual(final Thread thread) {
+        if (OF_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (final ReflectiveOperationException ex) {
+            return false;
+        }
+    }
+
+    private static MethodHandle lookupOfVirtual() {
+        try {
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            return MethodHandles.publicLookup().findStatic(Thread.class, "ofVirtual", MethodType.methodType(builderType));
+        } catch (final ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+}
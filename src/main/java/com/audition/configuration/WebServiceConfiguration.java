@@ -1,17 +1,29 @@
 package com.audition.configuration;
 
+import com.audition.model.AuditionPost;
+import com.audition.model.PostComment;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
@@ -19,9 +31,12 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 
 @Configuration
+@EnableConfigurationProperties({ConnectionProperties.class, BatchProperties.class, HttpLoggingProperties.class,
+    HttpCachingProperties.class})
 public class WebServiceConfiguration implements WebMvcConfigurer {
 
     private static final String YEAR_MONTH_DAY_PATTERN = "yyyy-MM-dd";
+    private static final String UPSTREAM_POOL_NAME = "upstream";
 
     @Bean
     public ObjectMapper objectMapper() {
@@ -36,13 +51,18 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
         mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
         // 5. Does not write dates as timestamps
         mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        // 6. Lets list responses project posts and comments to the requested fields
+        mapper.addMixIn(AuditionPost.class, FieldProjection.Projectable.class);
+        mapper.addMixIn(PostComment.class, FieldProjection.Projectable.class);
+        mapper.setFilterProvider(FieldProjection.ALL_FIELDS);
         return mapper;
     }
 
     @Bean
-    public RestTemplate restTemplate(ObjectMapper objectMapper) {
-        final RestTemplate restTemplate = new RestTemplate(
-            new BufferingClientHttpRequestFactory(createClientFactory()));
+    public RestTemplate restTemplate(ObjectMapper objectMapper, ClientHttpRequestFactory upstreamRequestFactory,
+        LoggingInterceptor loggingInterceptor) {
+        // Responses are not buffered: the integration client decodes upstream JSON straight from the stream
+        final RestTemplate restTemplate = new RestTemplate(upstreamRequestFactory);
         // TODO use object mapper
         // Create and configure the Jackson message converter
         MappingJackson2HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter();
@@ -53,15 +73,63 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
 
         // TODO create a logging interceptor that logs request/response for rest template calls.
         List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
-        interceptors.add(new LoggingInterceptor());
+        interceptors.add(loggingInterceptor);
         restTemplate.setInterceptors(interceptors);
 
         return restTemplate;
     }
 
-    private SimpleClientHttpRequestFactory createClientFactory() {
+    @Bean(destroyMethod = "close")
+    public HttpExchangeLog upstreamExchangeLog(final HttpLoggingProperties properties,
+        final MeterRegistry meterRegistry) {
+        return new HttpExchangeLog(properties.getQueueCapacity(), meterRegistry);
+    }
+
+    @Bean
+    public LoggingInterceptor loggingInterceptor(final HttpLoggingProperties properties,
+        final HttpExchangeLog upstreamExchangeLog) {
+        return new LoggingInterceptor(properties, upstreamExchangeLog);
+    }
+
+    @Bean
+    public ClientHttpRequestFactory upstreamRequestFactory(final ConnectionProperties properties,
+        final MeterRegistry meterRegistry) {
+        if (properties.getEngine() == ConnectionProperties.Engine.SIMPLE) {
+            return createSimpleClientFactory(properties);
+        }
+        return createPooledClientFactory(properties, meterRegistry);
+    }
+
+    private SimpleClientHttpRequestFactory createSimpleClientFactory(final ConnectionProperties properties) {
         final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
         requestFactory.setOutputStreaming(false);
+        requestFactory.setConnectTimeout((int) properties.getConnectTimeout().toMillis());
+        requestFactory.setReadTimeout((int) properties.getReadTimeout().toMillis());
         return requestFactory;
     }
+
+    private HttpComponentsClientHttpRequestFactory createPooledClientFactory(final ConnectionProperties properties,
+        final MeterRegistry meterRegistry) {
+        final MeteredConnectionManager connectionManager = new MeteredConnectionManager(meterRegistry,
+            UPSTREAM_POOL_NAME);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+            .setSoTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+            .build());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, UPSTREAM_POOL_NAME)
+            .bindTo(meterRegistry);
+
+        final CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout().toMillis()))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getPoolAcquireTimeout().toMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+                .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleEvictionTimeout().toMillis()))
+            .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
 }
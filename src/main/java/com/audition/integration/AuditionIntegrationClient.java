@@ -1,20 +1,43 @@
 package com.audition.integration;
 
 import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.configuration.UpstreamProperties;
 import com.audition.model.AuditionPost;
 import com.audition.model.AuditionPostWithComments;
 import com.audition.model.PostComment;
+import com.audition.store.CompactComments;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 @Component
@@ -23,37 +46,69 @@ public class AuditionIntegrationClient {
     @Autowired
     private RestTemplate restTemplate;
 
-    public static final String BASE_URL = "https://jsonplaceholder.typicode.com";
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("upstreamExecutor")
+    private Executor upstreamExecutor;
+
+    @Autowired
+    private UpstreamProperties upstreamProperties;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private UpstreamResilience upstreamResilience;
+
+    @Autowired
+    private UpstreamBalancer upstreamBalancer;
+
+    @Autowired
+    private UpstreamTimer upstreamTimer;
+
+    @Autowired
+    private UpstreamRevalidation upstreamRevalidation;
+
     private static final Logger logger = LoggerFactory.getLogger(AuditionIntegrationClient.class);
 
     public List<AuditionPost> getPosts(@Nullable String title) {
-        // TODO make RestTemplate call to get Posts from https://jsonplaceholder.typicode.com/posts
+        return singleFlight.execute("getPosts", Objects.toString(title, ""), () -> fetchPosts(title));
+    }
+
+    private List<AuditionPost> fetchPosts(@Nullable final String title) {
         try {
-            AuditionPost[] postsArray = restTemplate.getForObject(BASE_URL + "/posts", AuditionPost[].class);
-            if (postsArray == null) {
-                return new ArrayList<>();
-            }
-            if (StringUtils.isNotBlank(title)) {
-                // Filter posts by title if the query parameter is provided
-                return Arrays.stream(postsArray)
-                    .filter(post -> post.getTitle() != null && post.getTitle().contains(title))
-                    .collect(Collectors.toList());
-            } else {
-                return Arrays.asList(postsArray);
-            }
+            // Filter posts by title while the array is parsed if the query parameter is provided
+            return upstreamResilience.call(UpstreamResilience.POSTS,
+                () -> readArray(UpstreamResilience.POSTS, "/posts", Objects.toString(title, ""), AuditionPost.class,
+                    titleFilter(title)));
         } catch (final HttpClientErrorException ex) {
             logger.error("An unexpected error occurred in getPosts: ", ex);
             throw new SystemException(ex.getResponseBodyAsString(), ex.getStatusCode());
+        } catch (final UpstreamUnavailableException ex) {
+            throw ex;
         } catch (Exception exception) {
             logger.error("An unexpected error occurred in getPosts: ", exception);
             throw new SystemException(exception.getMessage(), exception);
         }
     }
 
+    static Predicate<AuditionPost> titleFilter(@Nullable final String title) {
+        return StringUtils.isNotBlank(title)
+            ? post -> post.getTitle() != null && post.getTitle().contains(title)
+            : post -> true;
+    }
+
     public AuditionPost getPostById(final String id) {
-        // TODO get post by post ID call from https://jsonplaceholder.typicode.com/posts/
+        // Concurrent requests for the same post share one upstream call
+        return singleFlight.execute("getPostById", id, () -> fetchPostById(id));
+    }
+
+    private AuditionPost fetchPostById(final String id) {
         try {
-            return restTemplate.getForObject(BASE_URL + "/posts/" + id, AuditionPost.class);
+            return upstreamResilience.call(UpstreamResilience.POST_BY_ID,
+                () -> readObject(UpstreamResilience.POST_BY_ID, "/posts/" + id, AuditionPost.class));
         } catch (final HttpClientErrorException ex) {
             logger.error("API exception occurred in : getPostById", ex);
             // TODO Find a better way to handle the exception so that the original error message is not lost. Feel free to change this function.
@@ -61,33 +116,169 @@ public class AuditionIntegrationClient {
         }
     }
 
-    // TODO Write a method GET comments for a post from https://jsonplaceholder.typicode.com/posts/{postId}/comments - the comments must be returned as part of the post.
     public AuditionPostWithComments getPostsByIdWithComments(String id) {
-        // TODO make RestTemplate call to get Posts from https://jsonplaceholder.typicode.com/posts
+        // The post and its comments are fetched concurrently; the first failure cancels the sibling call
+        final CompletableFuture<AuditionPost> post = CompletableFuture.supplyAsync(() -> getPostById(id),
+            upstreamExecutor);
+        final CompletableFuture<List<PostComment>> comments = CompletableFuture.supplyAsync(
+            () -> upstreamResilience.call(UpstreamResilience.POST_COMMENTS,
+                () -> readComments(UpstreamResilience.POST_COMMENTS, "/posts/" + id + "/comments")),
+            upstreamExecutor);
+        cancelOnFailure(post, comments);
+        cancelOnFailure(comments, post);
+        final Duration timeout = upstreamProperties.getFanOutTimeout();
         try {
-            AuditionPost auditionPost = getPostById(id);
-            PostComment[] commentArray = restTemplate.getForObject(BASE_URL + "/posts/" + id + "/comments",
-                PostComment[].class);
-            List<PostComment> postCommentList = commentArray != null ? Arrays.asList(commentArray) : new ArrayList<>();
+            CompletableFuture.allOf(post, comments).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            final AuditionPost auditionPost = post.join();
             return new AuditionPostWithComments(auditionPost.getUserId(), auditionPost.getId(),
-                auditionPost.getTitle(), auditionPost.getBody(), postCommentList);
-        } catch (final HttpClientErrorException ex) {
-            logger.error("An unexpected error occurred in : getPostsByIdWithComments", ex);
-            throw new SystemException(ex.getResponseBodyAsString());
+                auditionPost.getTitle(), auditionPost.getBody(), comments.join());
+        } catch (final ExecutionException ex) {
+            throw translateFanOutFailure(post, comments);
+        } catch (final TimeoutException ex) {
+            post.cancel(true);
+            comments.cancel(true);
+            logger.error("Timed out after {} in : getPostsByIdWithComments", timeout);
+            throw new SystemException("Upstream did not respond within " + timeout.toMillis() + " ms",
+                HttpStatus.GATEWAY_TIMEOUT, ex);
+        } catch (final InterruptedException ex) {
+            post.cancel(true);
+            comments.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted while waiting for upstream", ex);
         }
     }
 
-    // TODO write a method. GET comments for a particular Post from https://jsonplaceholder.typicode.com/comments?postId={postId}.
-    // The comments are a separate list that needs to be returned to the API consumers. Hint: this is not part of the AuditionPost pojo.
     public List<PostComment> getCommentsByPostId(String id) {
-        // TODO make RestTemplate call to get Posts from https://jsonplaceholder.typicode.com/posts
+        return singleFlight.execute("getCommentsByPostId", id, () -> fetchCommentsByPostId(id));
+    }
+
+    private List<PostComment> fetchCommentsByPostId(final String id) {
         try {
-            PostComment[] commentArray = restTemplate.getForObject(BASE_URL + "/comments?postId=" + id,
-                PostComment[].class);
-            return commentArray != null ? Arrays.asList(commentArray) : new ArrayList<>();
+            return upstreamResilience.call(UpstreamResilience.COMMENTS_BY_POST_ID,
+                () -> readComments(UpstreamResilience.COMMENTS_BY_POST_ID, "/comments?postId=" + id));
         } catch (final HttpClientErrorException ex) {
             logger.error("An unexpected error occurred in getCommentsByPostId: ", ex);
             throw new SystemException(ex.getResponseBodyAsString());
         }
     }
+
+    public List<PostComment> getComments() {
+        try {
+            return upstreamResilience.call(UpstreamResilience.COMMENTS,
+                () -> readComments(UpstreamResilience.COMMENTS, "/comments"));
+        } catch (final HttpClientErrorException ex) {
+            logger.error("An unexpected error occurred in getComments: ", ex);
+            throw new SystemException(ex.getResponseBodyAsString(), ex.getStatusCode());
+        }
+    }
+
+    /**
+     * Cancelling a CompletableFuture does not interrupt the call in flight; it completes the sibling immediately and
+     * its eventual result is discarded. The in-flight HTTP call itself is bounded by the client read timeout.
+     */
+    private static void cancelOnFailure(final CompletableFuture<?> source, final CompletableFuture<?> sibling) {
+        source.whenComplete((result, failure) -> {
+            if (failure != null) {
+                sibling.cancel(true);
+            }
+        });
+    }
+
+    private RuntimeException translateFanOutFailure(final CompletableFuture<?>... futures) {
+        final Throwable cause = Arrays.stream(futures)
+            .filter(future -> future.isCompletedExceptionally() && !future.isCancelled())
+            .map(AuditionIntegrationClient::failureOf)
+            .findFirst()
+            .orElseGet(() -> new CancellationException("Upstream call was cancelled"));
+        if (cause instanceof HttpClientErrorException ex) {
+            logger.error("An unexpected error occurred in : getPostsByIdWithComments", ex);
+            return new SystemException(ex.getResponseBodyAsString());
+        }
+        if (cause instanceof RuntimeException ex) {
+            return ex;
+        }
+        return new SystemException(cause.getMessage(), cause);
+    }
+
+    private static Throwable failureOf(final CompletableFuture<?> future) {
+        final Throwable failure = future.handle((result, ex) -> ex).join();
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    /**
+     * Decodes an upstream JSON array element by element straight from the response stream, keeping only the
+     * elements accepted by the filter. The raw body is never materialized.
+     */
+    private <T> List<T> readArray(final String operation, final String path, final String variant,
+        final Class<T> type, final Predicate<? super T> filter) {
+        return exchange(operation, path + '#' + variant, path,
+            response -> parseArray(response.getBody(), type, filter));
+    }
+
+    /**
+     * Comments are compacted while the response is decoded, so the value kept by {@link UpstreamRevalidation} for
+     * 304 replies, the caches and the responses all share one {@link CompactComments} store.
+     */
+    private List<PostComment> readComments(final String operation, final String path) {
+        return exchange(operation, path + '#', path,
+            response -> CompactComments.compact(parseArray(response.getBody(), PostComment.class, comment -> true)));
+    }
+
+    @Nullable
+    private <T> T readObject(final String operation, final String path, final Class<T> type) {
+        return exchange(operation, path, path, response -> parseObject(response.getBody(), type));
+    }
+
+    /**
+     * One upstream attempt, conditional when an earlier response for the key left validators behind.
+     */
+    private <T> T exchange(final String operation, final String key, final String path,
+        final ResponseExtractor<T> extractor) {
+        final UpstreamRevalidation.Exchange<T> exchange = upstreamRevalidation.exchange(key, extractor);
+        return upstreamTimer.time(operation, status -> upstreamBalancer.call(baseUrl -> restTemplate.execute(
+            baseUrl + path, HttpMethod.GET, exchange.requestCallback(), response -> {
+                status.set(response.getStatusCode());
+                return exchange.extract(response);
+            })));
+    }
+
+    <T> List<T> parseArray(final InputStream body, final Class<T> type, final Predicate<? super T> filter)
+        throws IOException {
+        final List<T> result = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            final JsonToken first = parser.nextToken();
+            if (first == null) {
+                return result;
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw MismatchedInputException.from(parser, type, "Expected a JSON array from upstream");
+            }
+            final ObjectReader reader = objectMapper.readerFor(type);
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                // Fail like the former whole-array read instead of returning the elements before a bad one
+                if (token != JsonToken.START_OBJECT) {
+                    throw MismatchedInputException.from(parser, type,
+                        "Expected an object in the upstream array but found " + token);
+                }
+                final T element = reader.readValue(parser);
+                if (filter.test(element)) {
+                    result.add(element);
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw MismatchedInputException.from(parser, type, "Unexpected content after the upstream array");
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    <T> T parseObject(final InputStream body, final Class<T> type) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return objectMapper.readerFor(type).readValue(parser);
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ApiMode;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.PostComment;
+import com.audition.store.CompactComments;
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link AuditionIntegrationClient} on WebClient. Error mapping mirrors the blocking
+ * client so both API modes render the same problem details.
+ */
+@Component
+@ConditionalOnProperty(name = ApiMode.PROPERTY, havingValue = ApiMode.REACTIVE)
+public class ReactiveAuditionIntegrationClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAuditionIntegrationClient.class);
+
+    @Autowired
+    @Qualifier("upstreamWebClient")
+    private WebClient webClient;
+
+    @Autowired
+    private UpstreamProperties upstreamProperties;
+
+    @Autowired
+    private UpstreamResilience upstreamResilience;
+
+    @Autowired
+    private UpstreamBalancer upstreamBalancer;
+
+    public Flux<AuditionPost> getPosts(@Nullable final String title) {
+        // Array elements are decoded one by one as they arrive and filtered before they are collected
+        return upstreamBalancer.flux(baseUrl -> webClient.get().uri(baseUrl + "/posts")
+                .retrieve()
+                .bodyToFlux(AuditionPost.class))
+            .as(posts -> upstreamResilience.decorate(UpstreamResilience.POSTS, posts))
+            .filter(post -> StringUtils.isBlank(title) || post.getTitle() != null && post.getTitle().contains(title))
+            .onErrorMap(WebClientResponseException.class, ex -> {
+                logger.error("An unexpected error occurred in getPosts: ", ex);
+                return new SystemException(ex.getResponseBodyAsString(), ex.getStatusCode());
+            });
+    }
+
+    public Mono<AuditionPost> getPostById(final String id) {
+        return upstreamBalancer.mono(baseUrl -> webClient.get().uri(baseUrl + "/posts/{id}", id)
+                .retrieve()
+                .bodyToMono(AuditionPost.class))
+            .as(post -> upstreamResilience.decorate(UpstreamResilience.POST_BY_ID, post))
+            .onErrorMap(WebClientResponseException.class, ex -> {
+                logger.error("API exception occurred in : getPostById", ex);
+                return new SystemException(ex.getMessage(), ex.getStatusCode());
+            });
+    }
+
+    public Mono<AuditionPostWithComments> getPostsByIdWithComments(final String id) {
+        // Both calls are subscribed at once; zip cancels the sibling as soon as either fails
+        final Mono<List<PostComment>> comments = upstreamBalancer.mono(baseUrl -> webClient.get()
+                .uri(baseUrl + "/posts/{id}/comments", id)
+                .retrieve()
+                .bodyToFlux(PostComment.class)
+                .collectList()
+                .map(CompactComments::compact))
+            .as(list -> upstreamResilience.decorate(UpstreamResilience.POST_COMMENTS, list))
+            .onErrorMap(WebClientResponseException.class, ex -> {
+                logger.error("An unexpected error occurred in : getPostsByIdWithComments", ex);
+                return new SystemException(ex.getResponseBodyAsString());
+            });
+        final Duration timeout = upstreamProperties.getFanOutTimeout();
+        return Mono.zip(getPostById(id), comments)
+            .map(tuple -> {
+                final AuditionPost post = tuple.getT1();
+                return new AuditionPostWithComments(post.getUserId(), post.getId(), post.getTitle(), post.getBody(),
+                    tuple.getT2());
+            })
+            .timeout(timeout)
+            .onErrorMap(TimeoutException.class, ex -> {
+                logger.error("Timed out after {} in : getPostsByIdWithComments", timeout);
+                return new SystemException("Upstream did not respond within " + timeout.toMillis() + " ms",
+                    HttpStatus.GATEWAY_TIMEOUT, ex);
+            });
+    }
+
+    public Flux<PostComment> getCommentsByPostId(final String id) {
+        return upstreamBalancer.flux(baseUrl -> webClient.get().uri(baseUrl + "/comments?postId={id}", id)
+                .retrieve()
+                .bodyToFlux(PostComment.class))
+            .as(comments -> upstreamResilience.decorate(UpstreamResilience.COMMENTS_BY_POST_ID, comments))
+            .onErrorMap(WebClientResponseException.class, ex -> {
+                logger.error("An unexpected error occurred in getCommentsByPostId: ", ex);
+                return new SystemException(ex.getResponseBodyAsString());
+            });
+    }
+
+    public Flux<PostComment> getComments() {
+        return upstreamBalancer.flux(baseUrl -> webClient.get().uri(baseUrl + "/comments")
+                .retrieve()
+                .bodyToFlux(PostComment.class))
+            .as(comments -> upstreamResilience.decorate(UpstreamResilience.COMMENTS, comments))
+            .onErrorMap(WebClientResponseException.class, ex -> {
+                logger.error("An unexpected error occurred in getComments: ", ex);
+                return new SystemException(ex.getResponseBodyAsString(), ex.getStatusCode());
+            });
+    }
+}
@@ -0,0 +1,82 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent identical upstream calls. The first caller for a key performs the call; callers arriving while
+ * it is in flight wait for it and receive the same result or the same exception. Nothing is remembered once the call
+ * completes, so this never serves stale data.
+ */
+@Component
+public class SingleFlight {
+
+    static final String COALESCED_COUNTER = "audition.upstream.coalesced";
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(final String operation, final String key, final Supplier<T> upstreamCall) {
+        final String flightKey = operation + ':' + key;
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            coalescedCounter(operation).increment();
+            return (T) await(existing);
+        }
+        try {
+            final T result = upstreamCall.get();
+            land(flightKey, flight).complete(result);
+            return result;
+        } catch (final RuntimeException | Error ex) {
+            land(flightKey, flight).completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private CompletableFuture<Object> land(final String flightKey, final CompletableFuture<Object> flight) {
+        // Remove before completing so a caller arriving afterwards starts a fresh call
+        inFlight.remove(flightKey, flight);
+        return flight;
+    }
+
+    private static Object await(final CompletableFuture<Object> flight) {
+        try {
+            return flight.get();
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new SystemException(ex.getCause().getMessage(), ex.getCause());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted while waiting for upstream", ex);
+        }
+    }
+
+    private Counter coalescedCounter(final String operation) {
+        return Counter.builder(COALESCED_COUNTER)
+            .description("Upstream calls avoided by joining an identical call already in flight")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+}
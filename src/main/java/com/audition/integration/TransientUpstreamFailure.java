@@ -0,0 +1,31 @@
+package com.audition.integration;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Failures that say something about upstream health: 5xx responses, I/O errors and timeouts. These are retried and
+ * count towards opening the circuit breaker; 4xx responses such as an unknown post id do neither. Referenced by class
+ * name from the {@code resilience4j.*} configuration.
+ */
+public class TransientUpstreamFailure implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(final Throwable throwable) {
+        if (throwable instanceof HttpStatusCodeException ex) {
+            return ex.getStatusCode().is5xxServerError();
+        }
+        if (throwable instanceof WebClientResponseException ex) {
+            return ex.getStatusCode().is5xxServerError();
+        }
+        return throwable instanceof ResourceAccessException
+            || throwable instanceof WebClientRequestException
+            || throwable instanceof IOException
+            || throwable instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,299 @@
+package com.audition.integration;
+
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Client-side load balancing over the configured upstream endpoints. Each call picks an endpoint with the configured
+ * strategy and reports back its latency and outcome. An endpoint whose calls fail transiently or run slow too many
+ * times in a row is ejected for a while; when every endpoint is ejected, all of them are used again rather than
+ * failing every call. Per-endpoint latency is published as {@value #LATENCY_TIMER}.
+ */
+@Component
+public class UpstreamBalancer {
+
+    static final String LATENCY_TIMER = "audition.upstream.endpoint.latency";
+    static final String OUTSTANDING_GAUGE = "audition.upstream.endpoint.outstanding";
+    static final String EJECTED_GAUGE = "audition.upstream.endpoint.ejected";
+    static final String EJECTIONS_COUNTER = "audition.upstream.endpoint.ejections";
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamBalancer.class);
+    private static final double LATENCY_SMOOTHING = 0.3;
+
+    private final UpstreamProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+    private final Predicate<Throwable> transientFailure = new TransientUpstreamFailure();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private volatile EndpointSet endpointSet = new EndpointSet(List.of(), List.of());
+
+    @Autowired
+    public UpstreamBalancer(final UpstreamProperties properties, final MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    UpstreamBalancer(final UpstreamProperties properties, final MeterRegistry meterRegistry,
+        final LongSupplier nanoTime) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Runs a blocking call against the chosen endpoint's base URL.
+     */
+    public <T> T call(final Function<String, T> call) {
+        final Lease lease = acquire();
+        try {
+            final T result = call.apply(lease.endpoint.baseUrl);
+            lease.complete(null);
+            return result;
+        } catch (final RuntimeException ex) {
+            lease.complete(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Defers the endpoint choice to subscription, so every retry attempt is balanced again.
+     */
+    public <T> Flux<T> flux(final Function<String, Flux<T>> call) {
+        return Flux.defer(() -> {
+            final Lease lease = acquire();
+            return call.apply(lease.endpoint.baseUrl)
+                .doOnComplete(() -> lease.complete(null))
+                .doOnError(lease::complete)
+                .doOnCancel(lease::cancel);
+        });
+    }
+
+    public <T> Mono<T> mono(final Function<String, Mono<T>> call) {
+        return flux(baseUrl -> call.apply(baseUrl).flux()).singleOrEmpty();
+    }
+
+    List<Endpoint> endpoints() {
+        return endpointSet().endpoints;
+    }
+
+    private Lease acquire() {
+        final Endpoint endpoint = choose();
+        endpoint.outstanding.incrementAndGet();
+        return new Lease(endpoint, nanoTime.getAsLong());
+    }
+
+    private Endpoint choose() {
+        final List<Endpoint> all = endpointSet().endpoints;
+        if (all.size() == 1) {
+            return all.get(0);
+        }
+        final long now = nanoTime.getAsLong();
+        List<Endpoint> candidates = all.stream().filter(endpoint -> !endpoint.isEjected(now)).toList();
+        if (candidates.isEmpty()) {
+            candidates = all;
+        }
+        return switch (properties.getBalancing().getStrategy()) {
+            case LEAST_OUTSTANDING -> leastOutstanding(candidates);
+            case LATENCY_WEIGHTED -> latencyWeighted(candidates);
+            default -> candidates.get(Math.floorMod(nextIndex.getAndIncrement(), candidates.size()));
+        };
+    }
+
+    private static Endpoint leastOutstanding(final List<Endpoint> candidates) {
+        // Start from a random offset so ties do not all land on the first endpoint
+        final int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+        Endpoint best = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            final Endpoint candidate = candidates.get((offset + i) % candidates.size());
+            if (best == null || candidate.outstanding.get() < best.outstanding.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static Endpoint latencyWeighted(final List<Endpoint> candidates) {
+        // Weight by inverse smoothed latency; endpoints without measurements yet get the highest weight
+        final double[] weights = new double[candidates.size()];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1.0 / (candidates.get(i).averageLatencyMillis + 1.0);
+            total += weights[i];
+        }
+        double point = ThreadLocalRandom.current().nextDouble(total);
+        for (int i = 0; i < weights.length; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return candidates.get(i);
+            }
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+
+    /**
+     * Rebuilds the endpoint set when the configured URLs change, keeping the state of endpoints that remain and
+     * removing the meters of endpoints that were dropped.
+     */
+    private EndpointSet endpointSet() {
+        final List<String> urls = properties.getEndpoints().isEmpty()
+            ? List.of(properties.getBaseUrl()) : properties.getEndpoints();
+        final EndpointSet current = endpointSet;
+        if (current.urls.equals(urls)) {
+            return current;
+        }
+        synchronized (this) {
+            if (!endpointSet.urls.equals(urls)) {
+                final Map<String, Endpoint> existing = endpointSet.endpoints.stream()
+                    .collect(Collectors.toMap(endpoint -> endpoint.baseUrl, Function.identity(), (a, b) -> a));
+                // Before new endpoints register, so a URL that comes back gets meters bound to its new state
+                existing.values().stream()
+                    .filter(endpoint -> !urls.contains(endpoint.baseUrl))
+                    .forEach(Endpoint::removeMeters);
+                final List<Endpoint> endpoints = new ArrayList<>(urls.size());
+                for (final String url : urls) {
+                    endpoints.add(existing.containsKey(url) ? existing.get(url) : new Endpoint(url));
+                }
+                LOG.info("Balancing upstream calls over {}", urls);
+                endpointSet = new EndpointSet(List.copyOf(urls), List.copyOf(endpoints));
+            }
+            return endpointSet;
+        }
+    }
+
+    private static String tagOf(final String baseUrl) {
+        final URI uri = URI.create(baseUrl);
+        return uri.getHost() == null ? baseUrl : uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort());
+    }
+
+    private record EndpointSet(List<String> urls, List<Endpoint> endpoints) {
+
+    }
+
+    final class Endpoint {
+
+        private final String baseUrl;
+        private final String tag;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final Timer successTimer;
+        private final Timer failureTimer;
+        private final Counter ejections;
+        private final List<Meter> meters;
+        private volatile double averageLatencyMillis;
+        private volatile long ejectedUntil;
+        private volatile boolean ejected;
+
+        Endpoint(final String baseUrl) {
+            this.baseUrl = baseUrl;
+            this.tag = tagOf(baseUrl);
+            this.successTimer = latencyTimer("success");
+            this.failureTimer = latencyTimer("failure");
+            this.ejections = Counter.builder(EJECTIONS_COUNTER)
+                .description("Times an upstream endpoint was taken out of rotation")
+                .tag("endpoint", tag)
+                .register(meterRegistry);
+            final Gauge outstandingGauge = Gauge.builder(OUTSTANDING_GAUGE, outstanding, AtomicInteger::get)
+                .description("Upstream calls in flight per endpoint")
+                .tag("endpoint", tag)
+                .register(meterRegistry);
+            final Gauge ejectedGauge = Gauge.builder(EJECTED_GAUGE, this,
+                    endpoint -> endpoint.isEjected(nanoTime.getAsLong()) ? 1 : 0)
+                .description("Whether the upstream endpoint is currently ejected")
+                .tag("endpoint", tag)
+                .register(meterRegistry);
+            this.meters = List.of(successTimer, failureTimer, ejections, outstandingGauge, ejectedGauge);
+        }
+
+        private void removeMeters() {
+            meters.forEach(meterRegistry::remove);
+        }
+
+        String baseUrl() {
+            return baseUrl;
+        }
+
+        int outstanding() {
+            return outstanding.get();
+        }
+
+        boolean isEjected(final long now) {
+            return ejected && now - ejectedUntil < 0;
+        }
+
+        private Timer latencyTimer(final String outcome) {
+            return Timer.builder(LATENCY_TIMER)
+                .description("Latency of upstream calls per endpoint")
+                .tag("endpoint", tag)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        }
+
+        private void completed(final long latencyNanos, final Throwable failure) {
+            final UpstreamProperties.Balancing balancing = properties.getBalancing();
+            final boolean failed = failure != null && transientFailure.test(failure);
+            final boolean slow = latencyNanos > balancing.getSlowCallThreshold().toNanos();
+            (failed ? failureTimer : successTimer).record(latencyNanos, TimeUnit.NANOSECONDS);
+            averageLatencyMillis = averageLatencyMillis == 0 ? latencyNanos / 1e6
+                : LATENCY_SMOOTHING * latencyNanos / 1e6 + (1 - LATENCY_SMOOTHING) * averageLatencyMillis;
+            if (!failed && !slow) {
+                consecutiveFailures.set(0);
+                return;
+            }
+            if (consecutiveFailures.incrementAndGet() >= balancing.getFailureThreshold()) {
+                consecutiveFailures.set(0);
+                ejectedUntil = nanoTime.getAsLong() + balancing.getEjectionDuration().toNanos();
+                ejected = true;
+                ejections.increment();
+                LOG.warn("Ejecting upstream endpoint {} for {} after {} consecutive failed or slow calls", baseUrl,
+                    balancing.getEjectionDuration(), balancing.getFailureThreshold());
+            }
+        }
+    }
+
+    private final class Lease {
+
+        private final Endpoint endpoint;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Lease(final Endpoint endpoint, final long start) {
+            this.endpoint = endpoint;
+            this.start = start;
+        }
+
+        void complete(final Throwable failure) {
+            if (released.compareAndSet(false, true)) {
+                endpoint.outstanding.decrementAndGet();
+                endpoint.completed(nanoTime.getAsLong() - start, failure);
+            }
+        }
+
+        void cancel() {
+            // A cancelled call says nothing about endpoint health, only the in-flight count is released
+            if (released.compareAndSet(false, true)) {
+                endpoint.outstanding.decrementAndGet();
+            }
+        }
+    }
+}
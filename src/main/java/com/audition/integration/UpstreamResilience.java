@@ -0,0 +1,95 @@
+package com.audition.integration;
+
+import com.audition.common.exception.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Wraps upstream operations in a retry, circuit breaker and semaphore bulkhead, in that order from the outside in, so
+ * every retry attempt is seen by the breaker and holds a bulkhead permit only while it runs. Instances are looked up
+ * by operation name and configured under {@code resilience4j.*}. Calls rejected by an open breaker or a full bulkhead
+ * fail fast with {@link UpstreamUnavailableException}.
+ */
+@Component
+public class UpstreamResilience {
+
+    public static final String POSTS = "posts";
+    public static final String POST_BY_ID = "postById";
+    public static final String POST_COMMENTS = "postComments";
+    public static final String COMMENTS_BY_POST_ID = "commentsByPostId";
+    public static final String COMMENTS = "comments";
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamResilience.class);
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RetryRegistry retryRegistry;
+
+    public UpstreamResilience(final CircuitBreakerRegistry circuitBreakerRegistry,
+        final BulkheadRegistry bulkheadRegistry, final RetryRegistry retryRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.retryRegistry = retryRegistry;
+    }
+
+    public <T> T call(final String operation, final Supplier<T> upstreamCall) {
+        final CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(operation);
+        final Supplier<T> decorated = Retry.decorateSupplier(retryRegistry.retry(operation),
+            CircuitBreaker.decorateSupplier(circuitBreaker,
+                Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(operation), upstreamCall)));
+        try {
+            return decorated.get();
+        } catch (final CallNotPermittedException | BulkheadFullException ex) {
+            throw unavailable(operation, circuitBreaker, ex);
+        }
+    }
+
+    public <T> Mono<T> decorate(final String operation, final Mono<T> upstreamCall) {
+        final CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(operation);
+        return upstreamCall
+            .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(operation)))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+            .transformDeferred(RetryOperator.of(retryRegistry.retry(operation)))
+            .onErrorMap(ex -> ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException,
+                ex -> unavailable(operation, circuitBreaker, ex));
+    }
+
+    public <T> Flux<T> decorate(final String operation, final Flux<T> upstreamCall) {
+        final CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(operation);
+        return upstreamCall
+            .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(operation)))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+            .transformDeferred(RetryOperator.of(retryRegistry.retry(operation)))
+            .onErrorMap(ex -> ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException,
+                ex -> unavailable(operation, circuitBreaker, ex));
+    }
+
+    private static UpstreamUnavailableException unavailable(final String operation,
+        final CircuitBreaker circuitBreaker, final Throwable cause) {
+        final boolean breakerOpen = cause instanceof CallNotPermittedException;
+        final Duration retryAfter = breakerOpen
+            ? Duration.ofMillis(circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1))
+            : BULKHEAD_RETRY_AFTER;
+        LOG.warn("Upstream {} call rejected: {}", operation, cause.getMessage());
+        return new UpstreamUnavailableException(breakerOpen
+            ? "Upstream " + operation + " is unavailable, circuit breaker is open"
+            : "Too many concurrent upstream " + operation + " calls", retryAfter, cause);
+    }
+}
@@ -0,0 +1,188 @@
+package com.audition.integration;
+
+import com.audition.configuration.UpstreamProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+
+/**
+ * Remembers the validators ({@code ETag}, {@code Last-Modified}) of upstream responses together with the value decoded
+ * from them, keyed by request. The next request for the same key is made conditional; on 304 Not Modified the decoded
+ * value is reused without downloading or parsing anything. Revalidation outcomes are counted in
+ * {@value #REVALIDATIONS_COUNTER} and the body bytes not transferred in {@value #BYTES_SAVED_COUNTER}.
+ *
+ * <p>The remembered value must be derived from the response only, so a value filtered while parsing is keyed by the
+ * filter as well as the path.
+ */
+@Component
+public class UpstreamRevalidation {
+
+    static final String REVALIDATIONS_COUNTER = "audition.upstream.revalidations";
+    static final String BYTES_SAVED_COUNTER = "audition.upstream.revalidation.bytes.saved";
+
+    private final UpstreamProperties properties;
+    private final Cache<String, Validated> validated;
+    private final Counter notModified;
+    private final Counter modified;
+    private final Counter bytesSaved;
+
+    public UpstreamRevalidation(final UpstreamProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.validated = Caffeine.newBuilder()
+            .maximumSize(properties.getRevalidation().getMaximumSize())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, validated, "upstreamValidators");
+        this.notModified = revalidationCounter(meterRegistry, "not-modified");
+        this.modified = revalidationCounter(meterRegistry, "modified");
+        this.bytesSaved = Counter.builder(BYTES_SAVED_COUNTER)
+            .description("Upstream response body bytes not transferred thanks to 304 Not Modified")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    private static Counter revalidationCounter(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder(REVALIDATIONS_COUNTER)
+            .description("Conditional upstream requests by whether the remembered response was still valid")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Makes the request conditional when validators are remembered for the key and decodes the response with the
+     * extractor otherwise, remembering the result when the upstream sent validators.
+     */
+    public <T> Exchange<T> exchange(final String key, final ResponseExtractor<T> extractor) {
+        final Validated stored = properties.getRevalidation().isEnabled() ? validated.getIfPresent(key) : null;
+        return new Exchange<>(key, stored, extractor);
+    }
+
+    public final class Exchange<T> {
+
+        private final String key;
+        private final Validated stored;
+        private final ResponseExtractor<T> extractor;
+
+        private Exchange(final String key, final Validated stored, final ResponseExtractor<T> extractor) {
+            this.key = key;
+            this.stored = stored;
+            this.extractor = extractor;
+        }
+
+        public RequestCallback requestCallback() {
+            return request -> {
+                final HttpHeaders headers = request.getHeaders();
+                headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                if (stored != null && stored.etag() != null) {
+                    headers.setIfNoneMatch(stored.etag());
+                }
+                if (stored != null && stored.lastModified() >= 0) {
+                    headers.setIfModifiedSince(stored.lastModified());
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        public T extract(final ClientHttpResponse response) throws IOException {
+            final HttpStatusCode status = response.getStatusCode();
+            if (stored != null) {
+                if (status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                    notModified.increment();
+                    bytesSaved.increment(stored.bodyBytes());
+                    return (T) stored.value();
+                }
+                modified.increment();
+            }
+            final HttpHeaders headers = response.getHeaders();
+            final String etag = headers.getETag();
+            final long lastModified = headers.getLastModified();
+            if (!properties.getRevalidation().isEnabled() || etag == null && lastModified < 0
+                || !status.is2xxSuccessful()) {
+                validated.invalidate(key);
+                return extractor.extractData(response);
+            }
+            final CountingResponse counting = new CountingResponse(response);
+            final T value = extractor.extractData(counting);
+            if (value == null) {
+                validated.invalidate(key);
+            } else {
+                validated.put(key, new Validated(etag, lastModified, value, counting.count));
+            }
+            return value;
+        }
+    }
+
+    private record Validated(String etag, long lastModified, Object value, long bodyBytes) {
+
+    }
+
+    /**
+     * Counts the body bytes the extractor reads, as Content-Length is absent from chunked responses.
+     */
+    private static final class CountingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private long count;
+
+        CountingResponse(final ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return new FilterInputStream(delegate.getBody()) {
+                @Override
+                public int read() throws IOException {
+                    final int value = super.read();
+                    if (value >= 0) {
+                        count++;
+                    }
+                    return value;
+                }
+
+                @Override
+                public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                    final int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        count += read;
+                    }
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
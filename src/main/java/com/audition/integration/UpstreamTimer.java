@@ -0,0 +1,75 @@
+package com.audition.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Times each upstream HTTP attempt, from sending the request to the end of decoding its body, so upstream time can be
+ * told apart from the time the request spends in this service ({@code http.server.requests}). Retries are timed one
+ * by one. Published as {@value #REQUESTS_TIMER}, tagged by operation, outcome, status and exception. Histogram
+ * buckets come from {@code management.metrics.distribution.slo}.
+ */
+@Component
+public class UpstreamTimer {
+
+    static final String REQUESTS_TIMER = "audition.upstream.requests";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamTimer(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the call, which reports the response status through the reference it is given once headers arrive.
+     */
+    public <T> T time(final String operation, final Function<AtomicReference<HttpStatusCode>, T> call) {
+        final AtomicReference<HttpStatusCode> status = new AtomicReference<>();
+        final long start = System.nanoTime();
+        try {
+            final T result = call.apply(status);
+            record(operation, status.get(), null, System.nanoTime() - start);
+            return result;
+        } catch (final RuntimeException ex) {
+            final HttpStatusCode failedStatus = ex instanceof HttpStatusCodeException statusException
+                ? statusException.getStatusCode() : status.get();
+            record(operation, failedStatus, ex, System.nanoTime() - start);
+            throw ex;
+        }
+    }
+
+    private void record(final String operation, final HttpStatusCode status, final Throwable failure,
+        final long nanos) {
+        Timer.builder(REQUESTS_TIMER)
+            .description("Upstream HTTP attempts, including decoding of the response body")
+            .tag("operation", operation)
+            .tag("outcome", outcome(status))
+            .tag("status", status == null ? NONE : String.valueOf(status.value()))
+            .tag("exception", failure == null ? NONE : failure.getClass().getSimpleName())
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(final HttpStatusCode status) {
+        if (status == null) {
+            return "UNKNOWN";
+        }
+        if (status.is2xxSuccessful()) {
+            return "SUCCESS";
+        }
+        if (status.is4xxClientError()) {
+            return "CLIENT_ERROR";
+        }
+        if (status.is5xxServerError()) {
+            return "SERVER_ERROR";
+        }
+        return status.is3xxRedirection() ? "REDIRECTION" : "INFORMATIONAL";
+    }
+}
@@ -0,0 +1,14 @@
+package com.audition.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchPostRequest {
+
+    private List<Integer> ids;
+}
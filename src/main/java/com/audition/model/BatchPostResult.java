@@ -0,0 +1,26 @@
+package com.audition.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * One line of a batch response: either the post (with comments when requested) or the error for that id.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BatchPostResult {
+
+    private final int id;
+    private final AuditionPost post;
+    private final ProblemDetail error;
+
+    public static BatchPostResult success(final int id, final AuditionPost post) {
+        return new BatchPostResult(id, post, null);
+    }
+
+    public static BatchPostResult failure(final int id, final ProblemDetail error) {
+        return new BatchPostResult(id, null, error);
+    }
+}
@@ -0,0 +1,56 @@
+package com.audition.query;
+
+import com.audition.common.exception.SystemException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Text handed to a regular expression matcher that fails once the matcher has read more characters than allowed.
+ * {@link java.util.regex.Pattern} backtracks, so a pattern such as {@code (\w+\s?)+$} can take exponential time on an
+ * ordinary text; every step reads a character, so bounding the reads bounds the time.
+ */
+final class BoundedCharSequence implements CharSequence {
+
+    /**
+     * Reads allowed for any text, whatever its length.
+     */
+    static final long MIN_READS = 100_000;
+
+    /**
+     * Additional reads allowed per character of text, ample for patterns that do not backtrack heavily.
+     */
+    static final long READS_PER_CHAR = 100;
+
+    private final String text;
+    private final String pattern;
+    private long remaining;
+
+    BoundedCharSequence(final String text, final String pattern) {
+        this.text = text;
+        this.pattern = pattern;
+        this.remaining = Math.max(MIN_READS, READS_PER_CHAR * text.length());
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (--remaining < 0) {
+            throw new SystemException("filter regex '" + pattern + "' is too expensive to match",
+                HttpStatus.BAD_REQUEST);
+        }
+        return text.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return text.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
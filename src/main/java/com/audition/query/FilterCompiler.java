@@ -0,0 +1,54 @@
+package com.audition.query;
+
+import com.audition.common.exception.SystemException;
+import com.audition.model.AuditionPost;
+import com.audition.model.PostComment;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Compiles {@code filter} expressions such as {@code userId in (1, 2) and not title contains 'qui'} into predicate
+ * trees over one model; see {@link FilterParser} for the grammar. Compiled filters are kept by expression string, so a
+ * repeated query is parsed once. Expressions that do not parse are rejected with a 400 and not kept.
+ */
+public final class FilterCompiler<T> {
+
+    public static final FilterCompiler<AuditionPost> POSTS = new FilterCompiler<>(FilterFields.POSTS);
+    public static final FilterCompiler<PostComment> COMMENTS = new FilterCompiler<>(FilterFields.COMMENTS);
+    static final int MAX_LENGTH = 1024;
+    private static final int MAXIMUM_CACHED = 1000;
+
+    private final FilterFields<T> fields;
+    private final Cache<String, Predicate<T>> compiled = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CACHED)
+        .build();
+
+    public FilterCompiler(final FilterFields<T> fields) {
+        this.fields = fields;
+    }
+
+    public Predicate<T> compile(final String expression) {
+        if (expression.length() > MAX_LENGTH) {
+            throw new SystemException("filter must not be longer than " + MAX_LENGTH + " characters",
+                HttpStatus.BAD_REQUEST);
+        }
+        return compiled.get(expression.trim(), key -> FilterParser.parse(fields, key));
+    }
+
+    /**
+     * Keeps the matching items in a single pass over the list.
+     */
+    public static <T> List<T> filter(final List<T> items, final Predicate<? super T> filter) {
+        final List<T> matches = new ArrayList<>();
+        for (final T item : items) {
+            if (filter.test(item)) {
+                matches.add(item);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,71 @@
+package com.audition.query;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.PostComment;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * The properties of a model a filter expression may refer to. Number properties are read without boxing; email
+ * properties additionally accept {@code domain}.
+ */
+public final class FilterFields<T> {
+
+    public static final FilterFields<AuditionPost> POSTS = new FilterFields<AuditionPost>()
+        .number("userId", AuditionPost::getUserId)
+        .number("id", AuditionPost::getId)
+        .text("title", AuditionPost::getTitle)
+        .text("body", AuditionPost::getBody);
+
+    public static final FilterFields<PostComment> COMMENTS = new FilterFields<PostComment>()
+        .number("postId", comment -> comment.getPostId() == null ? 0 : comment.getPostId())
+        .number("id", comment -> comment.getId() == null ? 0 : comment.getId())
+        .text("name", PostComment::getName)
+        .email("email", PostComment::getEmail)
+        .text("body", PostComment::getBody);
+
+    private final Map<String, ToIntFunction<T>> numbers = new HashMap<>();
+    private final Map<String, Function<T, String>> texts = new HashMap<>();
+    private final Set<String> emails = new HashSet<>();
+
+    private FilterFields() {
+    }
+
+    private FilterFields<T> number(final String name, final ToIntFunction<T> accessor) {
+        numbers.put(name, accessor);
+        return this;
+    }
+
+    private FilterFields<T> text(final String name, final Function<T, String> accessor) {
+        texts.put(name, accessor);
+        return this;
+    }
+
+    private FilterFields<T> email(final String name, final Function<T, String> accessor) {
+        emails.add(name);
+        return text(name, accessor);
+    }
+
+    ToIntFunction<T> number(final String name) {
+        return numbers.get(name);
+    }
+
+    Function<T, String> text(final String name) {
+        return texts.get(name);
+    }
+
+    boolean isEmail(final String name) {
+        return emails.contains(name);
+    }
+
+    String names() {
+        final Set<String> names = new TreeSet<>(numbers.keySet());
+        names.addAll(texts.keySet());
+        return String.join(", ", names);
+    }
+}
@@ -0,0 +1,214 @@
+package com.audition.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * A node of a compiled filter. Each node knows its relative evaluation cost so {@code and}/{@code or} nodes can test
+ * cheap integer comparisons before substring scans and regular expressions, and stop at the first decisive child.
+ */
+sealed interface FilterNode<T> extends Predicate<T> {
+
+    int cost();
+
+    /**
+     * Combines the children, flattening nested {@code and} nodes, e.g. a and (b and c) becomes and(a, b, c).
+     */
+    static <T> FilterNode<T> and(final List<FilterNode<T>> children) {
+        final List<FilterNode<T>> flat = new ArrayList<>(children.size());
+        for (final FilterNode<T> child : children) {
+            if (child instanceof And<T> and) {
+                flat.addAll(Arrays.asList(and.children()));
+            } else {
+                flat.add(child);
+            }
+        }
+        return flat.size() == 1 ? flat.get(0) : new And<>(byCost(flat));
+    }
+
+    static <T> FilterNode<T> or(final List<FilterNode<T>> children) {
+        final List<FilterNode<T>> flat = new ArrayList<>(children.size());
+        for (final FilterNode<T> child : children) {
+            if (child instanceof Or<T> or) {
+                flat.addAll(Arrays.asList(or.children()));
+            } else {
+                flat.add(child);
+            }
+        }
+        return flat.size() == 1 ? flat.get(0) : new Or<>(byCost(flat));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> FilterNode<T>[] byCost(final List<FilterNode<T>> children) {
+        return children.stream()
+            .sorted(Comparator.comparingInt(FilterNode::cost))
+            .toArray(FilterNode[]::new);
+    }
+
+    record NumberEquals<T>(ToIntFunction<T> field, int value) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            return field.applyAsInt(item) == value;
+        }
+
+        @Override
+        public int cost() {
+            return 1;
+        }
+    }
+
+    /**
+     * Membership by binary search over the sorted, distinct values.
+     */
+    record NumberIn<T>(ToIntFunction<T> field, int[] values) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            return Arrays.binarySearch(values, field.applyAsInt(item)) >= 0;
+        }
+
+        @Override
+        public int cost() {
+            return 2;
+        }
+    }
+
+    record TextIn<T>(Function<T, String> field, Set<String> values) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            final String text = field.apply(item);
+            return text != null && values.contains(text);
+        }
+
+        @Override
+        public int cost() {
+            return 3;
+        }
+    }
+
+    record Prefix<T>(Function<T, String> field, String prefix) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            final String text = field.apply(item);
+            return text != null && text.startsWith(prefix);
+        }
+
+        @Override
+        public int cost() {
+            return 3;
+        }
+    }
+
+    /**
+     * Case-insensitive match of the part after the last {@code @}.
+     */
+    record Domain<T>(Function<T, String> field, String domain) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            final String email = field.apply(item);
+            if (email == null) {
+                return false;
+            }
+            final int at = email.lastIndexOf('@');
+            return at >= 0 && email.length() - at - 1 == domain.length()
+                && email.regionMatches(true, at + 1, domain, 0, domain.length());
+        }
+
+        @Override
+        public int cost() {
+            return 4;
+        }
+    }
+
+    record Contains<T>(Function<T, String> field, String part) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            final String text = field.apply(item);
+            return text != null && text.contains(part);
+        }
+
+        @Override
+        public int cost() {
+            return 8;
+        }
+    }
+
+    /**
+     * Matches through a {@link BoundedCharSequence}, so a pattern that backtracks catastrophically fails the request
+     * with a 400 instead of holding the thread.
+     */
+    record Regex<T>(Function<T, String> field, Pattern pattern) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            final String text = field.apply(item);
+            return text != null && pattern.matcher(new BoundedCharSequence(text, pattern.pattern())).find();
+        }
+
+        @Override
+        public int cost() {
+            return 32;
+        }
+    }
+
+    record Not<T>(FilterNode<T> child) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            return !child.test(item);
+        }
+
+        @Override
+        public int cost() {
+            return child.cost();
+        }
+    }
+
+    record And<T>(FilterNode<T>[] children) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            for (final FilterNode<T> child : children) {
+                if (!child.test(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int cost() {
+            return Arrays.stream(children).mapToInt(FilterNode::cost).sum();
+        }
+    }
+
+    record Or<T>(FilterNode<T>[] children) implements FilterNode<T> {
+
+        @Override
+        public boolean test(final T item) {
+            for (final FilterNode<T> child : children) {
+                if (child.test(item)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int cost() {
+            return Arrays.stream(children).mapToInt(FilterNode::cost).sum();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.audition.query;
+
+import com.audition.common.exception.SystemException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Recursive-descent parser turning a filter expression into a {@link FilterNode} tree. Grammar, keywords being
+ * case-insensitive:
+ *
+ * <pre>
+ * expression := term ('or' term)*
+ * term       := factor ('and' factor)*
+ * factor     := 'not' factor | '(' expression ')' | field operator operand
+ * operator   := 'eq' | 'in' | 'contains' | 'prefix' | 'regex' | 'domain'
+ * operand    := number | 'quoted text' | '(' operand (',' operand)* ')'
+ * </pre>
+ *
+ * <p>Quotes inside text are doubled, e.g. {@code title contains 'it''s'}.
+ */
+final class FilterParser<T> {
+
+    private final FilterFields<T> fields;
+    private final String expression;
+    private int position;
+
+    private FilterParser(final FilterFields<T> fields, final String expression) {
+        this.fields = fields;
+        this.expression = expression;
+    }
+
+    static <T> FilterNode<T> parse(final FilterFields<T> fields, final String expression) {
+        final FilterParser<T> parser = new FilterParser<>(fields, expression);
+        final FilterNode<T> node = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < expression.length()) {
+            throw parser.error("unexpected input");
+        }
+        return node;
+    }
+
+    private FilterNode<T> expression() {
+        final List<FilterNode<T>> terms = new ArrayList<>();
+        terms.add(term());
+        while (keyword("or")) {
+            terms.add(term());
+        }
+        return FilterNode.or(terms);
+    }
+
+    private FilterNode<T> term() {
+        final List<FilterNode<T>> factors = new ArrayList<>();
+        factors.add(factor());
+        while (keyword("and")) {
+            factors.add(factor());
+        }
+        return FilterNode.and(factors);
+    }
+
+    private FilterNode<T> factor() {
+        if (keyword("not")) {
+            final FilterNode<T> negated = factor();
+            return negated instanceof FilterNode.Not<T> not ? not.child() : new FilterNode.Not<>(negated);
+        }
+        if (symbol('(')) {
+            final FilterNode<T> nested = expression();
+            expect(')');
+            return nested;
+        }
+        final int fieldAt = position;
+        final String field = word();
+        final String operator = word().toLowerCase(Locale.ROOT);
+        final List<Object> operands = operands();
+        final ToIntFunction<T> number = fields.number(field);
+        if (number != null) {
+            return numberComparison(number, operator, operands, fieldAt);
+        }
+        final Function<T, String> text = fields.text(field);
+        if (text == null) {
+            throw errorAt(fieldAt, "unknown field '" + field + "', expected one of " + fields.names());
+        }
+        return textComparison(field, text, operator, operands, fieldAt);
+    }
+
+    private FilterNode<T> numberComparison(final ToIntFunction<T> field, final String operator,
+        final List<Object> operands, final int fieldAt) {
+        final int[] values = new int[operands.size()];
+        for (int i = 0; i < values.length; i++) {
+            if (!(operands.get(i) instanceof Integer value)) {
+                throw errorAt(fieldAt, "expected numbers");
+            }
+            values[i] = value;
+        }
+        if ("eq".equals(operator) && values.length == 1) {
+            return new FilterNode.NumberEquals<>(field, values[0]);
+        }
+        if ("in".equals(operator)) {
+            return new FilterNode.NumberIn<>(field, Arrays.stream(values).sorted().distinct().toArray());
+        }
+        throw errorAt(fieldAt, "numbers support eq with one value and in");
+    }
+
+    private FilterNode<T> textComparison(final String name, final Function<T, String> field, final String operator,
+        final List<Object> operands, final int fieldAt) {
+        final List<String> values = new ArrayList<>(operands.size());
+        for (final Object operand : operands) {
+            if (!(operand instanceof String value)) {
+                throw errorAt(fieldAt, "expected quoted text");
+            }
+            values.add(value);
+        }
+        if ("in".equals(operator)) {
+            return new FilterNode.TextIn<>(field, new HashSet<>(values));
+        }
+        if (values.size() != 1) {
+            throw errorAt(fieldAt, operator + " takes one value");
+        }
+        final String value = values.get(0);
+        return switch (operator) {
+            case "eq" -> new FilterNode.TextIn<>(field, Set.of(value));
+            case "contains" -> new FilterNode.Contains<>(field, value);
+            case "prefix" -> new FilterNode.Prefix<>(field, value);
+            case "regex" -> new FilterNode.Regex<>(field, regex(value, fieldAt));
+            case "domain" -> {
+                if (!fields.isEmail(name)) {
+                    throw errorAt(fieldAt, "domain only applies to email fields");
+                }
+                yield new FilterNode.Domain<>(field, value);
+            }
+            default -> throw errorAt(fieldAt, "unknown operator '" + operator + "'");
+        };
+    }
+
+    private Pattern regex(final String regex, final int fieldAt) {
+        try {
+            return Pattern.compile(regex);
+        } catch (final PatternSyntaxException e) {
+            throw errorAt(fieldAt, "invalid regex: " + e.getDescription());
+        }
+    }
+
+    private List<Object> operands() {
+        if (!symbol('(')) {
+            return List.of(operand());
+        }
+        final List<Object> operands = new ArrayList<>();
+        do {
+            operands.add(operand());
+        } while (symbol(','));
+        expect(')');
+        return operands;
+    }
+
+    private Object operand() {
+        skipWhitespace();
+        if (position < expression.length() && expression.charAt(position) == '\'') {
+            return quoted();
+        }
+        final int start = position;
+        if (position < expression.length() && expression.charAt(position) == '-') {
+            position++;
+        }
+        while (position < expression.length() && Character.isDigit(expression.charAt(position))) {
+            position++;
+        }
+        try {
+            return Integer.valueOf(expression.substring(start, position));
+        } catch (final NumberFormatException e) {
+            throw errorAt(start, "expected a number or quoted text");
+        }
+    }
+
+    private String quoted() {
+        final int start = position++;
+        final StringBuilder text = new StringBuilder();
+        while (position < expression.length()) {
+            final char c = expression.charAt(position++);
+            if (c != '\'') {
+                text.append(c);
+            } else if (position < expression.length() && expression.charAt(position) == '\'') {
+                text.append('\'');
+                position++;
+            } else {
+                return text.toString();
+            }
+        }
+        throw errorAt(start, "unterminated text");
+    }
+
+    private String word() {
+        skipWhitespace();
+        final int start = position;
+        while (position < expression.length() && Character.isLetterOrDigit(expression.charAt(position))) {
+            position++;
+        }
+        if (start == position) {
+            throw error("expected a name");
+        }
+        return expression.substring(start, position);
+    }
+
+    private boolean keyword(final String keyword) {
+        skipWhitespace();
+        final int end = position + keyword.length();
+        if (expression.regionMatches(true, position, keyword, 0, keyword.length())
+            && (end == expression.length() || !Character.isLetterOrDigit(expression.charAt(end)))) {
+            position = end;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean symbol(final char symbol) {
+        skipWhitespace();
+        if (position < expression.length() && expression.charAt(position) == symbol) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(final char symbol) {
+        if (!symbol(symbol)) {
+            throw error("expected '" + symbol + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+
+    private SystemException errorAt(final int at, final String message) {
+        position = at;
+        return error(message);
+    }
+
+    private SystemException error(final String message) {
+        return new SystemException("filter " + message + " at position " + position, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -1,37 +1,206 @@
 package com.audition.service;
 
+import com.audition.common.cache.AuditionCache;
+import com.audition.common.cache.CacheNames;
 import com.audition.common.exception.SystemException;
+import com.audition.configuration.BatchProperties;
 import com.audition.integration.AuditionIntegrationClient;
 import com.audition.model.AuditionPost;
 import com.audition.model.AuditionPostWithComments;
+import com.audition.model.BatchPostResult;
 import com.audition.model.PostComment;
+import com.audition.store.CompactComments;
+import com.audition.store.PostStore;
+import com.audition.store.TitleMatch;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.PathVariable;
 
 @Service
 public class AuditionService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AuditionService.class);
+
+    // Cache key of the unfiltered post list
+    static final String ALL_POSTS_KEY = "";
+
     @Autowired
     private AuditionIntegrationClient auditionIntegrationClient;
 
+    @Autowired
+    private AuditionCache auditionCache;
+
+    @Autowired
+    private PostStore postStore;
+
+    @Autowired
+    @Qualifier("upstreamExecutor")
+    private Executor upstreamExecutor;
+
+    @Autowired
+    private BatchProperties batchProperties;
+
 
     public List<AuditionPost> getPosts(String title) {
-        return auditionIntegrationClient.getPosts(title);
+        return getPosts(title, TitleMatch.CONTAINS, false);
+    }
+
+    /**
+     * Title search served from the indexed post store once it is loaded. Before that, case-sensitive substring
+     * queries go to the upstream through the cache and other query kinds filter the cached full list.
+     */
+    public List<AuditionPost> getPosts(final String title, final TitleMatch match, final boolean ignoreCase) {
+        if (postStore.isReady()) {
+            return StringUtils.isBlank(title) ? postStore.getPosts() : postStore.search(title, match, ignoreCase);
+        }
+        if (StringUtils.isBlank(title) || match == TitleMatch.CONTAINS && !ignoreCase) {
+            final String key = StringUtils.isBlank(title) ? ALL_POSTS_KEY : title;
+            return auditionCache.get(CacheNames.POSTS, key, () -> auditionIntegrationClient.getPosts(title));
+        }
+        final List<AuditionPost> posts = auditionCache.get(CacheNames.POSTS, ALL_POSTS_KEY,
+            () -> auditionIntegrationClient.getPosts(null));
+        final String needle = ignoreCase ? title.toLowerCase(Locale.ROOT) : title;
+        return posts.stream()
+            .filter(post -> post.getTitle() != null)
+            .filter(post -> {
+                final String candidate = ignoreCase ? post.getTitle().toLowerCase(Locale.ROOT) : post.getTitle();
+                return match == TitleMatch.PREFIX ? candidate.startsWith(needle) : candidate.contains(needle);
+            })
+            .collect(Collectors.toList());
     }
 
     public AuditionPost getPostById(final String postId) {
-        return auditionIntegrationClient.getPostById(postId);
+        return auditionCache.get(CacheNames.POST, postId, () -> auditionIntegrationClient.getPostById(postId));
     }
 
     public AuditionPostWithComments getPostsByIdWithComments(final String postId) {
-        return auditionIntegrationClient.getPostsByIdWithComments(postId);
+        return auditionCache.get(CacheNames.POST_WITH_COMMENTS, postId,
+            () -> auditionIntegrationClient.getPostsByIdWithComments(postId));
     }
 
+    /**
+     * The client already returns the comments in compact columns, see {@link CompactComments}.
+     */
     public List<PostComment> getCommentsByPostId(final String postId) {
-        return auditionIntegrationClient.getCommentsByPostId(postId);
+        return auditionCache.get(CacheNames.COMMENTS, postId,
+            () -> auditionIntegrationClient.getCommentsByPostId(postId));
+    }
+
+    /**
+     * Fetches the posts for a batch of ids, emitting one result per distinct id to the sink in completion order. At
+     * most {@code application.batch.concurrency} ids are fetched at the same time. Ids that fail are reported through
+     * the error mapper instead of failing the whole batch.
+     */
+    public void getPostsBatch(final List<Integer> ids, final boolean includeComments,
+        final Function<RuntimeException, ProblemDetail> errorMapper, final Consumer<BatchPostResult> sink) {
+        final Set<Integer> uniqueIds = validBatchIds(ids);
+        final Map<Integer, List<PostComment>> bulkComments =
+            includeComments && uniqueIds.size() >= batchProperties.getBulkCommentsThreshold() ? bulkComments() : null;
+
+        final CompletionService<BatchPostResult> completionService = new ExecutorCompletionService<>(upstreamExecutor);
+        final Iterator<Integer> pending = uniqueIds.iterator();
+        int inFlight = 0;
+        while (inFlight < batchProperties.getConcurrency() && pending.hasNext()) {
+            submitBatchItem(completionService, pending.next(), includeComments, bulkComments, errorMapper);
+            inFlight++;
+        }
+        while (inFlight > 0) {
+            final BatchPostResult result = takeBatchResult(completionService);
+            inFlight--;
+            if (pending.hasNext()) {
+                submitBatchItem(completionService, pending.next(), includeComments, bulkComments, errorMapper);
+                inFlight++;
+            }
+            sink.accept(result);
+        }
+    }
+
+    /**
+     * All comments grouped by post, or null when the bulk call fails so each id falls back to its own comments call.
+     */
+    private Map<Integer, List<PostComment>> bulkComments() {
+        try {
+            return auditionIntegrationClient.getComments().stream()
+                .filter(comment -> comment.getPostId() != null)
+                .collect(Collectors.groupingBy(PostComment::getPostId));
+        } catch (final RuntimeException ex) {
+            LOG.warn("Bulk comments call failed, fetching comments per post", ex);
+            return null;
+        }
+    }
+
+    private void submitBatchItem(final CompletionService<BatchPostResult> completionService, final Integer id,
+        final boolean includeComments, final Map<Integer, List<PostComment>> bulkComments,
+        final Function<RuntimeException, ProblemDetail> errorMapper) {
+        completionService.submit(() -> {
+            try {
+                return BatchPostResult.success(id, fetchBatchItem(String.valueOf(id), includeComments, bulkComments));
+            } catch (final RuntimeException ex) {
+                return BatchPostResult.failure(id, errorMapper.apply(ex));
+            }
+        });
+    }
+
+    // Runs on the upstream pool, so the post and its comments are fetched sequentially here rather than fanned out
+    private AuditionPost fetchBatchItem(final String postId, final boolean includeComments,
+        final Map<Integer, List<PostComment>> bulkComments) {
+        final AuditionPost post = getPostById(postId);
+        if (!includeComments) {
+            return post;
+        }
+        final List<PostComment> comments = bulkComments != null
+            ? bulkComments.getOrDefault(post.getId(), List.of())
+            : getCommentsByPostId(postId);
+        return new AuditionPostWithComments(post.getUserId(), post.getId(), post.getTitle(), post.getBody(),
+            comments);
+    }
+
+    private static BatchPostResult takeBatchResult(final CompletionService<BatchPostResult> completionService) {
+        try {
+            return completionService.take().get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted while fetching batch", ex);
+        } catch (final ExecutionException ex) {
+            throw new SystemException(ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    public Set<Integer> validBatchIds(final List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new SystemException("ids are required", HttpStatus.BAD_REQUEST);
+        }
+        final Set<Integer> uniqueIds = new LinkedHashSet<>();
+        for (final Integer id : ids) {
+            if (id == null) {
+                throw new SystemException("ids must not contain null", HttpStatus.BAD_REQUEST);
+            }
+            uniqueIds.add(id);
+        }
+        if (uniqueIds.size() > batchProperties.getMaxIds()) {
+            throw new SystemException("At most " + batchProperties.getMaxIds() + " distinct ids are allowed",
+                HttpStatus.BAD_REQUEST);
+        }
+        return uniqueIds;
     }
 
     public void validPostId(@PathVariable("id") String postId) {
@@ -0,0 +1,132 @@
+package com.audition.service;
+
+import com.audition.common.cache.AuditionCache;
+import com.audition.common.cache.CacheNames;
+import com.audition.configuration.ApiMode;
+import com.audition.configuration.BatchProperties;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.BatchPostResult;
+import com.audition.model.PostComment;
+import com.audition.store.CompactComments;
+import com.audition.store.PostStore;
+import com.audition.store.TitleMatch;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link AuditionService}. Uses the same cache and post store; values are looked up before
+ * subscribing to the upstream and stored once the upstream call has completed.
+ */
+@Service
+@ConditionalOnProperty(name = ApiMode.PROPERTY, havingValue = ApiMode.REACTIVE)
+public class ReactiveAuditionService {
+
+    @Autowired
+    private ReactiveAuditionIntegrationClient reactiveAuditionIntegrationClient;
+
+    @Autowired
+    private AuditionCache auditionCache;
+
+    @Autowired
+    private PostStore postStore;
+
+    @Autowired
+    private BatchProperties batchProperties;
+
+    public Flux<AuditionPost> getPosts(final String title, final TitleMatch match, final boolean ignoreCase) {
+        if (postStore.isReady()) {
+            return Flux.fromIterable(StringUtils.isBlank(title) ? postStore.getPosts()
+                : postStore.search(title, match, ignoreCase));
+        }
+        if (StringUtils.isBlank(title) || match == TitleMatch.CONTAINS && !ignoreCase) {
+            final String key = StringUtils.isBlank(title) ? AuditionService.ALL_POSTS_KEY : title;
+            return cached(CacheNames.POSTS, key, () -> reactiveAuditionIntegrationClient.getPosts(title).collectList())
+                .flatMapIterable(Function.identity());
+        }
+        final String needle = ignoreCase ? title.toLowerCase(Locale.ROOT) : title;
+        return cached(CacheNames.POSTS, AuditionService.ALL_POSTS_KEY,
+            () -> reactiveAuditionIntegrationClient.getPosts(null).collectList())
+            .flatMapIterable(Function.identity())
+            .filter(post -> post.getTitle() != null)
+            .filter(post -> {
+                final String candidate = ignoreCase ? post.getTitle().toLowerCase(Locale.ROOT) : post.getTitle();
+                return match == TitleMatch.PREFIX ? candidate.startsWith(needle) : candidate.contains(needle);
+            });
+    }
+
+    public Mono<AuditionPost> getPostById(final String postId) {
+        return cached(CacheNames.POST, postId, () -> reactiveAuditionIntegrationClient.getPostById(postId));
+    }
+
+    public Mono<AuditionPostWithComments> getPostsByIdWithComments(final String postId) {
+        return cached(CacheNames.POST_WITH_COMMENTS, postId,
+            () -> reactiveAuditionIntegrationClient.getPostsByIdWithComments(postId));
+    }
+
+    public Flux<PostComment> getCommentsByPostId(final String postId) {
+        return cached(CacheNames.COMMENTS, postId,
+            () -> reactiveAuditionIntegrationClient.getCommentsByPostId(postId).collectList()
+                .map(CompactComments::compact))
+            .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Emits one result per distinct id in completion order with at most {@code application.batch.concurrency} ids in
+     * flight. The ids are expected to have been validated with {@link AuditionService#validBatchIds(List)}.
+     */
+    public Flux<BatchPostResult> getPostsBatch(final Collection<Integer> uniqueIds, final boolean includeComments,
+        final Function<RuntimeException, ProblemDetail> errorMapper) {
+        final Mono<Map<Integer, List<PostComment>>> bulkComments =
+            includeComments && uniqueIds.size() >= batchProperties.getBulkCommentsThreshold()
+                ? reactiveAuditionIntegrationClient.getComments()
+                .filter(comment -> comment.getPostId() != null)
+                .collect(Collectors.groupingBy(PostComment::getPostId))
+                // Without the bulk result each id falls back to its own comments call
+                .onErrorResume(RuntimeException.class, ex -> Mono.empty())
+                .cache()
+                : Mono.empty();
+        return Flux.fromIterable(uniqueIds)
+            .flatMap(id -> fetchBatchItem(String.valueOf(id), includeComments, bulkComments)
+                    .map(post -> BatchPostResult.success(id, post))
+                    .onErrorResume(RuntimeException.class,
+                        ex -> Mono.just(BatchPostResult.failure(id, errorMapper.apply(ex)))),
+                batchProperties.getConcurrency());
+    }
+
+    private Mono<AuditionPost> fetchBatchItem(final String postId, final boolean includeComments,
+        final Mono<Map<Integer, List<PostComment>>> bulkComments) {
+        final Mono<AuditionPost> post = getPostById(postId);
+        if (!includeComments) {
+            return post;
+        }
+        return post.flatMap(found -> bulkComments
+            .map(byPost -> byPost.getOrDefault(found.getId(), List.of()))
+            .switchIfEmpty(Mono.defer(() -> getCommentsByPostId(postId).collectList()))
+            .map(comments -> new AuditionPostWithComments(found.getUserId(), found.getId(), found.getTitle(),
+                found.getBody(), comments)));
+    }
+
+    private <T> Mono<T> cached(final String cacheName, final String key, final Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            final T value = auditionCache.getIfPresent(cacheName, key);
+            if (value != null) {
+                return Mono.just(value);
+            }
+            return loader.get().doOnNext(loaded -> auditionCache.put(cacheName, key, loaded));
+        });
+    }
+}
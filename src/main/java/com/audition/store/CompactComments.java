@@ -0,0 +1,207 @@
+package com.audition.store;
+
+import com.audition.model.PostComment;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Comments stored by column: post ids and ids in int arrays, names and emails deduplicated in {@link StringPool}s and
+ * bodies in one shared {@link TextColumn}. {@link #asList()} exposes them as {@link PostComment}s through read-only
+ * flyweight views that hold only the row number, so nothing per comment stays on the heap besides the columns. Two
+ * stores are {@link #equals(Object) equal} when they hold the same comments in the same order.
+ */
+public final class CompactComments {
+
+    // Null Integer ids are stored as this value
+    private static final int NULL_ID = Integer.MIN_VALUE;
+
+    private final IntBuffer postIds;
+    private final IntBuffer ids;
+    private final StringPool names;
+    private final StringPool emails;
+    private final TextColumn bodies;
+
+    CompactComments(final IntBuffer postIds, final IntBuffer ids, final StringPool names, final StringPool emails,
+        final TextColumn bodies) {
+        this.postIds = postIds;
+        this.ids = ids;
+        this.names = names;
+        this.emails = emails;
+        this.bodies = bodies;
+    }
+
+    /**
+     * Compacts the comments, or returns the store behind a list that came from {@link #asList()} without copying it.
+     */
+    public static CompactComments of(final List<? extends PostComment> comments) {
+        if (comments instanceof Rows rows) {
+            return rows.comments;
+        }
+        final int size = comments.size();
+        final int[] postIds = new int[size];
+        final int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            final PostComment comment = comments.get(i);
+            postIds[i] = comment.getPostId() == null ? NULL_ID : comment.getPostId();
+            ids[i] = comment.getId() == null ? NULL_ID : comment.getId();
+        }
+        return new CompactComments(IntBuffer.wrap(postIds), IntBuffer.wrap(ids),
+            StringPool.of(comments.stream().map(PostComment::getName).toList()),
+            StringPool.of(comments.stream().map(PostComment::getEmail).toList()),
+            TextColumn.of(comments.stream().map(PostComment::getBody).toList()));
+    }
+
+    /**
+     * Shortcut for {@code of(comments).asList()}.
+     */
+    public static List<PostComment> compact(final List<? extends PostComment> comments) {
+        return of(comments).asList();
+    }
+
+    public int size() {
+        return ids.limit();
+    }
+
+    public PostComment get(final int index) {
+        return new View(this, index);
+    }
+
+    public List<PostComment> asList() {
+        return new Rows(this);
+    }
+
+    /**
+     * Heap taken by the columns.
+     */
+    public long estimatedBytes() {
+        return 8L * size() + names.estimatedBytes() + emails.estimatedBytes() + bodies.estimatedBytes();
+    }
+
+    IntBuffer postIds() {
+        return postIds.duplicate();
+    }
+
+    IntBuffer ids() {
+        return ids.duplicate();
+    }
+
+    StringPool names() {
+        return names;
+    }
+
+    StringPool emails() {
+        return emails;
+    }
+
+    TextColumn bodies() {
+        return bodies;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof CompactComments comments && ids.equals(comments.ids)
+            && postIds.equals(comments.postIds) && names.equals(comments.names) && emails.equals(comments.emails)
+            && bodies.equals(comments.bodies);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ids, postIds, names, emails, bodies);
+    }
+
+    private static Integer boxed(final int value) {
+        return value == NULL_ID ? null : value;
+    }
+
+    private static final class Rows extends AbstractList<PostComment> implements RandomAccess {
+
+        private final CompactComments comments;
+
+        Rows(final CompactComments comments) {
+            this.comments = comments;
+        }
+
+        @Override
+        public PostComment get(final int index) {
+            return comments.get(index);
+        }
+
+        @Override
+        public int size() {
+            return comments.size();
+        }
+    }
+
+    /**
+     * A comment read from the columns on every call; setters are not supported.
+     */
+    private static final class View extends PostComment {
+
+        private final CompactComments comments;
+        private final int index;
+
+        View(final CompactComments comments, final int index) {
+            super();
+            this.comments = comments;
+            this.index = index;
+            Objects.checkIndex(index, comments.size());
+        }
+
+        @Override
+        public Integer getPostId() {
+            return boxed(comments.postIds.get(index));
+        }
+
+        @Override
+        public Integer getId() {
+            return boxed(comments.ids.get(index));
+        }
+
+        @Override
+        public String getName() {
+            return comments.names.get(index);
+        }
+
+        @Override
+        public String getEmail() {
+            return comments.emails.get(index);
+        }
+
+        @Override
+        public String getBody() {
+            return comments.bodies.get(index);
+        }
+
+        @Override
+        public void setPostId(final Integer postId) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setId(final Integer id) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setName(final String name) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEmail(final String email) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setBody(final String body) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Compact comments are read-only");
+        }
+    }
+}
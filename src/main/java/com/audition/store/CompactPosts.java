@@ -0,0 +1,166 @@
+package com.audition.store;
+
+import com.audition.model.AuditionPost;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Posts stored by column: user ids and ids in int arrays, titles and bodies in shared {@link TextColumn}s.
+ * {@link #asList()} exposes them as {@link AuditionPost}s through read-only flyweight views that hold only the row
+ * number. Two stores are {@link #equals(Object) equal} when they hold the same posts in the same order.
+ */
+public final class CompactPosts {
+
+    private final IntBuffer userIds;
+    private final IntBuffer ids;
+    private final TextColumn titles;
+    private final TextColumn bodies;
+
+    CompactPosts(final IntBuffer userIds, final IntBuffer ids, final TextColumn titles, final TextColumn bodies) {
+        this.userIds = userIds;
+        this.ids = ids;
+        this.titles = titles;
+        this.bodies = bodies;
+    }
+
+    public static CompactPosts of(final List<? extends AuditionPost> posts) {
+        final int size = posts.size();
+        final int[] userIds = new int[size];
+        final int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            userIds[i] = posts.get(i).getUserId();
+            ids[i] = posts.get(i).getId();
+        }
+        return new CompactPosts(IntBuffer.wrap(userIds), IntBuffer.wrap(ids),
+            TextColumn.of(posts.stream().map(AuditionPost::getTitle).toList()),
+            TextColumn.of(posts.stream().map(AuditionPost::getBody).toList()));
+    }
+
+    public int size() {
+        return ids.limit();
+    }
+
+    public AuditionPost get(final int index) {
+        return new View(this, index);
+    }
+
+    public List<AuditionPost> asList() {
+        return new Rows(this);
+    }
+
+    /**
+     * Heap taken by the columns.
+     */
+    public long estimatedBytes() {
+        return 8L * size() + titles.estimatedBytes() + bodies.estimatedBytes();
+    }
+
+    IntBuffer userIds() {
+        return userIds.duplicate();
+    }
+
+    IntBuffer ids() {
+        return ids.duplicate();
+    }
+
+    TextColumn titles() {
+        return titles;
+    }
+
+    TextColumn bodies() {
+        return bodies;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof CompactPosts posts && ids.equals(posts.ids) && userIds.equals(posts.userIds)
+            && titles.equals(posts.titles) && bodies.equals(posts.bodies);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ids, userIds, titles, bodies);
+    }
+
+    private static final class Rows extends AbstractList<AuditionPost> implements RandomAccess {
+
+        private final CompactPosts posts;
+
+        Rows(final CompactPosts posts) {
+            this.posts = posts;
+        }
+
+        @Override
+        public AuditionPost get(final int index) {
+            return posts.get(index);
+        }
+
+        @Override
+        public int size() {
+            return posts.size();
+        }
+    }
+
+    /**
+     * A post read from the columns on every call; setters are not supported.
+     */
+    private static final class View extends AuditionPost {
+
+        private final CompactPosts posts;
+        private final int index;
+
+        View(final CompactPosts posts, final int index) {
+            super();
+            this.posts = posts;
+            this.index = index;
+            Objects.checkIndex(index, posts.size());
+        }
+
+        @Override
+        public int getUserId() {
+            return posts.userIds.get(index);
+        }
+
+        @Override
+        public int getId() {
+            return posts.ids.get(index);
+        }
+
+        @Override
+        public String getTitle() {
+            return posts.titles.get(index);
+        }
+
+        @Override
+        public String getBody() {
+            return posts.bodies.get(index);
+        }
+
+        @Override
+        public void setUserId(final int userId) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setId(final int id) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setTitle(final String title) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setBody(final String body) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Compact posts are read-only");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.audition.store;
+
+import com.audition.model.AuditionPost;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable view of all upstream posts, held in {@link CompactPosts} columns, together with their title index. A new
+ * snapshot is built off to the side on every refresh and swapped in atomically, so readers never block.
+ */
+final class PostSnapshot {
+
+    private final CompactPosts compact;
+    private final List<AuditionPost> posts;
+    private final TitleIndex titleIndex;
+    private final Instant refreshedAt;
+    private final Duration buildTime;
+    private final long version;
+
+    private PostSnapshot(final CompactPosts compact, final TitleIndex titleIndex, final Instant refreshedAt,
+        final Duration buildTime, final long version) {
+        this.compact = compact;
+        this.posts = compact.asList();
+        this.titleIndex = titleIndex;
+        this.refreshedAt = refreshedAt;
+        this.buildTime = buildTime;
+        this.version = version;
+    }
+
+    static PostSnapshot build(final CompactPosts posts, final Instant refreshedAt, final long version) {
+        final long start = System.nanoTime();
+        final TitleIndex index = TitleIndex.build(posts.asList());
+        return new PostSnapshot(posts, index, refreshedAt, Duration.ofNanos(System.nanoTime() - start), version);
+    }
+
+    List<AuditionPost> search(final String query, final TitleMatch match, final boolean ignoreCase) {
+        return Arrays.stream(titleIndex.search(query, match, ignoreCase))
+            .mapToObj(posts::get)
+            .toList();
+    }
+
+    List<AuditionPost> posts() {
+        return posts;
+    }
+
+    CompactPosts compact() {
+        return compact;
+    }
+
+    int size() {
+        return posts.size();
+    }
+
+    long estimatedDataBytes() {
+        return compact.estimatedBytes();
+    }
+
+    long estimatedIndexBytes() {
+        return titleIndex.estimatedBytes();
+    }
+
+    Instant refreshedAt() {
+        return refreshedAt;
+    }
+
+    Duration buildTime() {
+        return buildTime;
+    }
+
+    /**
+     * Content version for ETags, carried over from the previous snapshot when the posts are unchanged.
+     */
+    long version() {
+        return version;
+    }
+}
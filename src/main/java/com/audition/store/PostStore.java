@@ -0,0 +1,179 @@
+package com.audition.store;
+
+import com.audition.common.cache.ContentVersion;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically refreshed in-memory copy of all upstream posts with a title index. Until the first refresh has
+ * completed the store reports itself as not ready and callers are expected to fall back to the upstream.
+ */
+@Component
+public class PostStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostStore.class);
+
+    private final AuditionIntegrationClient auditionIntegrationClient;
+    private final PostStoreProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+    private final Timer refreshTimer;
+    private final Counter refreshFailures;
+    private final List<Runnable> refreshListeners = new CopyOnWriteArrayList<>();
+
+    private volatile PostSnapshot snapshot;
+    private volatile String lastError;
+
+    public PostStore(final AuditionIntegrationClient auditionIntegrationClient, final PostStoreProperties properties,
+        final TaskScheduler taskScheduler, final MeterRegistry meterRegistry) {
+        this(auditionIntegrationClient, properties, taskScheduler, meterRegistry, Clock.systemUTC());
+    }
+
+    PostStore(final AuditionIntegrationClient auditionIntegrationClient, final PostStoreProperties properties,
+        final TaskScheduler taskScheduler, final MeterRegistry meterRegistry, final Clock clock) {
+        this.auditionIntegrationClient = auditionIntegrationClient;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.clock = clock;
+        this.refreshTimer = Timer.builder("audition.post.store.refresh")
+            .description("Time to compact all posts and rebuild the title index")
+            .register(meterRegistry);
+        this.refreshFailures = Counter.builder("audition.post.store.refresh.failures")
+            .register(meterRegistry);
+        Gauge.builder("audition.post.store.size", this, store -> store.snapshot == null ? 0 : store.snapshot.size())
+            .description("Posts held in the in-memory store")
+            .register(meterRegistry);
+        Gauge.builder("audition.post.store.data.bytes", this,
+                store -> store.snapshot == null ? 0 : store.snapshot.estimatedDataBytes())
+            .description("Estimated size of the compact post columns")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("audition.post.store.index.bytes", this,
+                store -> store.snapshot == null ? 0 : store.snapshot.estimatedIndexBytes())
+            .description("Estimated size of the title index")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("audition.post.store.age", this, PostStore::ageSeconds)
+            .description("Time since the snapshot was last refreshed")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRefresh() {
+        if (properties.isEnabled()) {
+            taskScheduler.scheduleWithFixedDelay(this::refresh, properties.getRefreshInterval());
+        }
+    }
+
+    public void refresh() {
+        try {
+            final List<AuditionPost> posts = auditionIntegrationClient.getPosts(null);
+            final PostSnapshot previous = snapshot;
+            snapshot = refreshTimer.record(() -> {
+                final CompactPosts compact = CompactPosts.of(posts);
+                // Unchanged posts keep their version and columns, which may be mapped from a restored snapshot file
+                return previous != null && previous.compact().equals(compact)
+                    ? PostSnapshot.build(previous.compact(), clock.instant(), previous.version())
+                    : PostSnapshot.build(compact, clock.instant(), ContentVersion.next());
+            });
+            lastError = null;
+            LOG.info("Post store refreshed with {} posts", snapshot.size());
+        } catch (final RuntimeException ex) {
+            // Keep serving the previous snapshot
+            refreshFailures.increment();
+            lastError = ex.getMessage();
+            LOG.warn("Post store refresh failed, keeping previous snapshot", ex);
+            return;
+        }
+        refreshListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Installs posts restored from a previous run, unless a refresh has already completed. They are served until the
+     * first refresh replaces them, and keep {@code version} so ETags handed out before the restart stay valid.
+     */
+    void restore(final CompactPosts posts, final long version, final Instant refreshedAt) {
+        if (properties.isEnabled() && snapshot == null) {
+            snapshot = PostSnapshot.build(posts, refreshedAt, version);
+            LOG.info("Post store restored {} posts saved at {}", snapshot.size(), refreshedAt);
+        }
+    }
+
+    /**
+     * Runs {@code listener} on the refresh thread after each successful refresh.
+     */
+    void afterRefresh(final Runnable listener) {
+        refreshListeners.add(listener);
+    }
+
+    /**
+     * The current snapshot, or null before the first refresh or restore.
+     */
+    PostSnapshot current() {
+        return snapshot;
+    }
+
+    public boolean isReady() {
+        return properties.isEnabled() && snapshot != null;
+    }
+
+    public List<AuditionPost> getPosts() {
+        final PostSnapshot current = snapshot;
+        ContentVersion.record(current.version());
+        return current.posts();
+    }
+
+    public List<AuditionPost> search(final String query, final TitleMatch match, final boolean ignoreCase) {
+        final PostSnapshot current = snapshot;
+        ContentVersion.record(current.version());
+        return current.search(query, match, ignoreCase);
+    }
+
+    /**
+     * Summary for the actuator endpoint.
+     */
+    public Map<String, Object> describe() {
+        final PostSnapshot current = snapshot;
+        final Map<String, Object> description = new LinkedHashMap<>();
+        description.put("enabled", properties.isEnabled());
+        description.put("ready", current != null);
+        description.put("refreshInterval", properties.getRefreshInterval().toString());
+        if (current != null) {
+            description.put("size", current.size());
+            description.put("estimatedDataBytes", current.estimatedDataBytes());
+            description.put("estimatedIndexBytes", current.estimatedIndexBytes());
+            description.put("refreshedAt", current.refreshedAt().toString());
+            description.put("buildTime", current.buildTime().toString());
+        }
+        if (lastError != null) {
+            description.put("lastError", lastError);
+        }
+        return description;
+    }
+
+    private double ageSeconds() {
+        final PostSnapshot current = snapshot;
+        if (current == null) {
+            return Double.NaN;
+        }
+        return Duration.between(current.refreshedAt(), Instant.now(clock)).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.audition.store;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "poststore")
+public class PostStoreEndpoint {
+
+    private final PostStore postStore;
+
+    public PostStoreEndpoint(final PostStore postStore) {
+        this.postStore = postStore;
+    }
+
+    @ReadOperation
+    public Map<String, Object> postStore() {
+        return postStore.describe();
+    }
+}
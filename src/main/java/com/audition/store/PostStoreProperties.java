@@ -0,0 +1,39 @@
+package com.audition.store;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.post-store")
+public class PostStoreProperties {
+
+    /**
+     * When disabled, title queries fall back to the upstream through the cache.
+     */
+    private boolean enabled = true;
+
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    private Snapshot snapshot = new Snapshot();
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+
+        /**
+         * Restore the store and the comment cache from {@link #path} at startup and rewrite it after refreshes.
+         */
+        private boolean enabled;
+
+        private Path path = Path.of("data", "post-store.snapshot");
+
+        /**
+         * Also fetch all comments after each refresh, to reconcile the cached ones and include them in the file.
+         */
+        private boolean includeComments = true;
+    }
+}
@@ -0,0 +1,217 @@
+package com.audition.store;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary file holding the post and comment columns. The file is memory-mapped on {@link #read(Path) read} and the int
+ * and text columns are views over the mapping, so nothing is copied onto the heap except the distinct names and emails
+ * of the comment string pools.
+ *
+ * <p>Layout, big-endian: a 32 byte header ({@code AUDS} magic, format, content version, time the posts were fetched
+ * in epoch millis, CRC32 of everything after the header) followed by the post columns (count, user ids, ids, titles,
+ * bodies) and the comment columns (count, post ids, ids, names, emails, bodies). A text column is its entry count, its
+ * end offsets, its byte length and its UTF-8 bytes padded to four bytes; a string pool is its distinct values as a text
+ * column followed by one code per row.
+ */
+final class SnapshotFile {
+
+    static final int MAGIC = 0x41554453;
+    static final int FORMAT = 1;
+
+    private static final int HEADER_BYTES = 32;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * What a snapshot file holds. {@code version} is the content version of the posts.
+     */
+    record Contents(CompactPosts posts, CompactComments comments, long version, Instant savedAt) {
+
+    }
+
+    /**
+     * Writes to a temporary file next to {@code path} and moves it into place, so readers see either the previous or
+     * the new file in full. Returns the size of the file.
+     */
+    static long write(final Path path, final Contents contents) throws IOException {
+        final Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                final CRC32 crc = new CRC32();
+                channel.position(HEADER_BYTES);
+                // Not closed here: closing the stream would close the channel before the header is written
+                final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16));
+                writePosts(out, contents.posts());
+                writeComments(out, contents.comments());
+                out.flush();
+                channel.write(ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT)
+                    .putLong(contents.version())
+                    .putLong(contents.savedAt().toEpochMilli())
+                    .putInt((int) crc.getValue())
+                    .flip(), 0);
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return Files.size(path);
+    }
+
+    /**
+     * Maps the file and checks its header and checksum. The mapping stays valid after the file is replaced or
+     * deleted and is released once the columns are no longer referenced.
+     *
+     * @throws IOException when the file cannot be read or is not a complete snapshot of this format
+     */
+    static Contents read(final Path path) throws IOException {
+        final MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected snapshot size " + channel.size());
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.getInt() != MAGIC || mapped.getInt() != FORMAT) {
+            throw new IOException("Not a snapshot of format " + FORMAT);
+        }
+        final long version = mapped.getLong();
+        final Instant savedAt = Instant.ofEpochMilli(mapped.getLong());
+        final int expectedCrc = mapped.getInt();
+        final CRC32 crc = new CRC32();
+        crc.update(mapped.slice(HEADER_BYTES, mapped.capacity() - HEADER_BYTES));
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        mapped.position(HEADER_BYTES);
+        try {
+            final CompactPosts posts = readPosts(mapped);
+            final CompactComments comments = readComments(mapped);
+            return new Contents(posts, comments, version, savedAt);
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IOException("Truncated snapshot", ex);
+        }
+    }
+
+    private static void writePosts(final DataOutputStream out, final CompactPosts posts) throws IOException {
+        out.writeInt(posts.size());
+        writeInts(out, posts.userIds());
+        writeInts(out, posts.ids());
+        writeText(out, posts.titles());
+        writeText(out, posts.bodies());
+    }
+
+    private static CompactPosts readPosts(final ByteBuffer in) throws IOException {
+        final int size = count(in);
+        final IntBuffer userIds = ints(in, size);
+        final IntBuffer ids = ints(in, size);
+        return new CompactPosts(userIds, ids, text(in, size), text(in, size));
+    }
+
+    private static void writeComments(final DataOutputStream out, final CompactComments comments) throws IOException {
+        out.writeInt(comments.size());
+        writeInts(out, comments.postIds());
+        writeInts(out, comments.ids());
+        writePool(out, comments.names());
+        writePool(out, comments.emails());
+        writeText(out, comments.bodies());
+    }
+
+    private static CompactComments readComments(final ByteBuffer in) throws IOException {
+        final int size = count(in);
+        final IntBuffer postIds = ints(in, size);
+        final IntBuffer ids = ints(in, size);
+        final StringPool names = pool(in, size);
+        final StringPool emails = pool(in, size);
+        return new CompactComments(postIds, ids, names, emails, text(in, size));
+    }
+
+    private static void writeInts(final DataOutputStream out, final IntBuffer values) throws IOException {
+        while (values.hasRemaining()) {
+            out.writeInt(values.get());
+        }
+    }
+
+    private static IntBuffer ints(final ByteBuffer in, final int count) {
+        final IntBuffer values = in.slice(in.position(), count * Integer.BYTES).asIntBuffer();
+        in.position(in.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static void writeText(final DataOutputStream out, final TextColumn column) throws IOException {
+        out.writeInt(column.size());
+        writeInts(out, column.ends());
+        final ByteBuffer bytes = column.bytes();
+        out.writeInt(bytes.remaining());
+        if (bytes.hasArray()) {
+            out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            final byte[] chunk = new byte[8192];
+            while (bytes.hasRemaining()) {
+                final int length = Math.min(chunk.length, bytes.remaining());
+                bytes.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+        }
+        // Keep the next int column four-byte aligned
+        while ((HEADER_BYTES + out.size()) % Integer.BYTES != 0) {
+            out.writeByte(0);
+        }
+    }
+
+    private static TextColumn text(final ByteBuffer in, final int expectedSize) throws IOException {
+        if (count(in) != expectedSize) {
+            throw new IOException("Column size does not match row count " + expectedSize);
+        }
+        final IntBuffer ends = ints(in, expectedSize);
+        final int length = count(in);
+        final ByteBuffer bytes = in.slice(in.position(), length);
+        in.position((in.position() + length + Integer.BYTES - 1) & -Integer.BYTES);
+        return new TextColumn(bytes, ends);
+    }
+
+    private static void writePool(final DataOutputStream out, final StringPool pool) throws IOException {
+        writeText(out, TextColumn.of(pool.values()));
+        writeInts(out, pool.codes());
+    }
+
+    private static StringPool pool(final ByteBuffer in, final int size) throws IOException {
+        // The distinct values are a text column whose size is read ahead here
+        final int distinct = in.getInt(in.position());
+        final TextColumn column = text(in, distinct);
+        final String[] values = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            values[i] = column.get(i);
+        }
+        return new StringPool(values, ints(in, size));
+    }
+
+    private static int count(final ByteBuffer in) throws IOException {
+        final int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IOException("Unexpected count " + count);
+        }
+        return count;
+    }
+}
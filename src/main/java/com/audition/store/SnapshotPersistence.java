@@ -0,0 +1,185 @@
+package com.audition.store;
+
+import com.audition.common.cache.AuditionCache;
+import com.audition.common.cache.CacheNames;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.PostComment;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the post store and all comments in a {@link SnapshotFile} so a restarted instance starts warm instead of
+ * sending every first request to the upstream. The file is restored while the application context starts, before the
+ * web server accepts traffic. After each post store refresh the comments are reconciled with the upstream and the file
+ * is rewritten when the posts or comments changed.
+ */
+@Component
+public class SnapshotPersistence implements InitializingBean {
+
+    static final String LOAD_TIMER = "audition.snapshot.load";
+    static final String WRITE_TIMER = "audition.snapshot.write";
+    static final String SIZE_GAUGE = "audition.snapshot.size";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotPersistence.class);
+
+    private final PostStore postStore;
+    private final PostStoreProperties.Snapshot properties;
+    private final AuditionIntegrationClient auditionIntegrationClient;
+    private final AuditionCache auditionCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer writeTimer;
+
+    private volatile SnapshotFile.Contents saved;
+    private volatile long sizeBytes;
+
+    public SnapshotPersistence(final PostStore postStore, final PostStoreProperties properties,
+        final AuditionIntegrationClient auditionIntegrationClient, final AuditionCache auditionCache,
+        final MeterRegistry meterRegistry) {
+        this.postStore = postStore;
+        this.properties = properties.getSnapshot();
+        this.auditionIntegrationClient = auditionIntegrationClient;
+        this.auditionCache = auditionCache;
+        this.meterRegistry = meterRegistry;
+        this.writeTimer = Timer.builder(WRITE_TIMER)
+            .description("Time to write the snapshot file")
+            .register(meterRegistry);
+        Gauge.builder(SIZE_GAUGE, this, persistence -> persistence.sizeBytes)
+            .description("Size of the snapshot file last restored or written")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (properties.isEnabled()) {
+            restore();
+            postStore.afterRefresh(this::save);
+        }
+    }
+
+    /**
+     * Installs the posts of the snapshot file in the post store and its comments in the comment cache. A missing or
+     * unreadable file is logged and otherwise ignored; the store then becomes ready with its first refresh as before.
+     */
+    void restore() {
+        final Path path = properties.getPath();
+        final long start = System.nanoTime();
+        String outcome = "missing";
+        try {
+            if (Files.exists(path)) {
+                final SnapshotFile.Contents contents = SnapshotFile.read(path);
+                postStore.restore(contents.posts(), contents.version(), contents.savedAt());
+                seedComments(contents.comments(), contents.savedAt());
+                saved = contents;
+                sizeBytes = Files.size(path);
+                outcome = "restored";
+                LOG.info("Restored {} posts and {} comments from {} saved at {}", contents.posts().size(),
+                    contents.comments().size(), path, contents.savedAt());
+            }
+        } catch (final IOException | RuntimeException ex) {
+            outcome = "failed";
+            LOG.warn("Ignoring snapshot file {} that could not be restored", path, ex);
+        } finally {
+            Timer.builder(LOAD_TIMER)
+                .description("Time to map and restore the snapshot file at startup")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Reconciles the comments with the upstream and rewrites the file if anything changed since it was last
+     * restored or written. Failures keep the previous file.
+     */
+    void save() {
+        final PostSnapshot current = postStore.current();
+        final SnapshotFile.Contents previous = saved;
+        if (current == null) {
+            return;
+        }
+        final CompactComments comments = reconcileComments(previous);
+        if (previous != null && previous.version() == current.version() && previous.comments().equals(comments)) {
+            return;
+        }
+        final SnapshotFile.Contents contents = new SnapshotFile.Contents(current.compact(), comments,
+            current.version(), current.refreshedAt());
+        final long start = System.nanoTime();
+        try {
+            sizeBytes = SnapshotFile.write(properties.getPath(), contents);
+            saved = contents;
+            LOG.info("Wrote snapshot of {} posts and {} comments to {}", contents.posts().size(), comments.size(),
+                properties.getPath());
+        } catch (final IOException | RuntimeException ex) {
+            LOG.warn("Could not write snapshot file {}", properties.getPath(), ex);
+        } finally {
+            writeTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private CompactComments reconcileComments(final SnapshotFile.Contents previous) {
+        if (!properties.isIncludeComments()) {
+            return CompactComments.of(List.of());
+        }
+        try {
+            // Grouped by post so each post's comments are one contiguous range of rows. The upstream usually sends
+            // them in post order already; then the client's store is kept as is instead of being copied.
+            final Comparator<PostComment> byPost =
+                Comparator.comparing(PostComment::getPostId, Comparator.nullsFirst(Comparator.naturalOrder()));
+            final List<PostComment> fetched = auditionIntegrationClient.getComments();
+            final CompactComments comments = CompactComments.of(isSorted(fetched, byPost)
+                ? fetched
+                : fetched.stream().sorted(byPost).toList());
+            seedComments(comments, Instant.now());
+            return comments;
+        } catch (final RuntimeException ex) {
+            LOG.warn("Comment reconciliation failed, keeping the saved comments", ex);
+            return previous == null ? CompactComments.of(List.of()) : previous.comments();
+        }
+    }
+
+    private static <T> boolean isSorted(final List<T> list, final Comparator<? super T> order) {
+        for (int i = 1; i < list.size(); i++) {
+            if (order.compare(list.get(i - 1), list.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Puts each post's comments in the comment cache as a sub-list of the columns, so the rows are not copied. They
+     * are aged from {@code fetchedAt}, so comments restored from an old file are not served as fresh.
+     */
+    private void seedComments(final CompactComments comments, final Instant fetchedAt) {
+        if (!auditionCache.isEnabled()) {
+            return;
+        }
+        final List<PostComment> rows = comments.asList();
+        int from = 0;
+        while (from < rows.size()) {
+            final Integer postId = rows.get(from).getPostId();
+            int to = from + 1;
+            while (to < rows.size() && Objects.equals(postId, rows.get(to).getPostId())) {
+                to++;
+            }
+            if (postId != null) {
+                auditionCache.put(CacheNames.COMMENTS, String.valueOf(postId), rows.subList(from, to), fetchedAt);
+            }
+            from = to;
+        }
+    }
+}
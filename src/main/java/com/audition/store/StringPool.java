@@ -0,0 +1,73 @@
+package com.audition.store;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column of strings that repeat, such as comment author names and emails. Each distinct value is held once and rows
+ * store its four-byte code, -1 meaning null.
+ */
+final class StringPool {
+
+    private static final int NULL = -1;
+
+    private final String[] values;
+    private final IntBuffer codes;
+
+    StringPool(final String[] values, final IntBuffer codes) {
+        this.values = values;
+        this.codes = codes;
+    }
+
+    static StringPool of(final List<String> column) {
+        final Map<String, Integer> distinct = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+        final int[] codes = new int[column.size()];
+        for (int i = 0; i < codes.length; i++) {
+            final String value = column.get(i);
+            codes[i] = value == null ? NULL : distinct.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+        return new StringPool(values.toArray(String[]::new), IntBuffer.wrap(codes));
+    }
+
+    String get(final int index) {
+        final int code = codes.get(index);
+        return code == NULL ? null : values[code];
+    }
+
+    List<String> values() {
+        return Arrays.asList(values);
+    }
+
+    IntBuffer codes() {
+        return codes.duplicate();
+    }
+
+    /**
+     * The codes plus the distinct strings, counted with their object and array headers.
+     */
+    long estimatedBytes() {
+        long total = 4L * codes.capacity() + 16L + 4L * values.length;
+        for (final String value : values) {
+            total += 40L + value.length();
+        }
+        return total;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof StringPool pool && codes.equals(pool.codes) && Arrays.equals(values, pool.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * codes.hashCode() + Arrays.hashCode(values);
+    }
+}
@@ -0,0 +1,88 @@
+package com.audition.store;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Strings of one column as UTF-8 in a single shared buffer. Entry {@code i} ends at {@code ends[i]} and starts where
+ * entry {@code i - 1} ends; a null entry stores the bitwise complement of its end. A string is decoded only when it is
+ * read, so the column costs the encoded bytes plus four bytes per entry instead of a {@link String} and its array.
+ */
+final class TextColumn {
+
+    private final ByteBuffer bytes;
+    private final IntBuffer ends;
+
+    TextColumn(final ByteBuffer bytes, final IntBuffer ends) {
+        this.bytes = bytes;
+        this.ends = ends;
+    }
+
+    static TextColumn of(final List<String> values) {
+        final int[] ends = new int[values.size()];
+        byte[] buffer = new byte[Math.max(16, values.size() * 16)];
+        int length = 0;
+        for (int i = 0; i < ends.length; i++) {
+            final String value = values.get(i);
+            if (value == null) {
+                ends[i] = ~length;
+                continue;
+            }
+            final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            if (length + encoded.length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + encoded.length));
+            }
+            System.arraycopy(encoded, 0, buffer, length, encoded.length);
+            length += encoded.length;
+            ends[i] = length;
+        }
+        return new TextColumn(ByteBuffer.wrap(Arrays.copyOf(buffer, length)), IntBuffer.wrap(ends));
+    }
+
+    int size() {
+        return ends.limit();
+    }
+
+    String get(final int index) {
+        final int end = ends.get(index);
+        if (end < 0) {
+            return null;
+        }
+        final int start = index == 0 ? 0 : endOf(ends.get(index - 1));
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+        }
+        final byte[] copy = new byte[end - start];
+        bytes.get(start, copy);
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+
+    ByteBuffer bytes() {
+        return bytes.duplicate();
+    }
+
+    IntBuffer ends() {
+        return ends.duplicate();
+    }
+
+    long estimatedBytes() {
+        return (long) bytes.capacity() + 4L * ends.capacity();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof TextColumn column && ends.equals(column.ends) && bytes.equals(column.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * ends.hashCode() + bytes.hashCode();
+    }
+
+    private static int endOf(final int end) {
+        return end < 0 ? ~end : end;
+    }
+}
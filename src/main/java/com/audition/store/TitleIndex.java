@@ -0,0 +1,178 @@
+package com.audition.store;
+
+import com.audition.model.AuditionPost;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable inverted index over post titles. Substring queries of three or more characters are answered by
+ * intersecting the posting lists of the query's trigrams; prefix queries by a binary search over the lower-cased
+ * titles. Candidates are always verified against the title, so the index never changes query semantics.
+ */
+final class TitleIndex {
+
+    private static final int GRAM = 3;
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final String[] titles;
+    private final String[] lowerTitles;
+    private final Map<Long, int[]> postings;
+    private final int[] prefixOrder;
+
+    private TitleIndex(final String[] titles, final String[] lowerTitles, final Map<Long, int[]> postings,
+        final int[] prefixOrder) {
+        this.titles = titles;
+        this.lowerTitles = lowerTitles;
+        this.postings = postings;
+        this.prefixOrder = prefixOrder;
+    }
+
+    static TitleIndex build(final List<AuditionPost> posts) {
+        final int size = posts.size();
+        final String[] titles = new String[size];
+        final String[] lowerTitles = new String[size];
+        final Map<Long, IntList> builders = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final String title = posts.get(i).getTitle();
+            titles[i] = title == null ? "" : title;
+            lowerTitles[i] = titles[i].toLowerCase(Locale.ROOT);
+            final String lower = lowerTitles[i];
+            for (int j = 0; j + GRAM <= lower.length(); j++) {
+                builders.computeIfAbsent(gram(lower, j), key -> new IntList()).addOnce(i);
+            }
+        }
+        final Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((key, list) -> postings.put(key, list.toArray()));
+        final int[] prefixOrder = IntStream.range(0, size).boxed()
+            .sorted(Comparator.comparing(i -> lowerTitles[i]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        return new TitleIndex(titles, lowerTitles, postings, prefixOrder);
+    }
+
+    /**
+     * Returns the positions of matching titles in ascending order.
+     */
+    int[] search(final String query, final TitleMatch match, final boolean ignoreCase) {
+        final String lowerQuery = query.toLowerCase(Locale.ROOT);
+        final int[] candidates = match == TitleMatch.PREFIX ? prefixCandidates(lowerQuery)
+            : containsCandidates(lowerQuery);
+        return Arrays.stream(candidates)
+            .filter(i -> matches(i, query, lowerQuery, match, ignoreCase))
+            .toArray();
+    }
+
+    private boolean matches(final int i, final String query, final String lowerQuery, final TitleMatch match,
+        final boolean ignoreCase) {
+        final String title = ignoreCase ? lowerTitles[i] : titles[i];
+        final String needle = ignoreCase ? lowerQuery : query;
+        return match == TitleMatch.PREFIX ? title.startsWith(needle) : title.contains(needle);
+    }
+
+    private int[] containsCandidates(final String lowerQuery) {
+        if (lowerQuery.length() < GRAM) {
+            return IntStream.range(0, titles.length).toArray();
+        }
+        final int grams = lowerQuery.length() - GRAM + 1;
+        final int[][] lists = new int[grams][];
+        for (int j = 0; j < grams; j++) {
+            lists[j] = postings.get(gram(lowerQuery, j));
+            if (lists[j] == null) {
+                return NO_MATCHES;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        int[] result = lists[0];
+        for (int j = 1; j < grams && result.length > 0; j++) {
+            result = intersect(result, lists[j]);
+        }
+        return result;
+    }
+
+    private int[] prefixCandidates(final String lowerQuery) {
+        int low = 0;
+        int high = prefixOrder.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (lowerTitles[prefixOrder[mid]].compareTo(lowerQuery) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int end = low;
+        while (end < prefixOrder.length && lowerTitles[prefixOrder[end]].startsWith(lowerQuery)) {
+            end++;
+        }
+        final int[] candidates = Arrays.copyOfRange(prefixOrder, low, end);
+        Arrays.sort(candidates);
+        return candidates;
+    }
+
+    private static int[] intersect(final int[] left, final int[] right) {
+        final int[] out = new int[Math.min(left.length, right.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                out[count++] = left[i];
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    private static long gram(final String text, final int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    /**
+     * Rough retained size of the index structures, excluding the posts themselves.
+     */
+    long estimatedBytes() {
+        long bytes = 16L + 4L * prefixOrder.length;
+        for (final String lower : lowerTitles) {
+            bytes += 40L + lower.length();
+        }
+        for (final int[] list : postings.values()) {
+            // map entry + boxed key + array header and contents
+            bytes += 32L + 16L + 16L + 4L * list.length;
+        }
+        return bytes;
+    }
+
+    int size() {
+        return titles.length;
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(final int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.audition.store;
+
+import com.audition.common.exception.SystemException;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+
+public enum TitleMatch {
+    CONTAINS,
+    PREFIX;
+
+    /**
+     * Parses the {@code match} query parameter, rejecting unknown values with a 400.
+     */
+    public static TitleMatch fromParam(final String match) {
+        try {
+            return valueOf(match.toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new SystemException("match must be one of contains, prefix", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
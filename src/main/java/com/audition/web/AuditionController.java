@@ -1,31 +1,83 @@
 package com.audition.web;
 
+import com.audition.configuration.ApiMode;
 import com.audition.model.AuditionPost;
+import com.audition.model.BatchPostRequest;
+import com.audition.model.BatchPostResult;
 import com.audition.model.PostComment;
+import com.audition.query.FilterCompiler;
 import com.audition.service.AuditionService;
+import com.audition.store.TitleMatch;
+import com.audition.web.advice.ProblemDetailMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@ConditionalOnProperty(name = ApiMode.PROPERTY, havingValue = ApiMode.BLOCKING, matchIfMissing = true)
 public class AuditionController {
 
+    private static final String INCLUDE_COMMENTS = "comments";
+    private static final ListEndpoint<AuditionPost> POSTS = new ListEndpoint<AuditionPost>(AuditionPost::getId,
+        Map.of("id", Comparator.comparingInt(AuditionPost::getId),
+            "userId", Comparator.comparingInt(AuditionPost::getUserId),
+            "title", byNullable(AuditionPost::getTitle)),
+        Set.of("userId", "id", "title", "body"), FilterCompiler.POSTS);
+    private static final ListEndpoint<PostComment> COMMENTS = new ListEndpoint<PostComment>(
+        comment -> comment.getId() == null ? 0 : comment.getId(),
+        Map.of("id", byNullable(PostComment::getId),
+            "name", byNullable(PostComment::getName),
+            "email", byNullable(PostComment::getEmail)),
+        Set.of("postId", "id", "name", "email", "body"), FilterCompiler.COMMENTS);
+
     private final AuditionService auditionService;
+    private final ProblemDetailMapper problemDetailMapper;
+    private final ObjectMapper objectMapper;
 
-    public AuditionController(AuditionService auditionService) {
+    public AuditionController(AuditionService auditionService, ProblemDetailMapper problemDetailMapper,
+        ObjectMapper objectMapper) {
         this.auditionService = auditionService;
+        this.problemDetailMapper = problemDetailMapper;
+        this.objectMapper = objectMapper;
     }
 
-    // TODO Add a query param that allows data filtering. The intent of the filter is at developers discretion.
+    /**
+     * Lists posts matching {@code title} and the {@code filter} expression, e.g.
+     * {@code userId in (1, 2) and (title prefix 'qui' or body regex 'dolor(e|em)')}. The list is optionally paged
+     * with {@code limit} and {@code cursor}, ordered by {@code sort} (id, userId or title, prefixed with - for
+     * descending) and trimmed to the comma-separated properties in {@code fields}.
+     */
     @RequestMapping(value = "/posts", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody List<AuditionPost> getAllPosts(@RequestParam(value = "title", required = false) String title) {
-        // TODO Add logic that filters response data based on the query param
-        return auditionService.getPosts(title);
+    public ResponseEntity<MappingJacksonValue> getAllPosts(
+        @RequestParam(value = "title", required = false) String title,
+        @RequestParam(value = "match", defaultValue = "contains") final String match,
+        @RequestParam(value = "ignoreCase", defaultValue = "false") final boolean ignoreCase,
+        @RequestParam(value = "filter", required = false) final String filter,
+        @RequestParam(value = "limit", required = false) final Integer limit,
+        @RequestParam(value = "cursor", required = false) final String cursor,
+        @RequestParam(value = "sort", required = false) final String sort,
+        @RequestParam(value = "fields", required = false) final String fields) {
+        final TitleMatch titleMatch = TitleMatch.fromParam(match);
+        final ListEndpoint<AuditionPost>.Query query = POSTS.query(filter, limit, cursor, sort, fields);
+        return query.respond(auditionService.getPosts(title, titleMatch, ignoreCase));
     }
 
     @RequestMapping(value = "/posts/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -43,9 +95,50 @@ public class AuditionController {
         return auditionService.getPostsByIdWithComments(postId);
     }
 
+    /**
+     * Fetches many posts at once. Results are streamed as newline-delimited JSON in completion order, one line per
+     * distinct id, carrying either the post or a ProblemDetail for that id.
+     */
+    @RequestMapping(value = "/posts/batch", method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getPostsBatch(@RequestBody final BatchPostRequest request,
+        @RequestParam(value = "include", required = false) final String include) {
+        final List<Integer> ids = request.getIds();
+        auditionService.validBatchIds(ids);
+        final boolean includeComments = INCLUDE_COMMENTS.equalsIgnoreCase(include);
+        final StreamingResponseBody body = outputStream -> auditionService.getPostsBatch(ids, includeComments,
+            problemDetailMapper::toProblemDetail, result -> writeLine(outputStream, result));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static <T, U extends Comparable<? super U>> Comparator<T> byNullable(final Function<T, U> key) {
+        return Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private void writeLine(final OutputStream outputStream, final BatchPostResult result) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(result));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lists the comments of a post, with the same {@code filter}, {@code limit}, {@code cursor}, {@code sort} (id,
+     * name or email) and {@code fields} parameters as {@code /posts}. Filters may also match
+     * {@code email domain 'example.com'}.
+     */
     @RequestMapping(value = "/comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody List<PostComment> getCommentsForPost(@RequestParam("postId") final String postId) {
+    public ResponseEntity<MappingJacksonValue> getCommentsForPost(@RequestParam("postId") final String postId,
+        @RequestParam(value = "filter", required = false) final String filter,
+        @RequestParam(value = "limit", required = false) final Integer limit,
+        @RequestParam(value = "cursor", required = false) final String cursor,
+        @RequestParam(value = "sort", required = false) final String sort,
+        @RequestParam(value = "fields", required = false) final String fields) {
         auditionService.validPostId(postId);
-        return auditionService.getCommentsByPostId(postId);
+        final ListEndpoint<PostComment>.Query query = COMMENTS.query(filter, limit, cursor, sort, fields);
+        return query.respond(auditionService.getCommentsByPostId(postId));
     }
 }
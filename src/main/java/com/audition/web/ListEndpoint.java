@@ -0,0 +1,200 @@
+package com.audition.web;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.FieldProjection;
+import com.audition.query.FilterCompiler;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Filtering, pagination, sorting and field projection for an endpoint returning a JSON array. The response stays an
+ * array; when more items follow, the opaque cursor for the next page is sent in {@value #NEXT_CURSOR_HEADER} and as a
+ * {@code Link rel="next"} header. A cursor remembers the sort, the offset and the id of the last item returned, so a
+ * page resumes after that item even when items were added or removed before it in the meantime.
+ */
+final class ListEndpoint<T> {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+    private static final char DESCENDING = '-';
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private final ToIntFunction<T> id;
+    private final Map<String, Comparator<T>> sorts;
+    private final Set<String> fields;
+    private final FilterCompiler<T> filters;
+
+    /**
+     * Describes the list parameters one endpoint accepts.
+     *
+     * @param id      identifies an item for cursors and breaks ties between equal sort keys
+     * @param sorts   comparators by the name accepted in {@code sort}, ascending
+     * @param fields  properties accepted in {@code fields}
+     * @param filters compiles the expressions accepted in {@code filter}
+     */
+    ListEndpoint(final ToIntFunction<T> id, final Map<String, Comparator<T>> sorts, final Set<String> fields,
+        final FilterCompiler<T> filters) {
+        this.id = id;
+        this.sorts = Map.copyOf(sorts);
+        this.fields = Set.copyOf(fields);
+        this.filters = filters;
+    }
+
+    /**
+     * Validates the list parameters before any data is fetched, rejecting bad values with a 400.
+     */
+    Query query(final String filter, final Integer limit, final String cursor, final String sort,
+        final String fields) {
+        final Predicate<T> predicate = StringUtils.hasText(filter) ? filters.compile(filter) : null;
+        final String sortParam = sort == null ? "" : sort.trim();
+        final Comparator<T> comparator = comparator(sortParam);
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new SystemException("limit must be between 1 and " + MAX_LIMIT, HttpStatus.BAD_REQUEST);
+        }
+        final Cursor position = StringUtils.hasText(cursor) ? Cursor.decode(cursor) : null;
+        if (position != null && !position.sort().equals(sortParam)) {
+            throw new SystemException("cursor was issued for a different sort", HttpStatus.BAD_REQUEST);
+        }
+        final int pageSize = limit != null ? limit : position != null ? DEFAULT_LIMIT : 0;
+        return new Query(predicate, sortParam, comparator, pageSize, position, projection(fields));
+    }
+
+    private Comparator<T> comparator(final String sort) {
+        if (sort.isEmpty()) {
+            return null;
+        }
+        final boolean descending = sort.charAt(0) == DESCENDING;
+        final Comparator<T> ascending = sorts.get(descending ? sort.substring(1) : sort);
+        if (ascending == null) {
+            throw new SystemException("sort must be one of " + String.join(", ", new TreeSet<>(sorts.keySet()))
+                + ", optionally prefixed with -", HttpStatus.BAD_REQUEST);
+        }
+        return (descending ? ascending.reversed() : ascending).thenComparingInt(id);
+    }
+
+    private Set<String> projection(final String fieldsParam) {
+        if (!StringUtils.hasText(fieldsParam)) {
+            return null;
+        }
+        final Set<String> requested = new LinkedHashSet<>();
+        for (final String field : fieldsParam.split(",")) {
+            final String name = field.trim();
+            if (!fields.contains(name)) {
+                throw new SystemException("fields must be among " + String.join(", ",
+                    new TreeSet<>(fields)), HttpStatus.BAD_REQUEST);
+            }
+            requested.add(name);
+        }
+        return requested;
+    }
+
+    final class Query {
+
+        private final Predicate<T> filter;
+        private final String sort;
+        private final Comparator<T> comparator;
+        private final int limit;
+        private final Cursor cursor;
+        private final Set<String> fields;
+
+        private Query(final Predicate<T> filter, final String sort, final Comparator<T> comparator, final int limit,
+            final Cursor cursor, final Set<String> fields) {
+            this.filter = filter;
+            this.sort = sort;
+            this.comparator = comparator;
+            this.limit = limit;
+            this.cursor = cursor;
+            this.fields = fields;
+        }
+
+        /**
+         * Filters, sorts and pages the items and wraps the page for serialization with the requested fields only.
+         * Filtering is a single pass and pages are views of the list; only filtering or sorting copies the item
+         * references.
+         */
+        ResponseEntity<MappingJacksonValue> respond(final List<T> items) {
+            List<T> ordered = filter == null ? items : FilterCompiler.filter(items, filter);
+            if (comparator != null) {
+                if (ordered == items) {
+                    ordered = new ArrayList<>(items);
+                }
+                ordered.sort(comparator);
+            }
+            final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            List<T> page = ordered;
+            if (limit > 0) {
+                final int start = cursor == null ? 0 : resumeAt(ordered);
+                final int end = Math.min(ordered.size(), start + limit);
+                page = ordered.subList(start, end);
+                response.header(TOTAL_COUNT_HEADER, Integer.toString(ordered.size()));
+                if (end < ordered.size()) {
+                    final String next = new Cursor(sort, end, id.applyAsInt(ordered.get(end - 1))).encode();
+                    final String link = ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("cursor", next)
+                        .build()
+                        .toUriString();
+                    response.header(NEXT_CURSOR_HEADER, next);
+                    response.header(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+                }
+            }
+            final MappingJacksonValue body = new MappingJacksonValue(page);
+            if (fields != null) {
+                body.setFilters(FieldProjection.only(fields));
+            }
+            return response.body(body);
+        }
+
+        private int resumeAt(final List<T> ordered) {
+            // The item before the offset is usually still the last one returned; otherwise look it up by id
+            final int offset = Math.min(cursor.offset(), ordered.size());
+            if (offset > 0 && id.applyAsInt(ordered.get(offset - 1)) == cursor.lastId()) {
+                return offset;
+            }
+            for (int i = 0; i < ordered.size(); i++) {
+                if (id.applyAsInt(ordered.get(i)) == cursor.lastId()) {
+                    return i + 1;
+                }
+            }
+            return offset;
+        }
+    }
+
+    record Cursor(String sort, int offset, int lastId) {
+
+        String encode() {
+            final String plain = sort + CURSOR_SEPARATOR + offset + CURSOR_SEPARATOR + lastId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(final String cursor) {
+            try {
+                final String plain = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                final String[] parts = plain.split("\\" + CURSOR_SEPARATOR, -1);
+                final int offset = Integer.parseInt(parts[1]);
+                if (parts.length != 3 || offset < 0) {
+                    throw new IllegalArgumentException(plain);
+                }
+                return new Cursor(parts[0], offset, Integer.parseInt(parts[2]));
+            } catch (final IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new SystemException("cursor is invalid", HttpStatus.BAD_REQUEST);
+            }
+        }
+    }
+}
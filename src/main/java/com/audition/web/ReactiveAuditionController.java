@@ -0,0 +1,106 @@
+package com.audition.web;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ApiMode;
+import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.BatchPostRequest;
+import com.audition.model.BatchPostResult;
+import com.audition.model.PostComment;
+import com.audition.service.AuditionService;
+import com.audition.service.ReactiveAuditionService;
+import com.audition.store.TitleMatch;
+import com.audition.web.advice.ProblemDetailMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same API as {@link AuditionController}, active when {@code application.api.mode=reactive}. Handlers return
+ * {@code Mono}/{@code Flux}, so the servlet thread is released while upstream calls are in flight and the response is
+ * completed asynchronously. The list parameters {@code filter}, {@code limit}, {@code cursor}, {@code sort} and
+ * {@code fields} are not supported and get a 400.
+ */
+@RestController
+@ConditionalOnProperty(name = ApiMode.PROPERTY, havingValue = ApiMode.REACTIVE)
+public class ReactiveAuditionController {
+
+    private static final String INCLUDE_COMMENTS = "comments";
+    private static final List<String> LIST_PARAMETERS = List.of("filter", "limit", "cursor", "sort", "fields");
+
+    private final ReactiveAuditionService reactiveAuditionService;
+    private final AuditionService auditionService;
+    private final ProblemDetailMapper problemDetailMapper;
+
+    public ReactiveAuditionController(ReactiveAuditionService reactiveAuditionService, AuditionService auditionService,
+        ProblemDetailMapper problemDetailMapper) {
+        this.reactiveAuditionService = reactiveAuditionService;
+        this.auditionService = auditionService;
+        this.problemDetailMapper = problemDetailMapper;
+    }
+
+    @RequestMapping(value = "/posts", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<AuditionPost> getAllPosts(@RequestParam(value = "title", required = false) final String title,
+        @RequestParam(value = "match", defaultValue = "contains") final String match,
+        @RequestParam(value = "ignoreCase", defaultValue = "false") final boolean ignoreCase,
+        @RequestParam final Map<String, String> parameters) {
+        rejectListParameters(parameters);
+        return reactiveAuditionService.getPosts(title, TitleMatch.fromParam(match), ignoreCase);
+    }
+
+    @RequestMapping(value = "/posts/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuditionPost> getPostById(@PathVariable("id") final String postId) {
+        auditionService.validPostId(postId);
+        return reactiveAuditionService.getPostById(postId);
+    }
+
+    @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuditionPostWithComments> getPostsWithComments(@PathVariable("id") final String postId) {
+        auditionService.validPostId(postId);
+        return reactiveAuditionService.getPostsByIdWithComments(postId);
+    }
+
+    /**
+     * Streams one newline-delimited JSON line per distinct id in completion order, as the blocking controller does.
+     */
+    @RequestMapping(value = "/posts/batch", method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchPostResult> getPostsBatch(@RequestBody final BatchPostRequest request,
+        @RequestParam(value = "include", required = false) final String include) {
+        final Set<Integer> ids = auditionService.validBatchIds(request.getIds());
+        return reactiveAuditionService.getPostsBatch(ids, INCLUDE_COMMENTS.equalsIgnoreCase(include),
+            problemDetailMapper::toProblemDetail);
+    }
+
+    @RequestMapping(value = "/comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<PostComment> getCommentsForPost(@RequestParam("postId") final String postId,
+        @RequestParam final Map<String, String> parameters) {
+        rejectListParameters(parameters);
+        auditionService.validPostId(postId);
+        return reactiveAuditionService.getCommentsByPostId(postId);
+    }
+
+    /**
+     * The list parameters of the blocking controller are not implemented for streamed lists. Rejecting them keeps a
+     * client from reading a full, unfiltered list as if it had been filtered or paged.
+     */
+    private static void rejectListParameters(final Map<String, String> parameters) {
+        for (final String name : LIST_PARAMETERS) {
+            if (parameters.containsKey(name)) {
+                throw new SystemException("Parameter " + name + " is not supported in reactive mode",
+                    HttpStatus.BAD_REQUEST);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.audition.web.advice;
+
+import com.audition.common.cache.ServedEntry;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Tells clients how old a cached answer is: {@code Age} carries the age in seconds of the oldest cached value the
+ * response was built from and {@code X-Cache-Freshness} whether it was fresh, stale or served because the upstream
+ * failed. Responses built without the cache carry neither header.
+ */
+@ControllerAdvice
+@Order(0)
+public class CacheAgeResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String FRESHNESS_HEADER = "X-Cache-Freshness";
+
+    @Override
+    public boolean supports(final MethodParameter returnType,
+        final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+        final MediaType selectedContentType, final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+        final ServerHttpRequest request, final ServerHttpResponse response) {
+        ServedEntry.current().ifPresent(entry -> {
+            response.getHeaders().set(HttpHeaders.AGE, String.valueOf(entry.age().toSeconds()));
+            response.getHeaders().set(FRESHNESS_HEADER, entry.freshness().tag());
+        });
+        return body;
+    }
+}
@@ -0,0 +1,101 @@
+package com.audition.web.advice;
+
+import com.audition.common.cache.ContentVersion;
+import com.audition.configuration.HttpCachingProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Enumeration;
+import java.util.Optional;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * HTTP caching for successful GET responses. The ETag is the {@link ContentVersion} of the cached content the answer
+ * was built from, so it costs nothing per request, and a matching {@code If-None-Match} is answered with 304 before
+ * the body is serialized. {@code Cache-Control} is set per endpoint from {@code application.http-caching.rules}, and
+ * cached responses vary by {@code Accept-Encoding}. Headers are written to the servlet response directly because no
+ * body is written on 304.
+ */
+@ControllerAdvice
+@Order(0)
+public class ConditionalResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final HttpCachingProperties properties;
+
+    public ConditionalResponseAdvice(final HttpCachingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(final MethodParameter returnType,
+        final Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+        final MediaType selectedContentType, final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+        final ServerHttpRequest request, final ServerHttpResponse response) {
+        if (body == null || body instanceof ProblemDetail
+            || !(request instanceof ServletServerHttpRequest servletRequest)
+            || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        final HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        final HttpServletResponse httpResponse = servletResponse.getServletResponse();
+        if (!HttpMethod.GET.matches(httpRequest.getMethod()) && !HttpMethod.HEAD.matches(httpRequest.getMethod())
+            || httpResponse.getStatus() >= 300) {
+            return body;
+        }
+        final Optional<String> cacheControl = cacheControl(httpRequest);
+        cacheControl.ifPresent(value -> httpResponse.setHeader(HttpHeaders.CACHE_CONTROL, value));
+        final Optional<ContentVersion> version = properties.isEtags() ? ContentVersion.current() : Optional.empty();
+        if (cacheControl.isPresent() || version.isPresent()) {
+            // The body may be gzipped, by SerializedResponseAdvice or the server's compression, so caches must key
+            // on the encoding; set here so 304s carry it too
+            httpResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (version.isPresent() && new ServletWebRequest(httpRequest, httpResponse)
+            .checkNotModified(etag(httpRequest, version.get()))) {
+            // 304 with the ETag already set; nothing to serialize
+            return null;
+        }
+        return body;
+    }
+
+    /**
+     * The gzip ETag when the client revalidates the gzip representation, so either form can be answered with 304.
+     * Otherwise the ETag of the JSON, which {@link SerializedResponseAdvice} replaces when it writes gzip.
+     */
+    private static String etag(final HttpServletRequest request, final ContentVersion version) {
+        final String gzipEtag = version.gzipEtag();
+        final Enumeration<String> ifNoneMatch = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+            if (ifNoneMatch.nextElement().contains(gzipEtag)) {
+                return gzipEtag;
+            }
+        }
+        return version.etag();
+    }
+
+    private Optional<String> cacheControl(final HttpServletRequest request) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return properties.getRules().stream()
+            .filter(rule -> rule.getPath() != null && rule.getPath().equals(pattern))
+            .map(HttpCachingProperties.Rule::getCacheControl)
+            .findFirst();
+    }
+}
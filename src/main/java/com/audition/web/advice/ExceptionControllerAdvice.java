@@ -1,17 +1,13 @@
 package com.audition.web.advice;
 
-import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
-import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 import com.audition.common.exception.SystemException;
-import com.audition.common.logging.AuditionLogger;
-import io.micrometer.common.util.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.audition.common.exception.UpstreamUnavailableException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatusCode;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ProblemDetail;
-import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -23,73 +19,34 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
 
     public static final String DEFAULT_TITLE = "API Error Occurred";
-    private static final Logger LOG = LoggerFactory.getLogger(ExceptionControllerAdvice.class);
-    private static final String ERROR_MESSAGE = " Error Code from Exception could not be mapped to a valid HttpStatus Code - ";
-    private static final String DEFAULT_MESSAGE = "API Error occurred. Please contact support or administrator.";
 
     @Autowired
-    private AuditionLogger logger;
+    private ProblemDetailMapper problemDetailMapper;
 
     @ExceptionHandler(HttpClientErrorException.class)
     ProblemDetail handleHttpClientException(final HttpClientErrorException e) {
-        return createProblemDetail(e, e.getStatusCode());
+        return problemDetailMapper.forClientError(e);
     }
 
     @ExceptionHandler(Exception.class)
     @ResponseBody
     ProblemDetail handleMainException(final Exception e) {
-        // TODO Add handling for Exception
-        final HttpStatusCode status = getHttpStatusCodeFromException(e);
-        return createProblemDetail(e, status);
+        return problemDetailMapper.forException(e);
     }
 
     @ExceptionHandler(SystemException.class)
     @ResponseBody
     ProblemDetail handleSystemException(final SystemException e) {
-        // TODO `Add Handling for SystemException
-        final HttpStatusCode status = getHttpStatusCodeFromSystemException(e);
-        return createProblemDetail(e, status);
+        return problemDetailMapper.forSystemException(e);
     }
 
-    private ProblemDetail createProblemDetail(final Exception exception,
-        final HttpStatusCode statusCode) {
-        final ProblemDetail problemDetail = ProblemDetail.forStatus(statusCode);
-        problemDetail.setDetail(getMessageFromException(exception));
-        if (exception instanceof SystemException) {
-            problemDetail.setTitle(((SystemException) exception).getTitle());
-        } else {
-            problemDetail.setTitle(DEFAULT_TITLE);
-        }
-        return problemDetail;
-    }
-
-    String getMessageFromException(final Exception exception) {
-        if (StringUtils.isNotBlank(exception.getMessage())) {
-            return exception.getMessage();
-        }
-        return DEFAULT_MESSAGE;
-    }
-
-    HttpStatusCode getHttpStatusCodeFromSystemException(final SystemException exception) {
-        try {
-            return exception.getStatusCode();
-        } catch (final IllegalArgumentException iae) {
-            if (exception.getStatusCode() != null) {
-                logger.info(LOG, ERROR_MESSAGE + exception.getStatusCode());
-                return exception.getStatusCode();
-            } else {
-                return INTERNAL_SERVER_ERROR;
-            }
-        }
-    }
-
-    HttpStatusCode getHttpStatusCodeFromException(final Exception exception) {
-        if (exception instanceof HttpClientErrorException) {
-            return ((HttpClientErrorException) exception).getStatusCode();
-        } else if (exception instanceof HttpRequestMethodNotSupportedException) {
-            return METHOD_NOT_ALLOWED;
-        }
-        return INTERNAL_SERVER_ERROR;
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    ResponseEntity<ProblemDetail> handleUpstreamUnavailableException(final UpstreamUnavailableException e) {
+        // Fail-fast rejection by the circuit breaker or bulkhead; tell clients when trying again makes sense
+        final long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(problemDetailMapper.forSystemException(e));
     }
 }
 
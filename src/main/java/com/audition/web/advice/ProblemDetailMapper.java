@@ -0,0 +1,113 @@
+package com.audition.web.advice;
+
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Maps exceptions to the {@link ProblemDetail} bodies rendered by {@link ExceptionControllerAdvice}. Controllers that
+ * report errors per item, such as the batch endpoints, use it directly so those items look like failed requests.
+ */
+@Component
+public class ProblemDetailMapper {
+
+    static final String SYSTEM_EXCEPTIONS_COUNTER = "audition.system.exceptions";
+    private static final Logger LOG = LoggerFactory.getLogger(ProblemDetailMapper.class);
+    private static final String ERROR_MESSAGE = " Error Code from Exception could not be mapped to a valid HttpStatus Code - ";
+    private static final String DEFAULT_MESSAGE = "API Error occurred. Please contact support or administrator.";
+
+    private final AuditionLogger logger;
+    private final MeterRegistry meterRegistry;
+
+    public ProblemDetailMapper(final AuditionLogger logger, final MeterRegistry meterRegistry) {
+        this.logger = logger;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ProblemDetail toProblemDetail(final Exception e) {
+        if (e instanceof SystemException systemException) {
+            return forSystemException(systemException);
+        }
+        if (e instanceof HttpClientErrorException clientErrorException) {
+            return forClientError(clientErrorException);
+        }
+        return forException(e);
+    }
+
+    ProblemDetail forClientError(final HttpClientErrorException e) {
+        return create(e, e.getStatusCode());
+    }
+
+    ProblemDetail forException(final Exception e) {
+        return create(e, getHttpStatusCodeFromException(e));
+    }
+
+    /**
+     * Used by every handler of {@link SystemException} and its subclasses, so each one is counted.
+     */
+    ProblemDetail forSystemException(final SystemException e) {
+        final HttpStatusCode status = getHttpStatusCodeFromSystemException(e);
+        countSystemException(status);
+        return create(e, status);
+    }
+
+    ProblemDetail create(final Exception exception, final HttpStatusCode statusCode) {
+        final ProblemDetail problemDetail = ProblemDetail.forStatus(statusCode);
+        problemDetail.setDetail(getMessageFromException(exception));
+        if (exception instanceof SystemException) {
+            problemDetail.setTitle(((SystemException) exception).getTitle());
+        } else {
+            problemDetail.setTitle(ExceptionControllerAdvice.DEFAULT_TITLE);
+        }
+        return problemDetail;
+    }
+
+    private void countSystemException(final HttpStatusCode status) {
+        Counter.builder(SYSTEM_EXCEPTIONS_COUNTER)
+            .description("SystemExceptions rendered as problem details, by response status")
+            .tag("status", status == null ? "unknown" : String.valueOf(status.value()))
+            .register(meterRegistry)
+            .increment();
+    }
+
+    String getMessageFromException(final Exception exception) {
+        if (StringUtils.isNotBlank(exception.getMessage())) {
+            return exception.getMessage();
+        }
+        return DEFAULT_MESSAGE;
+    }
+
+    HttpStatusCode getHttpStatusCodeFromSystemException(final SystemException exception) {
+        try {
+            return exception.getStatusCode();
+        } catch (final IllegalArgumentException iae) {
+            if (exception.getStatusCode() != null) {
+                logger.info(LOG, ERROR_MESSAGE + exception.getStatusCode());
+                return exception.getStatusCode();
+            } else {
+                return INTERNAL_SERVER_ERROR;
+            }
+        }
+    }
+
+    HttpStatusCode getHttpStatusCodeFromException(final Exception exception) {
+        if (exception instanceof HttpClientErrorException) {
+            return ((HttpClientErrorException) exception).getStatusCode();
+        } else if (exception instanceof HttpRequestMethodNotSupportedException) {
+            return METHOD_NOT_ALLOWED;
+        }
+        return INTERNAL_SERVER_ERROR;
+    }
+}
@@ -0,0 +1,210 @@
+package com.audition.web.advice;
+
+import com.audition.common.cache.ContentVersion;
+import com.audition.configuration.HttpCachingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Serializes a JSON response built from cached content once per {@link ContentVersion} and writes the kept bytes, or
+ * their gzip encoding when the client accepts it, straight to the response for the next requests of the same URL. Only
+ * the mapping patterns listed in {@code application.http-caching.serialized.paths} are kept. Runs after the other body
+ * advice so their headers are already set and 304s never reach it. Gzip responses carry the
+ * {@link ContentVersion#gzipEtag() gzip ETag} of the version.
+ *
+ * <p>Bytes written are counted in {@value #BYTES_COUNTER} by encoding, serializations are timed in
+ * {@value #SERIALIZATION_TIMER}, and the serialization time each reuse avoided is added to {@value #SAVED_COUNTER}.
+ */
+@ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SerializedResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String BYTES_COUNTER = "audition.response.serialized.bytes";
+    static final String SERIALIZATION_TIMER = "audition.response.serialization";
+    static final String SAVED_COUNTER = "audition.response.serialization.saved";
+    private static final Logger LOG = LoggerFactory.getLogger(SerializedResponseAdvice.class);
+    private static final String GZIP = "gzip";
+
+    private final HttpCachingProperties.Serialized properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, Serialized> serialized;
+    private final Timer serializationTimer;
+    private final Counter saved;
+    private final Counter identityBytes;
+    private final Counter gzipBytes;
+
+    public SerializedResponseAdvice(final HttpCachingProperties properties, final ObjectMapper objectMapper,
+        final MeterRegistry meterRegistry) {
+        this.properties = properties.getSerialized();
+        this.objectMapper = objectMapper;
+        this.serialized = Caffeine.newBuilder()
+            .maximumWeight(this.properties.getMaximumSize().toBytes())
+            .weigher((Key key, Serialized value) -> value.weight())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, serialized, "serializedResponses");
+        this.serializationTimer = Timer.builder(SERIALIZATION_TIMER)
+            .description("Serialization of response bodies that are then kept for reuse")
+            .register(meterRegistry);
+        this.saved = Counter.builder(SAVED_COUNTER)
+            .description("Serialization time avoided by writing kept response bytes")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        this.identityBytes = bytesCounter(meterRegistry, "identity");
+        this.gzipBytes = bytesCounter(meterRegistry, GZIP);
+    }
+
+    private static Counter bytesCounter(final MeterRegistry meterRegistry, final String encoding) {
+        return Counter.builder(BYTES_COUNTER)
+            .description("Response body bytes written from kept serializations")
+            .baseUnit("bytes")
+            .tag("encoding", encoding)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean supports(final MethodParameter returnType,
+        final Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+        final MediaType selectedContentType, final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+        final ServerHttpRequest request, final ServerHttpResponse response) {
+        if (!properties.isEnabled() || body == null || body instanceof ProblemDetail
+            || !(request instanceof ServletServerHttpRequest servletRequest)
+            || !(response instanceof ServletServerHttpResponse servletResponse)
+            || servletResponse.getServletResponse().getStatus() != 200) {
+            return body;
+        }
+        final HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        final Optional<ContentVersion> version = ContentVersion.current();
+        if (!HttpMethod.GET.matches(httpRequest.getMethod()) || version.isEmpty() || !properties.getPaths()
+            .contains(httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))) {
+            return body;
+        }
+        final Key key = new Key(httpRequest.getRequestURI(), httpRequest.getQueryString(), version.get().version(),
+            selectedContentType.toString());
+        Serialized entry = serialized.getIfPresent(key);
+        if (entry == null) {
+            try {
+                entry = serialize(body);
+            } catch (final IOException ex) {
+                LOG.warn("Could not serialize {} for reuse, writing it the usual way", key.uri(), ex);
+                return body;
+            }
+            serialized.put(key, entry);
+        } else {
+            saved.increment(entry.serializationNanos() / 1e9);
+        }
+        write(entry, selectedContentType, acceptsGzip(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING)),
+            version.get(), servletResponse);
+        return null;
+    }
+
+    private Serialized serialize(final Object body) throws IOException {
+        final long start = System.nanoTime();
+        final byte[] identity = body instanceof MappingJacksonValue projected && projected.getFilters() != null
+            ? objectMapper.writer(projected.getFilters()).writeValueAsBytes(projected.getValue())
+            : objectMapper.writeValueAsBytes(body instanceof MappingJacksonValue wrapped ? wrapped.getValue() : body);
+        final long serializationNanos = System.nanoTime() - start;
+        serializationTimer.record(serializationNanos, TimeUnit.NANOSECONDS);
+        if (identity.length < properties.getCompressionThreshold().toBytes()) {
+            return new Serialized(identity, null, serializationNanos);
+        }
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(identity.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(identity);
+        }
+        return new Serialized(identity, compressed.toByteArray(), serializationNanos);
+    }
+
+    private void write(final Serialized entry, final MediaType contentType, final boolean acceptsGzip,
+        final ContentVersion version, final ServletServerHttpResponse response) {
+        final boolean gzip = acceptsGzip && entry.gzip() != null;
+        final byte[] bytes = gzip ? entry.gzip() : entry.identity();
+        final HttpServletResponse servletResponse = response.getServletResponse();
+        final HttpHeaders headers = response.getHeaders();
+        headers.setContentType(contentType);
+        headers.setContentLength(bytes.length);
+        // Usually set already by ConditionalResponseAdvice, which also covers 304s
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+            servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        if (servletResponse.containsHeader(HttpHeaders.ETAG)) {
+            // The gzip bytes are another representation and need their own strong ETag
+            servletResponse.setHeader(HttpHeaders.ETAG, gzip ? version.gzipEtag() : version.etag());
+        }
+        try {
+            response.getBody().write(bytes);
+            response.flush();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        (gzip ? gzipBytes : identityBytes).increment(bytes.length);
+    }
+
+    static boolean acceptsGzip(final List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String header : acceptEncoding) {
+            for (final String token : header.split(",")) {
+                final String[] parts = token.trim().split(";");
+                final String coding = parts[0].trim();
+                if (GZIP.equalsIgnoreCase(coding) || "*".equals(coding)) {
+                    return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private record Key(String uri, String query, long version, String contentType) {
+
+    }
+
+    private record Serialized(byte[] identity, byte[] gzip, long serializationNanos) {
+
+        int weight() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.audition.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.common.exception.SystemException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuditionCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditionCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AuditionCacheProperties();
+        properties.getSpecs().put(CacheNames.POST, new AuditionCacheProperties.Spec());
+    }
+
+    @Test
+    void testGetLoadsOnceAndServesFromCache() {
+        final AuditionCache cache = new AuditionCache(properties, meterRegistry);
+        final AtomicInteger loads = new AtomicInteger();
+
+        cache.get(CacheNames.POST, "1", loads::incrementAndGet);
+        final Integer value = cache.get(CacheNames.POST, "1", loads::incrementAndGet);
+
+        assertEquals(1, value);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetBypassesWhenDisabled() {
+        properties.setEnabled(false);
+        final AuditionCache cache = new AuditionCache(properties, meterRegistry);
+        final AtomicInteger loads = new AtomicInteger();
+
+        cache.get(CacheNames.POST, "1", loads::incrementAndGet);
+        cache.get(CacheNames.POST, "1", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetBypassesCacheWithoutSpec() {
+        final AuditionCache cache = new AuditionCache(properties, meterRegistry);
+        final AtomicInteger loads = new AtomicInteger();
+
+        cache.get(CacheNames.COMMENTS, "1", loads::incrementAndGet);
+        cache.get(CacheNames.COMMENTS, "1", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetDoesNotCacheFailures() {
+        final AuditionCache cache = new AuditionCache(properties, meterRegistry);
+
+        assertThrows(SystemException.class, () -> cache.get(CacheNames.POST, "1", () -> {
+            throw new SystemException("Upstream failed");
+        }));
+        assertEquals("ok", cache.get(CacheNames.POST, "1", () -> "ok"));
+    }
+
+    @Test
+    void testHitAndMissMetricsAreRegistered() {
+        final AuditionCache cache = new AuditionCache(properties, meterRegistry);
+
+        cache.get(CacheNames.POST, "1", () -> "value");
+        cache.get(CacheNames.POST, "1", () -> "value");
+
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", CacheNames.POST).tag("result", "hit")
+            .functionCounter());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CacheNames.POST).tag("result", "hit")
+            .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", CacheNames.POST).tag("result", "miss")
+            .functionCounter().count());
+    }
+
+    @Test
+    void testStaleValueIsServedWhileOneBackgroundRefreshRuns() {
+        final List<Runnable> refreshes = new ArrayList<>();
+        final MutableClock clock = new MutableClock();
+        final AuditionCache cache = staleCache(refreshes, clock);
+        cache.get(CacheNames.POST, "1", () -> "v1");
+        clock.advance(Duration.ofSeconds(90));
+
+        assertEquals("v1", cache.get(CacheNames.POST, "1", () -> "v2"));
+        assertEquals("v1", cache.get(CacheNames.POST, "1", () -> "v2"));
+        assertEquals(1, refreshes.size());
+
+        refreshes.get(0).run();
+        assertEquals("v2", cache.get(CacheNames.POST, "1", () -> "v3"));
+        assertEquals(1.0, meterRegistry.get(AuditionCache.STALENESS_TIMER).tag("freshness", "fresh").timer().count());
+        assertEquals(2.0, meterRegistry.get(AuditionCache.STALENESS_TIMER).tag("freshness", "stale").timer().count());
+    }
+
+    @Test
+    void testRejectedRefreshKeepsStaleValueAndRetriesOnNextHit() {
+        final List<Runnable> refreshes = new ArrayList<>();
+        final MutableClock clock = new MutableClock();
+        final AuditionCacheProperties.Spec spec = properties.getSpecs().get(CacheNames.POST);
+        spec.setStaleWhileRevalidate(Duration.ofMinutes(1));
+        final AtomicBoolean full = new AtomicBoolean(true);
+        final AuditionCache cache = new AuditionCache(properties, meterRegistry, task -> {
+            if (full.get()) {
+                throw new RejectedExecutionException("Refresh pool full");
+            }
+            refreshes.add(task);
+        }, clock);
+        cache.get(CacheNames.POST, "1", () -> "v1");
+        clock.advance(Duration.ofSeconds(90));
+
+        assertEquals("v1", cache.get(CacheNames.POST, "1", () -> "v2"));
+        full.set(false);
+        assertEquals("v1", cache.get(CacheNames.POST, "1", () -> "v2"));
+
+        assertEquals(1, refreshes.size());
+        assertEquals(1.0, meterRegistry.get(AuditionCache.REFRESH_REJECTED_COUNTER).tag("cache", CacheNames.POST)
+            .counter().count());
+    }
+
+    @Test
+    void testStaleValueIsServedWhenReloadFailsOnTheUpstream() {
+        final MutableClock clock = new MutableClock();
+        final AuditionCache cache = staleCache(new ArrayList<>(), clock);
+        cache.get(CacheNames.POST, "1", () -> "v1");
+        clock.advance(Duration.ofMinutes(10));
+
+        final String value = cache.get(CacheNames.POST, "1", () -> {
+            throw new SystemException("Upstream down", HttpStatus.BAD_GATEWAY);
+        });
+
+        assertEquals("v1", value);
+        assertEquals(Duration.ofMinutes(10).toNanos(), (long) meterRegistry.get(AuditionCache.STALENESS_TIMER)
+            .tag("freshness", "stale-if-error").timer().max(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void testClientErrorsAreNotMaskedByStaleValue() {
+        final MutableClock clock = new MutableClock();
+        final AuditionCache cache = staleCache(new ArrayList<>(), clock);
+        cache.get(CacheNames.POST, "1", () -> "v1");
+        clock.advance(Duration.ofMinutes(10));
+
+        assertThrows(SystemException.class, () -> cache.get(CacheNames.POST, "1", () -> {
+            throw new SystemException("Post not found", HttpStatus.NOT_FOUND);
+        }));
+    }
+
+    @Test
+    void testStaleIfErrorWindowIsBounded() {
+        final MutableClock clock = new MutableClock();
+        final AuditionCache cache = staleCache(new ArrayList<>(), clock);
+        cache.get(CacheNames.POST, "1", () -> "v1");
+        clock.advance(Duration.ofHours(2));
+
+        assertThrows(SystemException.class, () -> cache.get(CacheNames.POST, "1", () -> {
+            throw new SystemException("Upstream down", HttpStatus.BAD_GATEWAY);
+        }));
+    }
+
+    @Test
+    void testGetIfPresentOnlyReturnsFreshValues() {
+        final MutableClock clock = new MutableClock();
+        final AuditionCache cache = staleCache(new ArrayList<>(), clock);
+        cache.put(CacheNames.POST, "1", "v1");
+
+        assertEquals("v1", cache.getIfPresent(CacheNames.POST, "1"));
+        clock.advance(Duration.ofSeconds(90));
+        assertNull(cache.getIfPresent(CacheNames.POST, "1"));
+    }
+
+    @Test
+    void testContentVersionIsKeptWhenReloadedValueIsEqual() {
+        final MutableClock clock = new MutableClock();
+        final AuditionCache cache = staleCache(new ArrayList<>(), clock);
+
+        final long loaded = versionOf(() -> cache.get(CacheNames.POST, "1", () -> "v1"));
+        final long hit = versionOf(() -> cache.get(CacheNames.POST, "1", () -> "v1"));
+        clock.advance(Duration.ofMinutes(3));
+        final long reloadedEqual = versionOf(() -> cache.get(CacheNames.POST, "1", () -> "v1"));
+        clock.advance(Duration.ofMinutes(3));
+        final long reloadedChanged = versionOf(() -> cache.get(CacheNames.POST, "1", () -> "v2"));
+
+        assertEquals(loaded, hit);
+        assertEquals(loaded, reloadedEqual);
+        assertNotEquals(loaded, reloadedChanged);
+    }
+
+    private static long versionOf(final Runnable lookup) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            lookup.run();
+            return ContentVersion.current().orElseThrow().version();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /**
+     * Fresh for a minute, then stale-while-revalidate for one more and stale-if-error for up to an hour.
+     */
+    private AuditionCache staleCache(final List<Runnable> refreshes, final Clock clock) {
+        final AuditionCacheProperties.Spec spec = properties.getSpecs().get(CacheNames.POST);
+        spec.setStaleWhileRevalidate(Duration.ofMinutes(1));
+        spec.setStaleIfError(Duration.ofHours(1));
+        return new AuditionCache(properties, meterRegistry, refreshes::add, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.audition.common.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TraceContextAsyncAppenderTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+    private static final String SPAN_ID = "b7ad6b7169203331";
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        logger = loggerContext.getLogger("test");
+        logger.setAdditive(false);
+    }
+
+    @Test
+    void testStampsOpenTelemetryIdsOnTheCallingThread() {
+        final ListAppender<ILoggingEvent> target = start(new ListAppender<>());
+        final TraceContextAsyncAppender appender = asyncAppender(target, 16);
+
+        final Span span = Span.wrap(SpanContext.create(TRACE_ID, SPAN_ID, TraceFlags.getSampled(),
+            TraceState.getDefault()));
+        try (Scope scope = span.makeCurrent()) {
+            logger.info("inside span");
+        }
+        logger.info("outside span");
+        appender.stop();
+
+        assertEquals(2, target.list.size());
+        assertEquals(TRACE_ID, target.list.get(0).getMDCPropertyMap().get(TraceContextAsyncAppender.TRACE_ID));
+        assertEquals(SPAN_ID, target.list.get(0).getMDCPropertyMap().get(TraceContextAsyncAppender.SPAN_ID));
+        assertFalse(target.list.get(1).getMDCPropertyMap().containsKey(TraceContextAsyncAppender.TRACE_ID));
+    }
+
+    @Test
+    void testCountsDroppedEventsAndPublishesMetrics() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Appender<ILoggingEvent> blocked = start(new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(final ILoggingEvent event) {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        final TraceContextAsyncAppender appender = asyncAppender(blocked, 1);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AsyncAppenderMetrics.bind(registry, appender);
+        try {
+            logger.info("taken by the worker");
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            logger.info("queued");
+            logger.info("dropped");
+
+            assertEquals(1, appender.getDroppedCount());
+            assertEquals(1.0, registry.get(AsyncAppenderMetrics.QUEUE_DEPTH_GAUGE).gauge().value());
+            assertEquals(1.0, registry.get(AsyncAppenderMetrics.DROPPED_COUNTER).functionCounter().count());
+        } finally {
+            release.countDown();
+            appender.stop();
+        }
+    }
+
+    private TraceContextAsyncAppender asyncAppender(final Appender<ILoggingEvent> target, final int queueSize) {
+        final TraceContextAsyncAppender appender = new TraceContextAsyncAppender();
+        appender.setContext(loggerContext);
+        appender.setName("async-test");
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.addAppender(target);
+        appender.start();
+        logger.addAppender(appender);
+        return appender;
+    }
+
+    private <A extends Appender<ILoggingEvent>> A start(final A appender) {
+        appender.setContext(loggerContext);
+        appender.start();
+        return appender;
+    }
+}
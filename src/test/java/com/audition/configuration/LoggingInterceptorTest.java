@@ -0,0 +1,213 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class LoggingInterceptorTest {
+
+    private HttpLoggingProperties properties;
+    private HttpExchangeLog exchangeLog;
+    private LoggingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HttpLoggingProperties();
+        exchangeLog = mock(HttpExchangeLog.class);
+        interceptor = new LoggingInterceptor(properties, exchangeLog);
+    }
+
+    @Test
+    void testSampledCallIsLoggedWithStatusAndDuration() throws IOException {
+        interceptor.intercept(request("/posts/1"), new byte[0],
+            (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK)).close();
+
+        final HttpExchangeEvent event = loggedEvent();
+        assertEquals(200, event.status());
+        assertEquals("GET", event.method());
+        assertTrue(event.headersNanos() >= 0);
+        assertNull(event.responseBody());
+    }
+
+    @Test
+    void testUnsampledSuccessIsNotLogged() throws IOException {
+        properties.setSampleRate(0);
+
+        interceptor.intercept(request("/posts/1"), new byte[0],
+            (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        verify(exchangeLog, never()).offer(any());
+    }
+
+    @Test
+    void testUnsampledErrorIsStillLogged() throws IOException {
+        properties.setSampleRate(0);
+
+        interceptor.intercept(request("/posts/1"), new byte[0],
+            (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY)).close();
+
+        assertEquals(502, loggedEvent().status());
+    }
+
+    @Test
+    void testFailedCallIsLoggedWithoutResponse() {
+        assertThrows(IOException.class, () -> interceptor.intercept(request("/posts/1"), new byte[0],
+            (request, body) -> {
+                throw new IOException("Connection reset");
+            }));
+
+        final HttpExchangeEvent event = loggedEvent();
+        assertEquals(0, event.status());
+        assertTrue(event.error().contains("Connection reset"));
+    }
+
+    @Test
+    void testPathRuleOverridesSampleRate() throws IOException {
+        final HttpLoggingProperties.Rule rule = new HttpLoggingProperties.Rule();
+        rule.setPathPrefix("/posts");
+        rule.setSampleRate(0.0);
+        properties.setRules(List.of(rule));
+
+        interceptor.intercept(request("/posts"), new byte[0],
+            (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        verify(exchangeLog, never()).offer(any());
+
+        interceptor.intercept(request("/comments"), new byte[0],
+            (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK)).close();
+        assertEquals(200, loggedEvent().status());
+    }
+
+    @Test
+    void testTotalTimeWithoutBodiesRunsUntilTheResponseIsClosed() throws Exception {
+        final ClientHttpResponse response = interceptor.intercept(request("/posts"), new byte[0],
+            (request, body) -> new MockClientHttpResponse("[]".getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+        response.getBody().readAllBytes();
+        Thread.sleep(5);
+        verify(exchangeLog, never()).offer(any());
+        response.close();
+
+        final HttpExchangeEvent event = loggedEvent();
+        assertTrue(event.totalNanos() - event.headersNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+        assertNull(event.requestBody());
+        assertNull(event.responseBody());
+    }
+
+    @Test
+    void testResponseBodyIsTruncatedWithoutReadingAhead() throws IOException {
+        properties.setLogBodies(true);
+        properties.setMaxBodyBytes(10);
+        final ByteArrayInputStream upstreamBody = new ByteArrayInputStream(
+            "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8));
+
+        final ClientHttpResponse response = interceptor.intercept(request("/posts"), new byte[0],
+            (request, body) -> new MockClientHttpResponse(upstreamBody, HttpStatus.OK));
+        final InputStream stream = response.getBody();
+        final byte[] buffer = new byte[20];
+        assertEquals(20, stream.read(buffer));
+        verify(exchangeLog, never()).offer(any());
+        response.close();
+
+        assertEquals(16, upstreamBody.available());
+        assertEquals("0123456789...(20 bytes read)", loggedEvent().responseBody());
+    }
+
+    @Test
+    void testClosingTwiceLogsOnce() throws IOException {
+        properties.setLogBodies(true);
+
+        final ClientHttpResponse response = interceptor.intercept(request("/posts"), new byte[0],
+            (request, body) -> new MockClientHttpResponse("[]".getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+        response.close();
+        response.close();
+
+        assertEquals("", loggedEvent().responseBody());
+    }
+
+    @Test
+    void testDurationsAreFormattedIndependentOfTheDefaultLocale() {
+        final Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            assertTrue(event().format().contains("headersMs=1.0 totalMs=2.0"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void testFullQueueDropsEventsInsteadOfBlocking() throws Exception {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> written = new CopyOnWriteArrayList<>();
+        final HttpExchangeLog log = new HttpExchangeLog(1, meterRegistry, line -> {
+            writing.countDown();
+            await(release);
+            written.add(line);
+        });
+        try {
+            assertTrue(log.offer(event()));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            assertTrue(log.offer(event()));
+            assertFalse(log.offer(event()));
+
+            assertEquals(1.0, meterRegistry.get(HttpExchangeLog.EVENTS_COUNTER).tag("result", "dropped")
+                .counter().count());
+            assertEquals(1.0, meterRegistry.get(HttpExchangeLog.QUEUE_GAUGE).gauge().value());
+        } finally {
+            release.countDown();
+            log.close();
+        }
+        assertEquals(2, written.size());
+        assertTrue(written.get(0).startsWith("Upstream GET http://upstream/posts -> 200"));
+    }
+
+    private HttpExchangeEvent loggedEvent() {
+        final ArgumentCaptor<HttpExchangeEvent> captor = ArgumentCaptor.forClass(HttpExchangeEvent.class);
+        verify(exchangeLog).offer(captor.capture());
+        return captor.getValue();
+    }
+
+    private static MockClientHttpRequest request(final String path) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("http://upstream" + path));
+    }
+
+    private static HttpExchangeEvent event() {
+        return new HttpExchangeEvent("GET", URI.create("http://upstream/posts"), 200, 1_000_000, 2_000_000, null,
+            null, null, null);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OpenTelemetryConfigTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TracingProperties properties = new TracingProperties();
+    private final AtomicInteger exportRequests = new AtomicInteger();
+    private final CountDownLatch collectorRelease = new CountDownLatch(1);
+    private volatile boolean collectorBlocking;
+    private HttpServer collector;
+    private SdkTracerProvider tracerProvider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // In-process stand-in for an OTLP/HTTP collector
+        collector = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        collector.createContext("/v1/traces", this::handleExport);
+        collector.start();
+        properties.getExport().setProtocol(TracingProperties.Protocol.HTTP_PROTOBUF);
+        properties.getExport().setEndpoint("http://localhost:" + collector.getAddress().getPort() + "/v1/traces");
+        properties.getExport().getBatch().setScheduleDelay(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        collectorRelease.countDown();
+        if (tracerProvider != null) {
+            tracerProvider.shutdown().join(5, TimeUnit.SECONDS);
+        }
+        collector.stop(0);
+    }
+
+    @Test
+    void testExportsEndedSpansInBatches() {
+        final Tracer tracer = tracer();
+        for (int i = 0; i < 5; i++) {
+            tracer.spanBuilder("span-" + i).startSpan().end();
+        }
+
+        assertTrue(tracerProvider.forceFlush().join(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(5.0, spans("exported"));
+        assertTrue(exportRequests.get() >= 1);
+        assertEquals(0.0, registry.get(SpanExportMonitor.QUEUE_GAUGE).gauge().value());
+    }
+
+    @Test
+    void testTailSamplingKeepsFailedSpans() {
+        properties.getSampling().setTailRatio(0);
+        final Tracer tracer = tracer();
+        tracer.spanBuilder("ok").startSpan().end();
+        tracer.spanBuilder("failed").startSpan().setStatus(StatusCode.ERROR).end();
+
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        assertEquals(1.0, spans("exported"));
+        assertEquals(1.0, spans("sampled-out"));
+    }
+
+    @Test
+    void testTailRatioDecisionMatchesHeadSamplingAtTheSameRatio() {
+        final Random random = new Random(42);
+        for (final double ratio : new double[] {0.1, 0.5, 0.9}) {
+            final Sampler head = Sampler.traceIdRatioBased(ratio);
+            int kept = 0;
+            for (int i = 0; i < 10_000; i++) {
+                final String traceId = TraceId.fromLongs(random.nextLong(), random.nextLong());
+                final boolean sampled = head.shouldSample(Context.root(), traceId, "span", SpanKind.SERVER,
+                    Attributes.empty(), List.of()).getDecision() == SamplingDecision.RECORD_AND_SAMPLE;
+
+                assertEquals(sampled, SpanExportMonitor.keepByRatio(traceId, ratio), traceId);
+                kept += sampled ? 1 : 0;
+            }
+            assertEquals(ratio, kept / 10_000.0, 0.02);
+        }
+    }
+
+    @Test
+    void testHeadSamplingRatioZeroRecordsNothing() {
+        properties.getSampling().setRatio(0);
+        final Tracer tracer = tracer();
+        tracer.spanBuilder("unsampled").startSpan().end();
+
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        assertEquals(0.0, spans("exported"));
+        assertEquals(0, exportRequests.get());
+    }
+
+    @Test
+    void testDropsSpansWhileTheQueueIsFull() {
+        collectorBlocking = true;
+        properties.getExport().getBatch().setMaxQueueSize(2);
+        properties.getExport().getBatch().setMaxExportBatchSize(1);
+        final Tracer tracer = tracer();
+        for (int i = 0; i < 5; i++) {
+            tracer.spanBuilder("span-" + i).startSpan().end();
+        }
+
+        assertEquals(3.0, spans("dropped"));
+        collectorRelease.countDown();
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        assertEquals(2.0, spans("exported"));
+    }
+
+    private Tracer tracer() {
+        final OpenTelemetryConfig config = new OpenTelemetryConfig();
+        tracerProvider = config.sdkTracerProvider(properties, registry);
+        return tracerProvider.get("test");
+    }
+
+    private double spans(final String result) {
+        return registry.get(SpanExportMonitor.SPANS_COUNTER).tag("result", result).counter().count();
+    }
+
+    private void handleExport(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        if (collectorBlocking) {
+            try {
+                collectorRelease.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exportRequests.incrementAndGet();
+        exchange.getResponseHeaders().set("Content-Type", "application/x-protobuf");
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,104 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.audition.model.AuditionPost;
+import com.audition.service.AuditionService;
+import com.audition.store.TitleMatch;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * A served request is traced by Micrometer through the OpenTelemetry bridge and reaches the OTLP export pipeline.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TracingExportTest {
+
+    private static final AtomicInteger EXPORT_REQUESTS = new AtomicInteger();
+    private static final HttpServer COLLECTOR = startCollector();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SdkTracerProvider sdkTracerProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private AuditionService auditionService;
+
+    @DynamicPropertySource
+    static void tracingProperties(final DynamicPropertyRegistry registry) {
+        registry.add("application.tracing.export.enabled", () -> true);
+        registry.add("application.tracing.export.protocol", () -> "http-protobuf");
+        registry.add("application.tracing.export.endpoint",
+            () -> "http://localhost:" + COLLECTOR.getAddress().getPort() + "/v1/traces");
+        registry.add("application.tracing.sampling.ratio", () -> 1.0);
+        registry.add("application.tracing.sampling.tail-ratio", () -> 1.0);
+    }
+
+    @AfterAll
+    static void stopCollector() {
+        COLLECTOR.stop(0);
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testServedRequestIsExported() throws Exception {
+        when(auditionService.getPosts(null, TitleMatch.CONTAINS, false))
+            .thenReturn(List.of(new AuditionPost(1, 1, "Title1", "Content1")));
+
+        mockMvc.perform(get("/posts")).andExpect(status().isOk());
+
+        assertTrue(sdkTracerProvider.forceFlush().join(5, TimeUnit.SECONDS).isSuccess());
+        assertTrue(meterRegistry.get(SpanExportMonitor.SPANS_COUNTER).tag("result", "exported").counter().count() >= 1);
+        assertTrue(EXPORT_REQUESTS.get() >= 1);
+    }
+
+    private static HttpServer startCollector() {
+        try {
+            // In-process stand-in for an OTLP/HTTP collector
+            final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/v1/traces", TracingExportTest::handleExport);
+            server.start();
+            return server;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void handleExport(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        EXPORT_REQUESTS.incrementAndGet();
+        exchange.getResponseHeaders().set("Content-Type", "application/x-protobuf");
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,59 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+class VirtualThreadConfigurationTest {
+
+    private final VirtualThreadConfiguration configuration = new VirtualThreadConfiguration();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void testFailsFastWithoutVirtualThreadSupport() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThrows(IllegalStateException.class, () -> configuration.upstreamExecutor(new ThreadsProperties()));
+    }
+
+    @Test
+    void testUpstreamExecutorRunsOnVirtualThreadsWithCallerMdc() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        final SimpleAsyncTaskExecutor executor = configuration.upstreamExecutor(new ThreadsProperties());
+        MDC.put("traceId", "abc123");
+        final CompletableFuture<String> traceId = new CompletableFuture<>();
+        final CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+
+        executor.execute(() -> {
+            virtual.complete(VirtualThreads.isVirtual(Thread.currentThread()));
+            traceId.complete(MDC.get("traceId"));
+        });
+
+        assertTrue(virtual.get(5, TimeUnit.SECONDS));
+        assertEquals("abc123", traceId.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testVirtualThreadExecutorStartsOneThreadPerTask() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor(VirtualThreads.factory("test-vt-"));
+        final CompletableFuture<String> threadName = new CompletableFuture<>();
+
+        executor.execute(() -> threadName.complete(Thread.currentThread().getName()));
+
+        assertTrue(threadName.get(5, TimeUnit.SECONDS).startsWith("test-vt-"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+class WebServiceConfigurationTest {
+
+    private final WebServiceConfiguration configuration = new WebServiceConfiguration();
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ConnectionProperties();
+    }
+
+    @Test
+    void testPooledEngineIsDefault() {
+        final ClientHttpRequestFactory factory = configuration.upstreamRequestFactory(properties, meterRegistry);
+
+        assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, factory);
+    }
+
+    @Test
+    void testPooledEnginePublishesPoolMetrics() {
+        configuration.upstreamRequestFactory(properties, meterRegistry);
+
+        assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge());
+        assertNotNull(meterRegistry.find(MeteredConnectionManager.ACQUIRE_TIMER).timer());
+    }
+
+    @Test
+    void testSimpleEngineCanBeSelected() {
+        properties.setEngine(ConnectionProperties.Engine.SIMPLE);
+
+        final ClientHttpRequestFactory factory = configuration.upstreamRequestFactory(properties, meterRegistry);
+
+        assertInstanceOf(SimpleClientHttpRequestFactory.class, factory);
+    }
+}
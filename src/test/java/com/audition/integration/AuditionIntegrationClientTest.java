@@ -2,21 +2,49 @@ package com.audition.integration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
 import com.audition.model.AuditionPost;
 import com.audition.model.AuditionPostWithComments;
 import com.audition.model.PostComment;
+import com.audition.store.CompactComments;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 public class AuditionIntegrationClientTest {
@@ -24,6 +52,33 @@ public class AuditionIntegrationClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Spy
+    private SyncTaskExecutor upstreamExecutor = new SyncTaskExecutor();
+
+    @Spy
+    private UpstreamProperties upstreamProperties = new UpstreamProperties();
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
+
+    @Spy
+    private UpstreamResilience upstreamResilience = UpstreamResilienceTest.resilience(1);
+
+    @Spy
+    private UpstreamBalancer upstreamBalancer = new UpstreamBalancer(upstreamProperties, new SimpleMeterRegistry());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private UpstreamTimer upstreamTimer = new UpstreamTimer(meterRegistry);
+
+    @Spy
+    private UpstreamRevalidation upstreamRevalidation = new UpstreamRevalidation(upstreamProperties, meterRegistry);
+
     @InjectMocks
     private AuditionIntegrationClient auditionIntegrationClient;
 
@@ -32,15 +87,28 @@ public class AuditionIntegrationClientTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    private void stubResponse(final String url, final Object body) throws IOException {
+        final byte[] json = objectMapper.writeValueAsBytes(body);
+        when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+            .thenAnswer(invocation -> {
+                final ResponseExtractor<?> extractor = invocation.getArgument(3);
+                return extractor.extractData(new MockClientHttpResponse(json, HttpStatus.OK));
+            });
+    }
+
+    private void stubFailure(final String url, final RuntimeException exception) {
+        when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+            .thenThrow(exception);
+    }
+
     @Test
-    void testGetPostsWithTitle() {
+    void testGetPostsWithTitle() throws IOException {
         // Mock response
         AuditionPost post1 = new AuditionPost();
         post1.setTitle("Title 1");
         AuditionPost post2 = new AuditionPost();
         post2.setTitle("Title 2");
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts", AuditionPost[].class))
-            .thenReturn(new AuditionPost[]{post1, post2});
+        stubResponse("https://jsonplaceholder.typicode.com/posts", new AuditionPost[]{post1, post2});
 
         // Call method
         List<AuditionPost> posts = auditionIntegrationClient.getPosts("Title 1");
@@ -51,14 +119,13 @@ public class AuditionIntegrationClientTest {
     }
 
     @Test
-    void testGetPostsWithoutTitle() {
+    void testGetPostsWithoutTitle() throws IOException {
         // Mock response
         AuditionPost post1 = new AuditionPost();
         post1.setTitle("Title 1");
         AuditionPost post2 = new AuditionPost();
         post2.setTitle("Title 2");
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts", AuditionPost[].class))
-            .thenReturn(new AuditionPost[]{post1, post2});
+        stubResponse("https://jsonplaceholder.typicode.com/posts", new AuditionPost[]{post1, post2});
 
         // Call method
         List<AuditionPost> posts = auditionIntegrationClient.getPosts(null);
@@ -68,12 +135,11 @@ public class AuditionIntegrationClientTest {
     }
 
     @Test
-    void testGetPostById() {
+    void testGetPostById() throws IOException {
         // Mock response
         AuditionPost post = new AuditionPost();
         post.setId(1);
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
-            .thenReturn(post);
+        stubResponse("https://jsonplaceholder.typicode.com/posts/1", post);
 
         // Call method
         AuditionPost result = auditionIntegrationClient.getPostById("1");
@@ -86,24 +152,21 @@ public class AuditionIntegrationClientTest {
     @Test
     void testGetPostByIdException() {
         // Mock exception
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
-            .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        stubFailure("https://jsonplaceholder.typicode.com/posts/1", new HttpClientErrorException(HttpStatus.NOT_FOUND));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getPostById("1"));
     }
 
     @Test
-    void testGetPostsByIdWithComments() {
+    void testGetPostsByIdWithComments() throws IOException {
         // Mock responses
         AuditionPost post = new AuditionPost();
         post.setId(1);
         PostComment comment = new PostComment();
         comment.setPostId(1);
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
-            .thenReturn(post);
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1/comments", PostComment[].class))
-            .thenReturn(new PostComment[]{comment});
+        stubResponse("https://jsonplaceholder.typicode.com/posts/1", post);
+        stubResponse("https://jsonplaceholder.typicode.com/posts/1/comments", new PostComment[]{comment});
 
         // Call method
         AuditionPostWithComments result = auditionIntegrationClient.getPostsByIdWithComments("1");
@@ -116,14 +179,13 @@ public class AuditionIntegrationClientTest {
     }
 
     @Test
-    void testGetCommentsByPostId() {
+    void testGetCommentsByPostId() throws IOException {
         // Mock response
         PostComment comment1 = new PostComment();
         comment1.setPostId(1);
         PostComment comment2 = new PostComment();
         comment2.setPostId(1);
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/comments?postId=1", PostComment[].class))
-            .thenReturn(new PostComment[]{comment1, comment2});
+        stubResponse("https://jsonplaceholder.typicode.com/comments?postId=1", new PostComment[]{comment1, comment2});
 
         // Call method
         List<PostComment> comments = auditionIntegrationClient.getCommentsByPostId("1");
@@ -132,21 +194,117 @@ public class AuditionIntegrationClientTest {
         assertEquals(2, comments.size());
     }
 
+    @Test
+    void testGetComments() throws IOException {
+        stubResponse("https://jsonplaceholder.typicode.com/comments",
+            new PostComment[]{new PostComment(1, 1, "a", "a@x", "b"), new PostComment(2, 2, "c", "c@x", "d")});
+
+        assertEquals(2, auditionIntegrationClient.getComments().size());
+    }
+
     @Test
     void testGetCommentsByPostIdException() {
         // Mock exception
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/comments?postId=1", PostComment[].class))
-            .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        stubFailure("https://jsonplaceholder.typicode.com/comments?postId=1", new HttpClientErrorException(HttpStatus.NOT_FOUND));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getCommentsByPostId("1"));
     }
 
+    @Test
+    void testTimesUpstreamAttemptsByOperationAndStatus() throws IOException {
+        AuditionPost post = new AuditionPost();
+        post.setId(1);
+        stubResponse("https://jsonplaceholder.typicode.com/posts/1", post);
+        stubFailure("https://jsonplaceholder.typicode.com/comments?postId=1", new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        auditionIntegrationClient.getPostById("1");
+        assertThrows(SystemException.class, () -> auditionIntegrationClient.getCommentsByPostId("1"));
+
+        assertEquals(1, meterRegistry.get(UpstreamTimer.REQUESTS_TIMER)
+            .tags("operation", UpstreamResilience.POST_BY_ID, "outcome", "SUCCESS", "status", "200")
+            .timer().count());
+        assertEquals(1, meterRegistry.get(UpstreamTimer.REQUESTS_TIMER)
+            .tags("operation", UpstreamResilience.COMMENTS_BY_POST_ID, "outcome", "CLIENT_ERROR", "status", "404")
+            .tag("exception", "HttpClientErrorException")
+            .timer().count());
+    }
+
+    @Test
+    void testRevalidatesWithETagAndReusesDecodedValueOnNotModified() throws IOException {
+        AuditionPost post = new AuditionPost();
+        post.setId(1);
+        final byte[] json = objectMapper.writeValueAsBytes(post);
+        final List<String> ifNoneMatch = new ArrayList<>();
+        when(restTemplate.execute(eq("https://jsonplaceholder.typicode.com/posts/1"), eq(HttpMethod.GET),
+            any(RequestCallback.class), any(ResponseExtractor.class)))
+            .thenAnswer(invocation -> {
+                final MockClientHttpRequest request = new MockClientHttpRequest();
+                invocation.<RequestCallback>getArgument(2).doWithRequest(request);
+                final String validator = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+                ifNoneMatch.add(String.valueOf(validator));
+                final MockClientHttpResponse response = validator == null
+                    ? new MockClientHttpResponse(json, HttpStatus.OK)
+                    : new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+                response.getHeaders().setETag("\"v1\"");
+                return invocation.<ResponseExtractor<?>>getArgument(3).extractData(response);
+            });
+
+        AuditionPost first = auditionIntegrationClient.getPostById("1");
+        AuditionPost second = auditionIntegrationClient.getPostById("1");
+
+        assertSame(first, second);
+        assertEquals(List.of("null", "\"v1\""), ifNoneMatch);
+        assertEquals(1.0, meterRegistry.get(UpstreamRevalidation.REVALIDATIONS_COUNTER)
+            .tag("result", "not-modified").counter().count());
+        assertEquals(json.length, meterRegistry.get(UpstreamRevalidation.BYTES_SAVED_COUNTER).counter().count());
+    }
+
+    @Test
+    void testCompactsCommentsBeforeRevalidationKeepsThem() throws IOException {
+        final byte[] json = objectMapper.writeValueAsBytes(
+            new PostComment[]{new PostComment(1, 1, "a", "a@x", "b"), new PostComment(1, 2, "c", "c@x", "d")});
+        when(restTemplate.execute(eq("https://jsonplaceholder.typicode.com/comments?postId=1"), eq(HttpMethod.GET),
+            any(RequestCallback.class), any(ResponseExtractor.class)))
+            .thenAnswer(invocation -> {
+                final MockClientHttpRequest request = new MockClientHttpRequest();
+                invocation.<RequestCallback>getArgument(2).doWithRequest(request);
+                final MockClientHttpResponse response = request.getHeaders().getIfNoneMatch().isEmpty()
+                    ? new MockClientHttpResponse(json, HttpStatus.OK)
+                    : new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+                response.getHeaders().setETag("\"v1\"");
+                return invocation.<ResponseExtractor<?>>getArgument(3).extractData(response);
+            });
+
+        final List<PostComment> first = auditionIntegrationClient.getCommentsByPostId("1");
+        final List<PostComment> second = auditionIntegrationClient.getCommentsByPostId("1");
+
+        // The value kept for the 304 is the compact store itself, not a bean list compacted later by the caller
+        assertSame(first, second);
+        assertSame(CompactComments.of(first), CompactComments.of(second));
+        assertEquals(List.of(new PostComment(1, 1, "a", "a@x", "b"), new PostComment(1, 2, "c", "c@x", "d")), first);
+        assertThrows(UnsupportedOperationException.class, () -> first.get(0).setBody("x"));
+    }
+
+    @Test
+    void testGetPostsByIdWithCommentsReturnsCompactComments() throws IOException {
+        AuditionPost post = new AuditionPost();
+        post.setId(1);
+        stubResponse("https://jsonplaceholder.typicode.com/posts/1", post);
+        stubResponse("https://jsonplaceholder.typicode.com/posts/1/comments",
+            new PostComment[]{new PostComment(1, 1, "a", "a@x", "b")});
+
+        final List<PostComment> comments = auditionIntegrationClient.getPostsByIdWithComments("1").getComments();
+
+        assertEquals(List.of(new PostComment(1, 1, "a", "a@x", "b")), comments);
+        assertSame(CompactComments.of(comments), CompactComments.of(comments));
+        assertThrows(UnsupportedOperationException.class, () -> comments.get(0).setBody("x"));
+    }
+
     @Test
     void testGetPostsHandlesHttpClientErrorException() {
         // Mock exception
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts", AuditionPost[].class))
-            .thenThrow(new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        stubFailure("https://jsonplaceholder.typicode.com/posts", new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getPosts(null));
@@ -155,24 +313,21 @@ public class AuditionIntegrationClientTest {
     @Test
     void testGetPostByIdHandlesHttpClientErrorException() {
         // Mock exception
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
-            .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        stubFailure("https://jsonplaceholder.typicode.com/posts/1", new HttpClientErrorException(HttpStatus.NOT_FOUND));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getPostById("1"));
     }
 
     @Test
-    void testGetPostsByIdWithCommentsHandlesHttpClientErrorException() {
+    void testGetPostsByIdWithCommentsHandlesHttpClientErrorException() throws IOException {
         // Mock response for post
         AuditionPost post = new AuditionPost();
         post.setId(1);
 
         // Mock exceptions
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
-            .thenReturn(post);
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1/comments", PostComment[].class))
-            .thenThrow(new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        stubResponse("https://jsonplaceholder.typicode.com/posts/1", post);
+        stubFailure("https://jsonplaceholder.typicode.com/posts/1/comments", new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getPostsByIdWithComments("1"));
@@ -181,8 +336,7 @@ public class AuditionIntegrationClientTest {
     @Test
     void testGetCommentsByPostIdHandlesHttpClientErrorException() {
         // Mock exception
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/comments?postId=1", PostComment[].class))
-            .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        stubFailure("https://jsonplaceholder.typicode.com/comments?postId=1", new HttpClientErrorException(HttpStatus.BAD_REQUEST));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getCommentsByPostId("1"));
@@ -191,8 +345,7 @@ public class AuditionIntegrationClientTest {
     @Test
     void testGetPostsHandlesUnexpectedException() {
         // Mock unexpected exception
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts", AuditionPost[].class))
-            .thenThrow(new RuntimeException("Unexpected error"));
+        stubFailure("https://jsonplaceholder.typicode.com/posts", new RuntimeException("Unexpected error"));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getPosts(null));
@@ -201,24 +354,21 @@ public class AuditionIntegrationClientTest {
     @Test
     void testGetPostByIdHandlesUnexpectedException() {
         // Mock unexpected exception
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
-            .thenThrow(new SystemException("Unexpected error"));
+        stubFailure("https://jsonplaceholder.typicode.com/posts/1", new SystemException("Unexpected error"));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getPostById("1"));
     }
 
     @Test
-    void testGetPostsByIdWithCommentsHandlesUnexpectedException() {
+    void testGetPostsByIdWithCommentsHandlesUnexpectedException() throws IOException {
         // Mock response for post
         AuditionPost post = new AuditionPost();
         post.setId(1);
 
         // Mock unexpected exceptions
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
-            .thenReturn(post);
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1/comments", PostComment[].class))
-            .thenThrow(new SystemException("Unexpected error"));
+        stubResponse("https://jsonplaceholder.typicode.com/posts/1", post);
+        stubFailure("https://jsonplaceholder.typicode.com/posts/1/comments", new SystemException("Unexpected error"));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getPostsByIdWithComments("1"));
@@ -227,10 +377,99 @@ public class AuditionIntegrationClientTest {
     @Test
     void testGetCommentsByPostIdHandlesUnexpectedException() {
         // Mock unexpected exception
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/comments?postId=1", PostComment[].class))
-            .thenThrow(new SystemException("Unexpected error"));
+        stubFailure("https://jsonplaceholder.typicode.com/comments?postId=1", new SystemException("Unexpected error"));
 
         // Call method and verify exception
         assertThrows(SystemException.class, () -> auditionIntegrationClient.getCommentsByPostId("1"));
     }
+
+    @Test
+    void testParseArrayStreamsAndFilters() throws IOException {
+        final String json = "[{\"id\":1,\"title\":\"keep me\"},{\"id\":2,\"title\":\"drop\"},"
+            + "{\"id\":3,\"title\":\"keep too\",\"unknown\":[1,2]}]";
+
+        final List<AuditionPost> posts = auditionIntegrationClient.parseArray(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), AuditionPost.class,
+            post -> post.getTitle().startsWith("keep"));
+
+        assertEquals(2, posts.size());
+        assertEquals(3, posts.get(1).getId());
+    }
+
+    @Test
+    void testParseArrayOfEmptyBodyReturnsEmptyList() throws IOException {
+        final List<AuditionPost> posts = auditionIntegrationClient.parseArray(
+            new ByteArrayInputStream(new byte[0]), AuditionPost.class, post -> true);
+
+        assertEquals(0, posts.size());
+    }
+
+    @Test
+    void testParseArrayRejectsNonArray() {
+        assertThrows(IOException.class, () -> auditionIntegrationClient.parseArray(
+            new ByteArrayInputStream("{\"id\":1}".getBytes(StandardCharsets.UTF_8)), AuditionPost.class,
+            post -> true));
+    }
+
+    @Test
+    void testParseArrayRejectsMixedArrays() {
+        for (final String json : List.of("[{\"id\":1},null,{\"id\":3}]", "[{\"id\":1},2]", "[{\"id\":1}",
+            "[{\"id\":1}] {\"id\":2}")) {
+            assertThrows(MismatchedInputException.class, () -> auditionIntegrationClient.parseArray(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), AuditionPost.class, post -> true),
+                json);
+        }
+    }
+
+    @Test
+    void testGetPostsByIdWithCommentsFetchesConcurrently() {
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(auditionIntegrationClient, "upstreamExecutor", pool);
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final AuditionPost post = new AuditionPost(1, 1, "Title", "Body");
+        final PostComment[] comments = {new PostComment(1, 1, "name", "email", "body")};
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class),
+            any(ResponseExtractor.class)))
+            .thenAnswer(invocation -> {
+                bothStarted.countDown();
+                if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Post and comments were not fetched concurrently");
+                }
+                final String url = invocation.getArgument(0);
+                final Object body = url.endsWith("/comments") ? comments : post;
+                final ResponseExtractor<?> extractor = invocation.getArgument(3);
+                return extractor.extractData(
+                    new MockClientHttpResponse(objectMapper.writeValueAsBytes(body), HttpStatus.OK));
+            });
+
+        try {
+            final AuditionPostWithComments result = auditionIntegrationClient.getPostsByIdWithComments("1");
+
+            assertEquals("Title", result.getTitle());
+            assertEquals(1, result.getComments().size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGetPostsByIdWithCommentsTimesOut() {
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(auditionIntegrationClient, "upstreamExecutor", pool);
+        upstreamProperties.setFanOutTimeout(Duration.ofMillis(50));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class),
+            any(ResponseExtractor.class)))
+            .thenAnswer(invocation -> {
+                Thread.sleep(2_000);
+                return null;
+            });
+
+        try {
+            final SystemException thrown = assertThrows(SystemException.class,
+                () -> auditionIntegrationClient.getPostsByIdWithComments("1"));
+            assertEquals(HttpStatus.GATEWAY_TIMEOUT, thrown.getStatusCode());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,118 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.UpstreamProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.PostComment;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ReactiveAuditionIntegrationClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Map<String, Mono<ClientResponse>> responses = new HashMap<>();
+    private final UpstreamProperties upstreamProperties = new UpstreamProperties();
+    private ReactiveAuditionIntegrationClient client;
+
+    @BeforeEach
+    void setUp() {
+        final WebClient webClient = WebClient.builder()
+            .exchangeStrategies(ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper)))
+                .build())
+            .exchangeFunction(request -> responses.getOrDefault(request.url().getPath()
+                    + (request.url().getQuery() == null ? "" : "?" + request.url().getQuery()),
+                Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).body("{}").build())))
+            .build();
+        client = new ReactiveAuditionIntegrationClient();
+        ReflectionTestUtils.setField(client, "webClient", webClient);
+        ReflectionTestUtils.setField(client, "upstreamProperties", upstreamProperties);
+        ReflectionTestUtils.setField(client, "upstreamResilience", UpstreamResilienceTest.resilience(1));
+        ReflectionTestUtils.setField(client, "upstreamBalancer",
+            new UpstreamBalancer(upstreamProperties, new SimpleMeterRegistry()));
+    }
+
+    private void stubResponse(final String path, final Object body) throws Exception {
+        responses.put(path, Mono.just(ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(objectMapper.writeValueAsString(body))
+            .build()));
+    }
+
+    @Test
+    void testGetPostsFiltersByTitle() throws Exception {
+        stubResponse("/posts", List.of(new AuditionPost(1, 1, "Title1", "Body1"),
+            new AuditionPost(1, 2, "Other", "Body2")));
+
+        StepVerifier.create(client.getPosts("Title"))
+            .expectNextMatches(post -> post.getId() == 1)
+            .verifyComplete();
+    }
+
+    @Test
+    void testGetPostById() throws Exception {
+        stubResponse("/posts/1", new AuditionPost(1, 1, "Title1", "Body1"));
+
+        StepVerifier.create(client.getPostById("1"))
+            .expectNextMatches(post -> "Title1".equals(post.getTitle()))
+            .verifyComplete();
+    }
+
+    @Test
+    void testGetPostByIdNotFoundMapsToSystemException() {
+        StepVerifier.create(client.getPostById("404"))
+            .expectErrorMatches(ex -> ex instanceof SystemException systemException
+                && HttpStatus.NOT_FOUND.equals(systemException.getStatusCode()))
+            .verify();
+    }
+
+    @Test
+    void testGetPostsByIdWithComments() throws Exception {
+        stubResponse("/posts/1", new AuditionPost(1, 1, "Title1", "Body1"));
+        stubResponse("/posts/1/comments", List.of(new PostComment(1, 1, "Name", "email@test.com", "Body")));
+
+        StepVerifier.create(client.getPostsByIdWithComments("1"))
+            .expectNextMatches(post -> post.getId() == 1 && post.getComments().size() == 1)
+            .verifyComplete();
+    }
+
+    @Test
+    void testGetPostsByIdWithCommentsTimesOut() throws Exception {
+        upstreamProperties.setFanOutTimeout(Duration.ofMillis(50));
+        stubResponse("/posts/1", new AuditionPost(1, 1, "Title1", "Body1"));
+        responses.put("/posts/1/comments", Mono.never());
+
+        StepVerifier.create(client.getPostsByIdWithComments("1"))
+            .expectErrorMatches(ex -> ex instanceof SystemException systemException
+                && HttpStatus.GATEWAY_TIMEOUT.equals(systemException.getStatusCode()))
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testGetCommentsByPostId() throws Exception {
+        stubResponse("/comments?postId=1", List.of(new PostComment(1, 1, "Name", "email@test.com", "Body"),
+            new PostComment(1, 2, "Name", "email@test.com", "Body")));
+
+        StepVerifier.create(client.getCommentsByPostId("1"))
+            .expectNextCount(2)
+            .verifyComplete();
+    }
+}
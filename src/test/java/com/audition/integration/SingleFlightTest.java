@@ -0,0 +1,122 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallsShareOneUpstreamCall() throws Exception {
+        final AtomicInteger upstreamCalls = new AtomicInteger();
+        final CountDownLatch leaderStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<String> leader = executor.submit(() -> singleFlight.execute("getPostById", "1", () -> {
+            upstreamCalls.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "post";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        final Future<String> follower = executor.submit(() -> singleFlight.execute("getPostById", "1", () -> {
+            upstreamCalls.incrementAndGet();
+            return "other";
+        }));
+        waitForCoalesced(1);
+        release.countDown();
+
+        assertEquals("post", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("post", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void testFollowersReceiveTheLeadersException() throws Exception {
+        final SystemException failure = new SystemException("Upstream down");
+        final CountDownLatch leaderStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<Object> leader = executor.submit(() -> singleFlight.execute("getPostById", "1", () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        final Future<Object> follower = executor.submit(() -> singleFlight.execute("getPostById", "1", () -> "post"));
+        waitForCoalesced(1);
+        release.countDown();
+
+        assertSame(failure, assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+    }
+
+    @Test
+    void testSequentialCallsAreNotCoalesced() {
+        final AtomicInteger upstreamCalls = new AtomicInteger();
+
+        singleFlight.execute("getPostById", "1", upstreamCalls::incrementAndGet);
+        singleFlight.execute("getPostById", "1", upstreamCalls::incrementAndGet);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void testDifferentKeysAreNotCoalesced() {
+        assertEquals("1", singleFlight.execute("getPostById", "1", () -> "1"));
+        assertEquals("2", singleFlight.execute("getPostById", "2", () -> "2"));
+    }
+
+    private void waitForCoalesced(final double expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, coalesced());
+    }
+
+    private double coalesced() {
+        final var counter = meterRegistry.find(SingleFlight.COALESCED_COUNTER).tag("operation", "getPostById")
+            .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.configuration.UpstreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class UpstreamBalancerTest {
+
+    private static final String PRIMARY = "http://primary:8080";
+    private static final String SECONDARY = "http://secondary:8080";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private UpstreamProperties properties;
+    private UpstreamBalancer balancer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UpstreamProperties();
+        properties.setEndpoints(new ArrayList<>(List.of(PRIMARY, SECONDARY)));
+        properties.getBalancing().setFailureThreshold(2);
+        properties.getBalancing().setEjectionDuration(Duration.ofSeconds(30));
+        balancer = new UpstreamBalancer(properties, meterRegistry, nanoTime::get);
+    }
+
+    @Test
+    void testFallsBackToBaseUrlWithoutEndpoints() {
+        properties.setEndpoints(new ArrayList<>());
+
+        assertEquals(UpstreamProperties.DEFAULT_BASE_URL, balancer.call(baseUrl -> baseUrl));
+    }
+
+    @Test
+    void testRoundRobinAlternatesEndpoints() {
+        final List<String> chosen = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            chosen.add(balancer.call(baseUrl -> baseUrl));
+        }
+
+        assertEquals(2, chosen.stream().filter(PRIMARY::equals).count());
+        assertEquals(2, chosen.stream().filter(SECONDARY::equals).count());
+    }
+
+    @Test
+    void testFailingEndpointIsEjectedUntilTheEjectionDurationPasses() {
+        failOn(PRIMARY, 2);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(SECONDARY, balancer.call(baseUrl -> baseUrl));
+        }
+        assertEquals(1.0, meterRegistry.get(UpstreamBalancer.EJECTIONS_COUNTER).tag("endpoint", "primary:8080")
+            .counter().count());
+
+        nanoTime.addAndGet(Duration.ofSeconds(31).toNanos());
+        final List<String> chosen = new ArrayList<>();
+        chosen.add(balancer.call(baseUrl -> baseUrl));
+        chosen.add(balancer.call(baseUrl -> baseUrl));
+        assertTrue(chosen.contains(PRIMARY));
+    }
+
+    @Test
+    void testClientErrorsDoNotEject() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientErrorException.class, () -> balancer.call(baseUrl -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals(0.0, meterRegistry.get(UpstreamBalancer.EJECTIONS_COUNTER).tag("endpoint", "primary:8080")
+            .counter().count());
+    }
+
+    @Test
+    void testSlowCallsEject() {
+        properties.getBalancing().setSlowCallThreshold(Duration.ofMillis(100));
+        for (int i = 0; i < 4; i++) {
+            balancer.call(baseUrl -> nanoTime.addAndGet(Duration.ofMillis(200).toNanos()));
+        }
+
+        assertTrue(balancer.endpoints().stream().allMatch(endpoint -> endpoint.isEjected(nanoTime.get())));
+        // With every endpoint ejected calls still go through rather than failing
+        assertTrue(List.of(PRIMARY, SECONDARY).contains(balancer.call(baseUrl -> baseUrl)));
+    }
+
+    @Test
+    void testLeastOutstandingAvoidsBusyEndpoint() {
+        properties.getBalancing().setStrategy(UpstreamProperties.Strategy.LEAST_OUTSTANDING);
+
+        final String nested = balancer.call(outer -> {
+            final String inner = balancer.call(baseUrl -> baseUrl);
+            assertNotEquals(outer, inner);
+            return inner;
+        });
+
+        assertTrue(List.of(PRIMARY, SECONDARY).contains(nested));
+    }
+
+    @Test
+    void testLatencyWeightedPrefersFasterEndpoint() {
+        properties.getBalancing().setStrategy(UpstreamProperties.Strategy.LATENCY_WEIGHTED);
+        properties.getBalancing().setSlowCallThreshold(Duration.ofMinutes(1));
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            final String chosen = balancer.call(baseUrl -> {
+                nanoTime.addAndGet(Duration.ofMillis(PRIMARY.equals(baseUrl) ? 5 : 200).toNanos());
+                return baseUrl;
+            });
+            counts.merge(chosen, 1, Integer::sum);
+        }
+
+        assertTrue(counts.getOrDefault(PRIMARY, 0) > 10 * counts.getOrDefault(SECONDARY, 0), counts.toString());
+    }
+
+    @Test
+    void testRecordsLatencyPerEndpoint() {
+        balancer.call(baseUrl -> nanoTime.addAndGet(Duration.ofMillis(10).toNanos()));
+        balancer.call(baseUrl -> nanoTime.addAndGet(Duration.ofMillis(10).toNanos()));
+
+        assertEquals(1, meterRegistry.get(UpstreamBalancer.LATENCY_TIMER).tag("endpoint", "primary:8080")
+            .tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(UpstreamBalancer.LATENCY_TIMER).tag("endpoint", "secondary:8080")
+            .tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testPicksUpChangedEndpointsAndKeepsState() {
+        failOn(PRIMARY, 2);
+        properties.setEndpoints(new ArrayList<>(List.of(PRIMARY, SECONDARY, "http://tertiary:8080")));
+
+        assertEquals(3, balancer.endpoints().size());
+        assertTrue(balancer.endpoints().get(0).isEjected(nanoTime.get()));
+    }
+
+    @Test
+    void testRemovesMetersOfDroppedEndpointsAndRebindsThemWhenReadded() {
+        failOn(SECONDARY, 2);
+        assertEquals(1.0, meterRegistry.get(UpstreamBalancer.EJECTIONS_COUNTER).tag("endpoint", "secondary:8080")
+            .counter().count());
+
+        properties.setEndpoints(new ArrayList<>(List.of(PRIMARY)));
+        balancer.call(baseUrl -> baseUrl);
+
+        assertNull(meterRegistry.find(UpstreamBalancer.OUTSTANDING_GAUGE).tag("endpoint", "secondary:8080").gauge());
+        assertNull(meterRegistry.find(UpstreamBalancer.EJECTIONS_COUNTER).tag("endpoint", "secondary:8080")
+            .counter());
+        assertTrue(meterRegistry.find(UpstreamBalancer.LATENCY_TIMER).tag("endpoint", "secondary:8080").meters()
+            .isEmpty());
+        assertNotNull(meterRegistry.find(UpstreamBalancer.OUTSTANDING_GAUGE).tag("endpoint", "primary:8080").gauge());
+
+        properties.setEndpoints(new ArrayList<>(List.of(PRIMARY, SECONDARY)));
+        balancer.endpoints();
+
+        // Fresh meters bound to the new endpoint's state, not the dropped one's
+        assertEquals(0.0, meterRegistry.get(UpstreamBalancer.EJECTIONS_COUNTER).tag("endpoint", "secondary:8080")
+            .counter().count());
+        assertEquals(0.0, meterRegistry.get(UpstreamBalancer.EJECTED_GAUGE).tag("endpoint", "secondary:8080")
+            .gauge().value());
+        assertEquals(0.0, meterRegistry.get(UpstreamBalancer.OUTSTANDING_GAUGE).tag("endpoint", "secondary:8080")
+            .gauge().value());
+    }
+
+    @Test
+    void testReactiveCallsAreBalancedPerSubscription() {
+        final Mono<String> call = balancer.mono(Mono::just);
+
+        StepVerifier.create(call.concatWith(call))
+            .expectNext(PRIMARY, SECONDARY)
+            .verifyComplete();
+        assertTrue(balancer.endpoints().stream().allMatch(endpoint -> endpoint.outstanding() == 0));
+    }
+
+    private void failOn(final String failing, final int calls) {
+        int failures = 0;
+        while (failures < calls) {
+            try {
+                balancer.call(baseUrl -> {
+                    if (failing.equals(baseUrl)) {
+                        throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+                    }
+                    return baseUrl;
+                });
+            } catch (final HttpServerErrorException ex) {
+                failures++;
+            }
+        }
+    }
+}
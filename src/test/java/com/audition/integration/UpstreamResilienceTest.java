@@ -0,0 +1,156 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class UpstreamResilienceTest {
+
+    private static final Duration OPEN_STATE_WAIT = Duration.ofSeconds(30);
+
+    /**
+     * Resilience with the production failure predicate, no retry backoff and a single bulkhead permit.
+     */
+    static UpstreamResilience resilience(final int maxAttempts) {
+        final TransientUpstreamFailure transientFailure = new TransientUpstreamFailure();
+        return new UpstreamResilience(
+            CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .waitDurationInOpenState(OPEN_STATE_WAIT)
+                .recordException(transientFailure)
+                .build()),
+            BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build()),
+            RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .waitDuration(Duration.ofMillis(1))
+                .retryOnException(transientFailure)
+                .build()));
+    }
+
+    @Test
+    void testRetriesTransientFailures() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final String result = resilience(3).call("postById", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+            }
+            return "post";
+        });
+
+        assertEquals("post", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testDoesNotRetryClientErrors() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.class, () -> resilience(3).call("postById", () -> {
+            attempts.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testOpenBreakerFailsFastWithRetryAfter() {
+        final UpstreamResilience resilience = resilience(1);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResourceAccessException.class, () -> resilience.call("posts", () -> {
+                throw new ResourceAccessException("Connection refused");
+            }));
+        }
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final UpstreamUnavailableException thrown = assertThrows(UpstreamUnavailableException.class,
+            () -> resilience.call("posts", attempts::incrementAndGet));
+
+        assertEquals(0, attempts.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, thrown.getStatusCode());
+        assertEquals(OPEN_STATE_WAIT, thrown.getRetryAfter());
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenTheBreaker() {
+        final UpstreamResilience resilience = resilience(1);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpClientErrorException.class, () -> resilience.call("postById", () -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals("post", resilience.call("postById", () -> "post"));
+    }
+
+    @Test
+    void testFullBulkheadFailsFast() throws Exception {
+        final UpstreamResilience resilience = resilience(1);
+        final CountDownLatch inside = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> resilience.call("comments", () -> {
+                inside.countDown();
+                await(release);
+                return "first";
+            }));
+            assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+            final UpstreamUnavailableException thrown = assertThrows(UpstreamUnavailableException.class,
+                () -> resilience.call("comments", () -> "second"));
+            assertEquals(Duration.ofSeconds(1), thrown.getRetryAfter());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testReactiveCallFailsFastWhenBreakerIsOpen() {
+        final UpstreamResilience resilience = resilience(1);
+        final CircuitBreakerRegistry registry = (CircuitBreakerRegistry) ReflectionTestUtils.getField(resilience,
+            "circuitBreakerRegistry");
+        registry.circuitBreaker("postById").transitionToForcedOpenState();
+
+        StepVerifier.create(resilience.decorate("postById", Mono.just("post")))
+            .expectError(UpstreamUnavailableException.class)
+            .verify();
+        assertEquals(CircuitBreaker.State.FORCED_OPEN, registry.circuitBreaker("postById").getState());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
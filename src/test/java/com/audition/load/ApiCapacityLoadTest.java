@@ -0,0 +1,167 @@
+package com.audition.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.AuditionApplication;
+import com.audition.configuration.ApiMode;
+import com.audition.configuration.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Compares how many concurrent requests the blocking and reactive API modes, and on Java 21 the blocking mode on
+ * virtual threads, sustain on the same servlet thread budget. A local stub stands in for the upstream with a fixed
+ * latency, every request asks for a distinct post so neither the cache nor request coalescing helps, and all requests
+ * are fired at once. Run with {@code ./gradlew loadTest} (add {@code -PjavaVersion=21} for the virtual thread run);
+ * the summary is written to {@code build/reports/load/api-capacity.txt}.
+ */
+@Tag("load")
+class ApiCapacityLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 400;
+    private static final int SERVLET_THREADS = 32;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(200);
+    private static final String USER = "load";
+    private static final String PASSWORD = "load";
+    private static final String VIRTUAL_THREAD_PINNED_TIMER = "jvm.threads.virtual.pinned";
+
+    private static UpstreamStub upstream;
+
+    @BeforeAll
+    static void startUpstream() throws IOException {
+        upstream = UpstreamStub.start(UPSTREAM_LATENCY, 0, 1, CONCURRENT_REQUESTS);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @Test
+    void testReactiveModeSustainsMoreConcurrentRequestsThanBlocking() throws IOException {
+        final RunResult blocking = run(ApiMode.BLOCKING, false);
+        final RunResult reactive = run(ApiMode.REACTIVE, false);
+
+        final List<String> lines = new ArrayList<>(List.of(
+            "requests=" + CONCURRENT_REQUESTS + " servletThreads=" + SERVLET_THREADS
+                + " upstreamLatencyMs=" + UPSTREAM_LATENCY.toMillis(),
+            blocking.toString(), reactive.toString()));
+        if (VirtualThreads.isSupported()) {
+            final RunResult virtual = run(ApiMode.BLOCKING, true);
+            lines.add(virtual.toString());
+            assertEquals(CONCURRENT_REQUESTS, virtual.succeeded());
+        }
+        final String report = String.join(System.lineSeparator(), lines);
+        final Path reportFile = Path.of("build", "reports", "load", "api-capacity.txt");
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, report + System.lineSeparator());
+        System.out.println(report);
+
+        assertEquals(CONCURRENT_REQUESTS, blocking.succeeded());
+        assertEquals(CONCURRENT_REQUESTS, reactive.succeeded());
+        assertTrue(reactive.requestsPerSecond() > blocking.requestsPerSecond(),
+            "reactive mode should complete more requests per second than blocking mode on the same thread budget");
+    }
+
+    private RunResult run(final String mode, final boolean virtualThreads) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AuditionApplication.class)
+            .properties(
+                "server.port=0",
+                "server.tomcat.threads.max=" + SERVLET_THREADS,
+                "server.tomcat.threads.min-spare=" + SERVLET_THREADS,
+                "spring.security.user.name=" + USER,
+                "spring.security.user.password=" + PASSWORD,
+                "application.api.mode=" + mode,
+                "application.threads.virtual=" + virtualThreads,
+                "application.upstream.base-url=" + upstream.baseUrl(),
+                "application.cache.enabled=false",
+                "application.post-store.enabled=false",
+                "application.connection.max-total=" + CONCURRENT_REQUESTS,
+                "application.connection.max-per-route=" + CONCURRENT_REQUESTS,
+                "application.connection.pool-acquire-timeout=30s",
+                "application.connection.read-timeout=30s")
+            .run()) {
+            final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            final WebClient loadClient = loadClient(port);
+            // Warm up connection pools and JIT before measuring
+            fire(loadClient, 0, SERVLET_THREADS);
+
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            threads.resetPeakThreadCount();
+            final long start = System.nanoTime();
+            final long succeeded = fire(loadClient, SERVLET_THREADS, CONCURRENT_REQUESTS);
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return new RunResult(virtualThreads ? mode + "+virtual-threads" : mode, succeeded, elapsed,
+                threads.getPeakThreadCount(), memory.getHeapMemoryUsage().getUsed(), pinnedMillis(context));
+        }
+    }
+
+    private static long pinnedMillis(final ConfigurableApplicationContext context) {
+        final Timer pinned = context.getBean(MeterRegistry.class).find(VIRTUAL_THREAD_PINNED_TIMER).timer();
+        return pinned == null ? 0 : (long) pinned.totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    private static WebClient loadClient(final int port) {
+        final ConnectionProvider connections = ConnectionProvider.builder("load")
+            .maxConnections(CONCURRENT_REQUESTS)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        return WebClient.builder()
+            .baseUrl("http://localhost:" + port)
+            .defaultHeaders(headers -> headers.setBasicAuth(USER, PASSWORD))
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+            .build();
+    }
+
+    private static long fire(final WebClient loadClient, final int firstId, final int count) {
+        final Long succeeded = Flux.range(firstId, count)
+            .flatMap(id -> loadClient.get().uri("/posts/{id}", id + 1)
+                .retrieve()
+                .toBodilessEntity()
+                .map(response -> 1)
+                .onErrorReturn(0), count)
+            .filter(value -> value == 1)
+            .count()
+            .block(Duration.ofMinutes(2));
+        return succeeded == null ? 0 : succeeded;
+    }
+
+    private record RunResult(String mode, long succeeded, Duration elapsed, int peakThreads, long heapUsedBytes,
+                             long pinnedMillis) {
+
+        double requestsPerSecond() {
+            return succeeded * 1000.0 / Math.max(1, elapsed.toMillis());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("mode=%s succeeded=%d elapsedMs=%d requestsPerSecond=%.1f peakThreads=%d heapUsedMb=%d"
+                    + " pinnedMs=%d", mode, succeeded, elapsed.toMillis(), requestsPerSecond(), peakThreads,
+                heapUsedBytes / (1024 * 1024), pinnedMillis);
+        }
+    }
+}
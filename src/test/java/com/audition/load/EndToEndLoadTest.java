@@ -0,0 +1,214 @@
+package com.audition.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.audition.AuditionApplication;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Drives {@code /posts}, {@code /posts/{id}}, {@code /posts/{id}/comments} and {@code /comments} at a fixed request
+ * rate against the application booted on a local {@link UpstreamStub}, so it needs no network access. Requests are
+ * started on schedule regardless of how many are outstanding and latency is measured from the scheduled start, so a
+ * stalled server shows up in the percentiles instead of lowering the offered load.
+ *
+ * <p>Tunable with Gradle properties, e.g. {@code ./gradlew loadTest --tests '*EndToEndLoadTest'
+ * -Pload.rps=500 -Pload.duration=60s -Pload.latency=100ms -Pload.errorRate=0.02 -Pload.payloadSize=500}. Add
+ * {@code -Pload.cache=true} to keep the local cache on and {@code -Pload.mode=reactive} for the reactive API mode. The
+ * summary is written to {@code build/reports/load/end-to-end.txt} with one {@code .hgrm} percentile distribution per
+ * endpoint next to it.
+ */
+@Tag("load")
+class EndToEndLoadTest {
+
+    private static final String USER = "load";
+    private static final String PASSWORD = "load";
+    private static final int DISTINCT_POSTS = 100;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Path REPORT_DIR = Path.of("build", "reports", "load");
+
+    private final int rps = Integer.getInteger("load.rps", 200);
+    private final Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "20s"));
+    private final Duration latency = DurationStyle.detectAndParse(System.getProperty("load.latency", "50ms"));
+    private final double errorRate = Double.parseDouble(System.getProperty("load.errorRate", "0"));
+    private final int payloadSize = Integer.getInteger("load.payloadSize", 100);
+    private final boolean cache = Boolean.parseBoolean(System.getProperty("load.cache", "false"));
+    private final String mode = System.getProperty("load.mode", "blocking");
+
+    private final List<Endpoint> endpoints = List.of(
+        new Endpoint("posts", i -> "/posts"),
+        new Endpoint("post-by-id", i -> "/posts/" + postId(i)),
+        new Endpoint("post-with-comments", i -> "/posts/" + postId(i) + "/comments"),
+        new Endpoint("comments", i -> "/comments?postId=" + postId(i)));
+
+    @Test
+    void testSustainsTargetRate() throws Exception {
+        final int total = (int) (rps * duration.toSeconds());
+        final ExecutorService clientExecutor = Executors.newFixedThreadPool(8);
+        try (UpstreamStub upstream = UpstreamStub.start(latency, errorRate, payloadSize, 1024);
+             ConfigurableApplicationContext context = start(upstream)) {
+            final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+            // Warm up connection pools and JIT before measuring
+            drive(client, port, Math.min(total, rps), rps);
+            endpoints.forEach(Endpoint::reset);
+
+            final long start = System.nanoTime();
+            final long answered = drive(client, port, total, rps);
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            final List<String> report = report(total, elapsed, upstream.requests());
+            Files.writeString(REPORT_DIR.resolve("end-to-end.txt"),
+                String.join(System.lineSeparator(), report) + System.lineSeparator());
+            report.forEach(System.out::println);
+
+            assertEquals(total, answered, "every request should get a response");
+            if (errorRate == 0) {
+                assertEquals(0, endpoints.stream().mapToLong(endpoint -> endpoint.errors.get()).sum());
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private ConfigurableApplicationContext start(final UpstreamStub upstream) {
+        return new SpringApplicationBuilder(AuditionApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.security.user.name=" + USER,
+                "spring.security.user.password=" + PASSWORD,
+                "application.api.mode=" + mode,
+                "application.upstream.base-url=" + upstream.baseUrl(),
+                "application.cache.enabled=" + cache,
+                "application.post-store.enabled=false",
+                "application.connection.read-timeout=30s")
+            .run();
+    }
+
+    /**
+     * Fires {@code count} requests round-robin over the endpoints at {@code rate} per second and waits for all of
+     * them; returns how many got an HTTP response.
+     */
+    private long drive(final HttpClient client, final int port, final int count, final int rate) throws Exception {
+        final String authorization = "Basic " + Base64.getEncoder()
+            .encodeToString((USER + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        final List<CompletableFuture<Boolean>> responses = new ArrayList<>(count);
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            final long scheduled = start + i * intervalNanos;
+            final long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            final Endpoint endpoint = endpoints.get(i % endpoints.size());
+            final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + endpoint.path(i)))
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    endpoint.record(System.nanoTime() - scheduled, failure != null || response.statusCode() >= 400);
+                    return failure == null;
+                }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+            .get(REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS);
+        return responses.stream().filter(CompletableFuture::join).count();
+    }
+
+    private List<String> report(final int total, final Duration elapsed, final long upstreamRequests)
+        throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format("mode=%s targetRps=%d durationS=%d upstreamLatencyMs=%d upstreamErrorRate=%.3f"
+                + " payloadSize=%d cache=%s", mode, rps, duration.toSeconds(), latency.toMillis(), errorRate,
+            payloadSize, cache));
+        lines.add(String.format("requests=%d elapsedMs=%d throughputRps=%.1f upstreamRequests=%d", total,
+            elapsed.toMillis(), total * 1000.0 / Math.max(1, elapsed.toMillis()), upstreamRequests));
+        lines.add(String.format("%-20s %8s %8s %8s %9s %9s %9s %9s %9s", "endpoint", "requests", "errors",
+            "error%", "p50ms", "p90ms", "p99ms", "p99.9ms", "maxms"));
+        for (final Endpoint endpoint : endpoints) {
+            final Histogram histogram = endpoint.latencies;
+            final long requests = histogram.getTotalCount();
+            lines.add(String.format("%-20s %8d %8d %8.2f %9.1f %9.1f %9.1f %9.1f %9.1f", endpoint.name, requests,
+                endpoint.errors.get(), endpoint.errors.get() * 100.0 / Math.max(1, requests),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(REPORT_DIR.resolve(endpoint.name + ".hgrm")),
+                false, StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        return lines;
+    }
+
+    private static int postId(final int sequence) {
+        return sequence % DISTINCT_POSTS + 1;
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+
+        private final String name;
+        private final IntFunction<String> path;
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+
+        Endpoint(final String name, final IntFunction<String> path) {
+            this.name = name;
+            this.path = path;
+        }
+
+        String path(final int sequence) {
+            return path.apply(sequence);
+        }
+
+        void record(final long latencyNanos, final boolean error) {
+            latencies.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            if (error) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void reset() {
+            latencies.reset();
+            errors.set(0);
+        }
+    }
+}
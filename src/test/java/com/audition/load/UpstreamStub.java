@@ -0,0 +1,126 @@
+package com.audition.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Local stand-in for the jsonplaceholder upstream serving {@code /posts}, {@code /posts/{id}},
+ * {@code /posts/{id}/comments} and {@code /comments?postId=}. Every response is delayed by a fixed latency, a share
+ * of requests fails with a 500, and list responses carry a configurable number of items.
+ */
+final class UpstreamStub implements AutoCloseable {
+
+    private static final String BODY = "quia et suscipit suscipit recusandae consequuntur expedita et cum reprehenderit";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Duration latency;
+    private final double errorRate;
+    private final int payloadSize;
+    private final AtomicLong requests = new AtomicLong();
+
+    private UpstreamStub(final Duration latency, final double errorRate, final int payloadSize, final int backlog)
+        throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.payloadSize = payloadSize;
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), backlog);
+        server.setExecutor(executor);
+        server.createContext("/posts", this::handlePosts);
+        server.createContext("/comments", exchange -> respond(exchange, comments(queryId(exchange))));
+    }
+
+    static UpstreamStub start(final Duration latency, final double errorRate, final int payloadSize,
+        final int backlog) throws IOException {
+        final UpstreamStub stub = new UpstreamStub(latency, errorRate, payloadSize, backlog);
+        stub.server.start();
+        return stub;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handlePosts(final HttpExchange exchange) throws IOException {
+        final String[] segments = exchange.getRequestURI().getPath().split("/");
+        if (segments.length <= 2) {
+            respond(exchange, posts());
+        } else if (segments.length == 3) {
+            respond(exchange, post(Integer.parseInt(segments[2])));
+        } else {
+            respond(exchange, comments(Integer.parseInt(segments[2])));
+        }
+    }
+
+    private void respond(final HttpExchange exchange, final String json) throws IOException {
+        requests.incrementAndGet();
+        sleep(latency);
+        final boolean fail = errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+        final byte[] body = (fail ? "{\"error\":\"stubbed failure\"}" : json).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+        exchange.sendResponseHeaders(fail ? 500 : 200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String posts() {
+        final StringBuilder json = new StringBuilder("[");
+        for (int id = 1; id <= payloadSize; id++) {
+            json.append(id > 1 ? "," : "").append(post(id));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String post(final int id) {
+        return "{\"userId\":" + ((id - 1) / 10 + 1) + ",\"id\":" + id + ",\"title\":\"title " + id
+            + "\",\"body\":\"" + BODY + "\"}";
+    }
+
+    private String comments(final int postId) {
+        final StringBuilder json = new StringBuilder("[");
+        for (int id = 1; id <= payloadSize; id++) {
+            json.append(id > 1 ? "," : "").append("{\"postId\":").append(postId).append(",\"id\":").append(id)
+                .append(",\"name\":\"comment ").append(id).append("\",\"email\":\"user").append(id)
+                .append("@example.com\",\"body\":\"").append(BODY).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static int queryId(final HttpExchange exchange) {
+        final String query = exchange.getRequestURI().getQuery();
+        return query == null || !query.startsWith("postId=") ? 1 : Integer.parseInt(query.substring("postId=".length()));
+    }
+
+    private static void sleep(final Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
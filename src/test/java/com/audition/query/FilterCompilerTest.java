@@ -0,0 +1,122 @@
+package com.audition.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import com.audition.model.AuditionPost;
+import com.audition.model.PostComment;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class FilterCompilerTest {
+
+    private final FilterCompiler<AuditionPost> posts = new FilterCompiler<>(FilterFields.POSTS);
+    private final FilterCompiler<PostComment> comments = new FilterCompiler<>(FilterFields.COMMENTS);
+    private final List<AuditionPost> fixtures = List.of(
+        new AuditionPost(1, 1, "sunt aut facere", "quia et suscipit"),
+        new AuditionPost(1, 2, "qui est esse", "est rerum tempore"),
+        new AuditionPost(2, 3, "ea molestias quasi", "et iusto sed quo"),
+        new AuditionPost(3, 4, "eum et est occaecati", null));
+
+    @Test
+    void testComparisons() {
+        assertEquals(List.of(3), ids("userId eq 2"));
+        assertEquals(List.of(1, 2, 4), ids("userId in (3, 1)"));
+        assertEquals(List.of(2, 3, 4), ids("title contains 'est'"));
+        assertEquals(List.of(2), ids("title prefix 'qui'"));
+        assertEquals(List.of(1, 3), ids("body regex '^(quia|et) '"));
+        assertEquals(List.of(2), ids("title eq 'qui est esse'"));
+        assertEquals(List.of(1, 3), ids("title in ('sunt aut facere', 'ea molestias quasi')"));
+    }
+
+    @Test
+    void testAndBindsTighterThanOr() {
+        assertEquals(List.of(1, 2, 3), ids("userId eq 2 or userId eq 1 and title contains 'e'"));
+        assertEquals(List.of(2, 3), ids("(userId eq 2 or userId eq 1) and title contains 'qu'"));
+        assertEquals(List.of(3, 4), ids("NOT userId eq 1"));
+        assertEquals(List.of(1, 2), ids("not not userId eq 1"));
+        assertEquals(List.of(4), ids("not body contains 'e' and not userId in (1, 2)"));
+    }
+
+    @Test
+    void testFlattensAndOrdersByCost() {
+        final Predicate<AuditionPost> filter = posts.compile(
+            "body regex 'q' and (title contains 'e' and userId eq 1)");
+
+        final FilterNode.And<?> and = assertInstanceOf(FilterNode.And.class, filter);
+        assertEquals(3, and.children().length);
+        assertInstanceOf(FilterNode.NumberEquals.class, and.children()[0]);
+        assertInstanceOf(FilterNode.Regex.class, and.children()[2]);
+    }
+
+    @Test
+    void testKeepsCompiledFilterByExpression() {
+        assertSame(posts.compile("userId eq 1"), posts.compile("userId eq 1"));
+    }
+
+    @Test
+    void testEmailDomain() {
+        final Predicate<PostComment> filter = comments.compile("email domain 'Example.com'");
+
+        assertTrue(filter.test(new PostComment(1, 1, "name", "Eliseo@example.COM", "body")));
+        assertFalse(filter.test(new PostComment(1, 2, "name", "eliseo@mail.example.com", "body")));
+        assertFalse(filter.test(new PostComment(1, 3, "name", null, "body")));
+    }
+
+    @Test
+    void testEscapedQuote() {
+        final Predicate<AuditionPost> filter = posts.compile("title contains 'it''s'");
+
+        assertTrue(filter.test(new AuditionPost(1, 1, "it's", "")));
+    }
+
+    @Test
+    void testRejectsInvalidExpressions() {
+        assertBadRequest("password eq 'x'", "unknown field 'password'");
+        assertBadRequest("userId contains 1", "numbers support eq");
+        assertBadRequest("userId eq 'x'", "expected numbers");
+        assertBadRequest("title eq 1", "expected quoted text");
+        assertBadRequest("title domain 'example.com'", "domain only applies to email fields");
+        assertBadRequest("title regex '('", "invalid regex");
+        assertBadRequest("title contains 'open", "unterminated text");
+        assertBadRequest("(userId eq 1", "expected ')'");
+        assertBadRequest("userId eq 1 userId", "unexpected input");
+        assertBadRequest("title like 'x'", "unknown operator 'like'");
+        assertBadRequest("title contains '" + "x".repeat(FilterCompiler.MAX_LENGTH) + "'", "must not be longer");
+    }
+
+    @Test
+    void testAbortsCatastrophicBacktracking() {
+        // The JDK memoizes (\w+\s?)+$ itself, but not a bounded repetition or nested groups of the same loop
+        final AuditionPost post = new AuditionPost(1, 1, "title", "a".repeat(30) + "!");
+        for (final String regex : List.of("(\\w+\\s?){1,40}$", "((\\w+\\s?)+)+$")) {
+            final Predicate<AuditionPost> filter = posts.compile("body regex '" + regex + "'");
+
+            final SystemException e = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(SystemException.class, () -> filter.test(post)));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+            assertTrue(e.getMessage().contains("too expensive"), e.getMessage());
+            assertTrue(filter.test(new AuditionPost(1, 2, "title", "quia et suscipit")));
+        }
+        assertFalse(posts.compile("body regex '(\\w+\\s?)+$'").test(post));
+    }
+
+    private List<Integer> ids(final String expression) {
+        return FilterCompiler.filter(fixtures, posts.compile(expression)).stream().map(AuditionPost::getId).toList();
+    }
+
+    private void assertBadRequest(final String expression, final String message) {
+        final SystemException e = assertThrows(SystemException.class, () -> posts.compile(expression));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+}
@@ -3,14 +3,26 @@ package com.audition.service;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.audition.common.cache.AuditionCache;
+import com.audition.common.cache.AuditionCacheProperties;
 import com.audition.common.exception.SystemException;
+import com.audition.configuration.BatchProperties;
 import com.audition.integration.AuditionIntegrationClient;
 import com.audition.model.AuditionPost;
 import com.audition.model.AuditionPostWithComments;
+import com.audition.model.BatchPostResult;
 import com.audition.model.PostComment;
+import com.audition.store.PostStore;
+import com.audition.store.TitleMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,13 +30,28 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 
 class AuditionServiceTest {
 
     @Mock
     private AuditionIntegrationClient auditionIntegrationClient;
 
+    @Spy
+    private AuditionCache auditionCache = new AuditionCache(new AuditionCacheProperties(), new SimpleMeterRegistry());
+
+    @Mock
+    private PostStore postStore;
+
+    @Spy
+    private SyncTaskExecutor upstreamExecutor = new SyncTaskExecutor();
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
     @InjectMocks
     private AuditionService auditionService;
 
@@ -43,6 +70,27 @@ class AuditionServiceTest {
         verify(auditionIntegrationClient).getPosts("title");
     }
 
+    @Test
+    void testGetPostsServedFromStoreWhenReady() {
+        final List<AuditionPost> expectedPosts = List.of(new AuditionPost(1, 1, "Title", "Body"));
+        when(postStore.isReady()).thenReturn(true);
+        when(postStore.search("tit", TitleMatch.PREFIX, true)).thenReturn(expectedPosts);
+
+        assertEquals(expectedPosts, auditionService.getPosts("tit", TitleMatch.PREFIX, true));
+        verify(auditionIntegrationClient, never()).getPosts("tit");
+    }
+
+    @Test
+    void testGetPostsPrefixFallsBackToFullListBeforeStoreIsReady() {
+        when(auditionIntegrationClient.getPosts(null)).thenReturn(List.of(
+            new AuditionPost(1, 1, "Title one", "Body"), new AuditionPost(1, 2, "Other title", "Body")));
+
+        final List<AuditionPost> posts = auditionService.getPosts("title", TitleMatch.PREFIX, true);
+
+        assertEquals(1, posts.size());
+        assertEquals(1, posts.get(0).getId());
+    }
+
     @Test
     void testGetPostById() {
         AuditionPost expectedPost = new AuditionPost();
@@ -100,4 +148,72 @@ class AuditionServiceTest {
         assertEquals("postId must be a valid integer", thrown.getMessage());
         assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPostsBatchDeduplicatesAndReportsFailuresPerId() {
+        when(auditionIntegrationClient.getPostById("1")).thenReturn(new AuditionPost(1, 1, "Title1", "Body1"));
+        when(auditionIntegrationClient.getPostById("2")).thenThrow(
+            new SystemException("Post not found", HttpStatus.NOT_FOUND));
+        final List<BatchPostResult> results = new ArrayList<>();
+
+        auditionService.getPostsBatch(List.of(1, 2, 1), false, ex -> ProblemDetail.forStatus(404), results::add);
+
+        assertEquals(2, results.size());
+        assertEquals("Title1", results.get(0).getPost().getTitle());
+        assertNull(results.get(1).getPost());
+        assertEquals(404, results.get(1).getError().getStatus());
+        verify(auditionIntegrationClient, times(1)).getPostById("1");
+    }
+
+    @Test
+    void testGetPostsBatchUsesBulkCommentsAboveThreshold() {
+        batchProperties.setBulkCommentsThreshold(2);
+        when(auditionIntegrationClient.getPostById("1")).thenReturn(new AuditionPost(1, 1, "Title1", "Body1"));
+        when(auditionIntegrationClient.getPostById("2")).thenReturn(new AuditionPost(1, 2, "Title2", "Body2"));
+        when(auditionIntegrationClient.getComments()).thenReturn(List.of(
+            new PostComment(1, 10, "name", "email", "body"), new PostComment(2, 20, "name", "email", "body")));
+        final List<BatchPostResult> results = new ArrayList<>();
+
+        auditionService.getPostsBatch(List.of(1, 2), true, ex -> ProblemDetail.forStatus(500), results::add);
+
+        assertEquals(2, results.size());
+        final AuditionPostWithComments first = assertInstanceOf(AuditionPostWithComments.class,
+            results.get(0).getPost());
+        assertEquals(10, first.getComments().get(0).getId());
+        verify(auditionIntegrationClient, never()).getCommentsByPostId("1");
+    }
+
+    @Test
+    void testGetPostsBatchFallsBackToPerPostCommentsWhenBulkCallFails() {
+        batchProperties.setBulkCommentsThreshold(2);
+        when(auditionIntegrationClient.getPostById("1")).thenReturn(new AuditionPost(1, 1, "Title1", "Body1"));
+        when(auditionIntegrationClient.getPostById("2")).thenReturn(new AuditionPost(1, 2, "Title2", "Body2"));
+        when(auditionIntegrationClient.getComments()).thenThrow(new SystemException("Upstream down"));
+        when(auditionIntegrationClient.getCommentsByPostId("1"))
+            .thenReturn(List.of(new PostComment(1, 10, "name", "email", "body")));
+        when(auditionIntegrationClient.getCommentsByPostId("2"))
+            .thenReturn(List.of(new PostComment(2, 20, "name", "email", "body")));
+        final List<BatchPostResult> results = new ArrayList<>();
+
+        auditionService.getPostsBatch(List.of(1, 2), true, ex -> ProblemDetail.forStatus(500), results::add);
+
+        assertEquals(2, results.size());
+        results.forEach(result -> assertInstanceOf(AuditionPostWithComments.class, result.getPost()));
+        verify(auditionIntegrationClient).getCommentsByPostId("1");
+        verify(auditionIntegrationClient).getCommentsByPostId("2");
+    }
+
+    @Test
+    void testValidBatchIdsRejectsOversizedBatch() {
+        batchProperties.setMaxIds(1);
+
+        final SystemException thrown = assertThrows(SystemException.class,
+            () -> auditionService.validBatchIds(List.of(1, 2)));
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+    }
+
+    @Test
+    void testValidBatchIdsRejectsEmptyBatch() {
+        assertThrows(SystemException.class, () -> auditionService.validBatchIds(List.of()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.audition.service;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.cache.AuditionCache;
+import com.audition.common.cache.AuditionCacheProperties;
+import com.audition.common.cache.CacheNames;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.BatchProperties;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.AuditionPostWithComments;
+import com.audition.model.PostComment;
+import com.audition.store.PostStore;
+import com.audition.store.TitleMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ReactiveAuditionServiceTest {
+
+    @Mock
+    private ReactiveAuditionIntegrationClient reactiveAuditionIntegrationClient;
+
+    @Spy
+    private AuditionCache auditionCache = new AuditionCache(cacheProperties(), new SimpleMeterRegistry());
+
+    @Mock
+    private PostStore postStore;
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
+    @InjectMocks
+    private ReactiveAuditionService reactiveAuditionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private static AuditionCacheProperties cacheProperties() {
+        final AuditionCacheProperties properties = new AuditionCacheProperties();
+        properties.setSpecs(Map.of(CacheNames.POST, new AuditionCacheProperties.Spec()));
+        return properties;
+    }
+
+    @Test
+    void testGetPostByIdIsCachedAfterFirstCall() {
+        when(reactiveAuditionIntegrationClient.getPostById("1"))
+            .thenReturn(Mono.just(new AuditionPost(1, 1, "Title1", "Body1")));
+
+        StepVerifier.create(reactiveAuditionService.getPostById("1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(reactiveAuditionService.getPostById("1")).expectNextCount(1).verifyComplete();
+
+        verify(reactiveAuditionIntegrationClient, times(1)).getPostById("1");
+    }
+
+    @Test
+    void testGetPostsServedFromStoreWhenReady() {
+        when(postStore.isReady()).thenReturn(true);
+        when(postStore.search("tit", TitleMatch.PREFIX, true))
+            .thenReturn(List.of(new AuditionPost(1, 1, "Title", "Body")));
+
+        StepVerifier.create(reactiveAuditionService.getPosts("tit", TitleMatch.PREFIX, true))
+            .expectNextCount(1)
+            .verifyComplete();
+        verify(reactiveAuditionIntegrationClient, never()).getPosts("tit");
+    }
+
+    @Test
+    void testGetPostsPrefixFiltersFullListBeforeStoreIsReady() {
+        when(reactiveAuditionIntegrationClient.getPosts(null)).thenReturn(Flux.just(
+            new AuditionPost(1, 1, "Title one", "Body"), new AuditionPost(1, 2, "Other title", "Body")));
+
+        StepVerifier.create(reactiveAuditionService.getPosts("title", TitleMatch.PREFIX, true))
+            .expectNextMatches(post -> post.getId() == 1)
+            .verifyComplete();
+    }
+
+    @Test
+    void testGetPostsBatchReportsFailuresPerId() {
+        when(reactiveAuditionIntegrationClient.getPostById("1"))
+            .thenReturn(Mono.just(new AuditionPost(1, 1, "Title1", "Body1")));
+        when(reactiveAuditionIntegrationClient.getPostById("2"))
+            .thenReturn(Mono.error(new SystemException("Post not found", HttpStatus.NOT_FOUND)));
+
+        StepVerifier.create(reactiveAuditionService.getPostsBatch(List.of(1, 2), false,
+                ex -> ProblemDetail.forStatus(404)).collectList())
+            .expectNextMatches(results -> results.size() == 2
+                && results.stream().anyMatch(result -> result.getId() == 1 && result.getPost() != null)
+                && results.stream().anyMatch(result -> result.getId() == 2 && result.getError().getStatus() == 404))
+            .verifyComplete();
+    }
+
+    @Test
+    void testGetPostsBatchUsesBulkCommentsAboveThreshold() {
+        batchProperties.setBulkCommentsThreshold(1);
+        when(reactiveAuditionIntegrationClient.getPostById("1"))
+            .thenReturn(Mono.just(new AuditionPost(1, 1, "Title1", "Body1")));
+        when(reactiveAuditionIntegrationClient.getComments())
+            .thenReturn(Flux.just(new PostComment(1, 10, "name", "email", "body")));
+
+        StepVerifier.create(reactiveAuditionService.getPostsBatch(List.of(1), true, ex -> ProblemDetail.forStatus(500)))
+            .expectNextMatches(result -> result.getPost() instanceof AuditionPostWithComments withComments
+                && withComments.getComments().get(0).getId() == 10)
+            .verifyComplete();
+        verify(reactiveAuditionIntegrationClient, never()).getCommentsByPostId("1");
+    }
+
+    @Test
+    void testGetPostsBatchFallsBackToPerPostCommentsWhenBulkCallFails() {
+        batchProperties.setBulkCommentsThreshold(1);
+        when(reactiveAuditionIntegrationClient.getPostById("1"))
+            .thenReturn(Mono.just(new AuditionPost(1, 1, "Title1", "Body1")));
+        when(reactiveAuditionIntegrationClient.getComments())
+            .thenReturn(Flux.error(new SystemException("Upstream down")));
+        when(reactiveAuditionIntegrationClient.getCommentsByPostId("1"))
+            .thenReturn(Flux.just(new PostComment(1, 10, "name", "email", "body")));
+
+        StepVerifier.create(reactiveAuditionService.getPostsBatch(List.of(1), true, ex -> ProblemDetail.forStatus(500)))
+            .expectNextMatches(result -> result.getPost() instanceof AuditionPostWithComments withComments
+                && withComments.getComments().get(0).getId() == 10)
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,79 @@
+package com.audition.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.PostComment;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompactCommentsTest {
+
+    private final List<PostComment> comments = List.of(
+        new PostComment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium enim quasi"),
+        new PostComment(1, 2, "quo vero reiciendis", "Jayne_Kuhic@sydney.com", "est natus enim nihil ü"),
+        new PostComment(2, 3, "id labore ex et quam laborum", "Eliseo@gardner.biz", ""),
+        new PostComment(null, null, null, null, null));
+
+    @Test
+    void testViewsMatchTheOriginalComments() {
+        final List<PostComment> compact = CompactComments.compact(comments);
+
+        assertEquals(comments, compact);
+        assertEquals(comments.get(1).hashCode(), compact.get(1).hashCode());
+        assertEquals("est natus enim nihil ü", compact.get(1).getBody());
+        assertEquals("", compact.get(2).getBody());
+        assertNull(compact.get(3).getPostId());
+        assertNull(compact.get(3).getBody());
+    }
+
+    @Test
+    void testSerializesLikeTheOriginalComments() throws JsonProcessingException {
+        final ObjectMapper objectMapper = new WebServiceConfiguration().objectMapper();
+
+        assertEquals(objectMapper.writeValueAsString(comments),
+            objectMapper.writeValueAsString(CompactComments.compact(comments)));
+    }
+
+    @Test
+    void testDeduplicatesNamesAndEmails() {
+        final CompactComments compact = CompactComments.of(comments);
+
+        assertEquals(2, compact.names().values().size());
+        assertEquals(2, compact.emails().values().size());
+    }
+
+    @Test
+    void testTakesLessHeapThanTheBeans() {
+        final List<PostComment> many = new ArrayList<>();
+        for (int id = 1; id <= 1000; id++) {
+            many.add(new PostComment(id / 5 + 1, id, "name " + id % 50, "user" + id % 50 + "@example.com",
+                "quia et suscipit suscipit recusandae consequuntur expedita et cum " + id));
+        }
+        // A PostComment with two boxed ids and three strings of this size takes over 250 bytes
+        assertTrue(CompactComments.of(many).estimatedBytes() < 120L * many.size());
+    }
+
+    @Test
+    void testViewsAreReadOnly() {
+        final PostComment view = CompactComments.compact(comments).get(0);
+
+        assertThrows(UnsupportedOperationException.class, () -> view.setBody("changed"));
+        assertThrows(IndexOutOfBoundsException.class, () -> CompactComments.of(comments).get(4));
+    }
+
+    @Test
+    void testCompactingCompactRowsReusesTheStore() {
+        final CompactComments store = CompactComments.of(comments);
+
+        assertSame(store, CompactComments.of(store.asList()));
+        assertEquals(store, CompactComments.of(store.asList().subList(0, store.size())));
+    }
+}
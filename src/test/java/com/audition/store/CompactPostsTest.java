@@ -0,0 +1,54 @@
+package com.audition.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompactPostsTest {
+
+    private final List<AuditionPost> posts = List.of(
+        new AuditionPost(1, 1, "sunt aut facere", "quia et suscipit"),
+        new AuditionPost(1, 2, "qui est esse", null),
+        new AuditionPost(2, 3, null, "et iusto sed quo"));
+
+    @Test
+    void testViewsReadTheColumns() {
+        final List<AuditionPost> compact = CompactPosts.of(posts).asList();
+
+        assertEquals(3, compact.size());
+        assertEquals(2, compact.get(2).getUserId());
+        assertEquals(3, compact.get(2).getId());
+        assertEquals("qui est esse", compact.get(1).getTitle());
+        assertNull(compact.get(1).getBody());
+        assertNull(compact.get(2).getTitle());
+        assertThrows(UnsupportedOperationException.class, () -> compact.get(0).setTitle("changed"));
+    }
+
+    @Test
+    void testSerializesLikeTheOriginalPosts() throws JsonProcessingException {
+        final ObjectMapper objectMapper = new WebServiceConfiguration().objectMapper();
+
+        assertEquals(objectMapper.writeValueAsString(posts),
+            objectMapper.writeValueAsString(CompactPosts.of(posts).asList()));
+    }
+
+    @Test
+    void testEqualByContent() {
+        assertEquals(CompactPosts.of(posts), CompactPosts.of(List.of(
+            new AuditionPost(1, 1, "sunt aut facere", "quia et suscipit"),
+            new AuditionPost(1, 2, "qui est esse", null),
+            new AuditionPost(2, 3, null, "et iusto sed quo"))));
+        assertNotEquals(CompactPosts.of(posts), CompactPosts.of(posts.subList(0, 2)));
+        // An empty title is not the same as a missing one
+        assertNotEquals(CompactPosts.of(posts), CompactPosts.of(List.of(posts.get(0), posts.get(1),
+            new AuditionPost(2, 3, "", "et iusto sed quo"))));
+    }
+}
@@ -0,0 +1,93 @@
+package com.audition.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.cache.ContentVersion;
+import com.audition.common.exception.SystemException;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class PostStoreTest {
+
+    private AuditionIntegrationClient client;
+    private SimpleMeterRegistry meterRegistry;
+    private PostStore postStore;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(AuditionIntegrationClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        postStore = new PostStore(client, new PostStoreProperties(), mock(TaskScheduler.class), meterRegistry);
+    }
+
+    @Test
+    void testNotReadyBeforeFirstRefresh() {
+        assertFalse(postStore.isReady());
+    }
+
+    @Test
+    void testRefreshSwapsInSearchableSnapshot() {
+        when(client.getPosts(null)).thenReturn(List.of(new AuditionPost(1, 1, "Hello world", "body")));
+
+        postStore.refresh();
+
+        assertTrue(postStore.isReady());
+        assertEquals(1, postStore.search("world", TitleMatch.CONTAINS, false).size());
+        assertEquals(1.0, meterRegistry.get("audition.post.store.size").gauge().value());
+    }
+
+    @Test
+    void testFailedRefreshKeepsPreviousSnapshot() {
+        when(client.getPosts(null))
+            .thenReturn(List.of(new AuditionPost(1, 1, "Hello world", "body")))
+            .thenThrow(new SystemException("Upstream down"));
+
+        postStore.refresh();
+        postStore.refresh();
+
+        assertEquals(1, postStore.getPosts().size());
+        assertEquals("Upstream down", postStore.describe().get("lastError"));
+        assertEquals(1.0, meterRegistry.get("audition.post.store.refresh.failures").counter().count());
+    }
+
+    @Test
+    void testRefreshKeepsContentVersionWhilePostsAreUnchanged() {
+        when(client.getPosts(null))
+            .thenReturn(List.of(new AuditionPost(1, 1, "Hello world", "body")))
+            .thenReturn(List.of(new AuditionPost(1, 1, "Hello world", "body")))
+            .thenReturn(List.of(new AuditionPost(1, 1, "Hello there", "body")));
+
+        postStore.refresh();
+        final long first = versionOfPosts();
+        postStore.refresh();
+        final long unchanged = versionOfPosts();
+        postStore.refresh();
+
+        assertEquals(first, unchanged);
+        assertNotEquals(first, versionOfPosts());
+        assertEquals("Hello there", postStore.getPosts().get(0).getTitle());
+    }
+
+    private long versionOfPosts() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            postStore.getPosts();
+            return ContentVersion.current().orElseThrow().version();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.audition.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.PostComment;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotFileTest {
+
+    private static final Instant SAVED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final List<AuditionPost> posts = List.of(
+        new AuditionPost(1, 1, "sunt aut facere", "quia et suscipit"),
+        new AuditionPost(1, 2, null, "est rerum tempore ü"),
+        new AuditionPost(2, 3, "ea molestias", ""));
+    private final List<PostComment> comments = List.of(
+        new PostComment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium enim quasi"),
+        new PostComment(1, 2, "quo vero reiciendis", null, "est natus enim nihil"),
+        new PostComment(2, 3, "id labore ex et quam laborum", "Eliseo@gardner.biz", null),
+        new PostComment(null, null, null, null, "odio adipisci"));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReadsBackWhatWasWritten() throws IOException {
+        final Path path = directory.resolve("nested/post-store.snapshot");
+
+        final long size = SnapshotFile.write(path, contents());
+        final SnapshotFile.Contents read = SnapshotFile.read(path);
+
+        assertEquals(Files.size(path), size);
+        assertEquals(42L, read.version());
+        assertEquals(SAVED_AT, read.savedAt());
+        assertEquals(posts, read.posts().asList());
+        assertEquals(comments, read.comments().asList());
+        assertEquals(CompactPosts.of(posts), read.posts());
+        assertEquals(CompactComments.of(comments), read.comments());
+    }
+
+    @Test
+    void testMappedColumnsOutliveTheFileBeingReplaced() throws IOException {
+        final Path path = directory.resolve("post-store.snapshot");
+        SnapshotFile.write(path, contents());
+        final SnapshotFile.Contents read = SnapshotFile.read(path);
+
+        SnapshotFile.write(path, new SnapshotFile.Contents(CompactPosts.of(List.of()), CompactComments.of(List.of()),
+            43L, SAVED_AT));
+
+        assertEquals(posts, read.posts().asList());
+        assertEquals(0, SnapshotFile.read(path).posts().size());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testRejectsCorruptAndTruncatedFiles() throws IOException {
+        final Path path = directory.resolve("post-store.snapshot");
+        SnapshotFile.write(path, contents());
+        final byte[] bytes = Files.readAllBytes(path);
+
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> SnapshotFile.read(path));
+
+        Files.write(path, Arrays.copyOf(bytes, 40));
+        assertThrows(IOException.class, () -> SnapshotFile.read(path));
+
+        Files.write(path, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> SnapshotFile.read(path));
+    }
+
+    private SnapshotFile.Contents contents() {
+        return new SnapshotFile.Contents(CompactPosts.of(posts), CompactComments.of(comments), 42L, SAVED_AT);
+    }
+}
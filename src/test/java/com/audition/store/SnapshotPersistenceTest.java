@@ -0,0 +1,146 @@
+package com.audition.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.cache.AuditionCache;
+import com.audition.common.cache.AuditionCacheProperties;
+import com.audition.common.cache.CacheNames;
+import com.audition.common.exception.SystemException;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.PostComment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.TaskScheduler;
+
+class SnapshotPersistenceTest {
+
+    private final List<AuditionPost> posts = List.of(
+        new AuditionPost(1, 1, "sunt aut facere", "quia et suscipit"),
+        new AuditionPost(1, 2, "qui est esse", "est rerum tempore"));
+    private final List<PostComment> comments = List.of(
+        new PostComment(2, 3, "odio adipisci", "Nikita@garfield.biz", "quia molestiae"),
+        new PostComment(1, 1, "id labore ex et quam laborum", "Eliseo@gardner.biz", "laudantium enim quasi"),
+        new PostComment(1, 2, "quo vero reiciendis", "Jayne_Kuhic@sydney.com", "est natus enim nihil"));
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private AuditionIntegrationClient client;
+    private SimpleMeterRegistry meterRegistry;
+    private PostStore postStore;
+    private AuditionCache auditionCache;
+    private SnapshotPersistence persistence;
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("post-store.snapshot");
+        client = mock(AuditionIntegrationClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        final PostStoreProperties properties = new PostStoreProperties();
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setPath(path);
+        postStore = new PostStore(client, properties, mock(TaskScheduler.class), meterRegistry);
+        final AuditionCacheProperties cacheProperties = new AuditionCacheProperties();
+        cacheProperties.getSpecs().put(CacheNames.COMMENTS, new AuditionCacheProperties.Spec());
+        auditionCache = new AuditionCache(cacheProperties, meterRegistry);
+        persistence = new SnapshotPersistence(postStore, properties, client, auditionCache, meterRegistry);
+    }
+
+    @Test
+    void testRestoresPostsAndCommentsBeforeTheFirstRefresh() throws IOException {
+        SnapshotFile.write(path, new SnapshotFile.Contents(CompactPosts.of(posts),
+            CompactComments.of(List.of(comments.get(1), comments.get(2), comments.get(0))), 7L, Instant.now()));
+
+        persistence.afterPropertiesSet();
+
+        assertTrue(postStore.isReady());
+        assertEquals(posts, postStore.getPosts());
+        assertEquals(7L, postStore.current().version());
+        assertEquals(List.of(comments.get(1), comments.get(2)), auditionCache.getIfPresent(CacheNames.COMMENTS, "1"));
+        assertEquals(List.of(comments.get(0)), auditionCache.getIfPresent(CacheNames.COMMENTS, "2"));
+        assertEquals(1, meterRegistry.get(SnapshotPersistence.LOAD_TIMER).tag("outcome", "restored").timer().count());
+        assertEquals((double) Files.size(path), meterRegistry.get(SnapshotPersistence.SIZE_GAUGE).gauge().value());
+    }
+
+    @Test
+    void testRestoredCommentsAgeFromTheTimeTheyWereSaved() throws IOException {
+        SnapshotFile.write(path, new SnapshotFile.Contents(CompactPosts.of(posts),
+            CompactComments.of(List.of(comments.get(1), comments.get(2), comments.get(0))), 7L,
+            Instant.parse("2024-01-01T00:00:00Z")));
+
+        persistence.afterPropertiesSet();
+
+        // Older than the TTL, so the first request reloads them instead of serving them as fresh
+        assertNull(auditionCache.getIfPresent(CacheNames.COMMENTS, "1"));
+        assertEquals(List.of(), auditionCache.get(CacheNames.COMMENTS, "2", List::of));
+        assertTrue(postStore.isReady());
+    }
+
+    @Test
+    void testStartsEmptyWithoutAFile() {
+        persistence.afterPropertiesSet();
+
+        assertFalse(postStore.isReady());
+        assertEquals(1, meterRegistry.get(SnapshotPersistence.LOAD_TIMER).tag("outcome", "missing").timer().count());
+    }
+
+    @Test
+    void testIgnoresAnUnreadableFile() throws IOException {
+        Files.writeString(path, "not a snapshot file");
+
+        persistence.afterPropertiesSet();
+
+        assertFalse(postStore.isReady());
+        assertEquals(1, meterRegistry.get(SnapshotPersistence.LOAD_TIMER).tag("outcome", "failed").timer().count());
+    }
+
+    @Test
+    void testWritesAfterRefreshesThatChangedSomething() throws IOException {
+        when(client.getPosts(null)).thenReturn(posts);
+        when(client.getComments()).thenReturn(comments);
+        persistence.afterPropertiesSet();
+
+        postStore.refresh();
+        postStore.refresh();
+
+        final SnapshotFile.Contents saved = SnapshotFile.read(path);
+        assertEquals(posts, saved.posts().asList());
+        assertEquals(List.of(comments.get(1), comments.get(2), comments.get(0)), saved.comments().asList());
+        assertEquals(postStore.current().version(), saved.version());
+        assertEquals(1, meterRegistry.get(SnapshotPersistence.WRITE_TIMER).timer().count());
+        assertEquals(List.of(comments.get(0)), auditionCache.getIfPresent(CacheNames.COMMENTS, "2"));
+    }
+
+    @Test
+    void testKeepsSavedCommentsWhenTheyCannotBeFetched() throws IOException {
+        when(client.getPosts(null))
+            .thenReturn(posts)
+            .thenReturn(List.of(posts.get(0)));
+        when(client.getComments())
+            .thenReturn(comments)
+            .thenThrow(new SystemException("Upstream down"));
+        persistence.afterPropertiesSet();
+
+        postStore.refresh();
+        postStore.refresh();
+
+        final SnapshotFile.Contents saved = SnapshotFile.read(path);
+        assertEquals(List.of(posts.get(0)), saved.posts().asList());
+        assertEquals(3, saved.comments().size());
+        assertEquals(2, meterRegistry.get(SnapshotPersistence.WRITE_TIMER).timer().count());
+    }
+}
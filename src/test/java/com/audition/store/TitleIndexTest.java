@@ -0,0 +1,56 @@
+package com.audition.store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.model.AuditionPost;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TitleIndexTest {
+
+    private TitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = TitleIndex.build(List.of(
+            new AuditionPost(1, 1, "sunt aut facere repellat", "body"),
+            new AuditionPost(1, 2, "qui est esse", "body"),
+            new AuditionPost(1, 3, "Ea molestias quasi", "body"),
+            new AuditionPost(1, 4, null, "body"),
+            new AuditionPost(1, 5, "eum et est occaecati", "body")));
+    }
+
+    @Test
+    void testContainsIsCaseSensitiveByDefault() {
+        assertArrayEquals(new int[]{1, 2, 4}, index.search("est", TitleMatch.CONTAINS, false));
+        assertArrayEquals(new int[0], index.search("EST", TitleMatch.CONTAINS, false));
+    }
+
+    @Test
+    void testContainsIgnoringCase() {
+        assertArrayEquals(new int[]{1, 2, 4}, index.search("EST", TitleMatch.CONTAINS, true));
+    }
+
+    @Test
+    void testShortQueriesScanAllTitles() {
+        assertArrayEquals(new int[]{0, 1, 2, 4}, index.search("u", TitleMatch.CONTAINS, false));
+    }
+
+    @Test
+    void testPrefix() {
+        assertArrayEquals(new int[]{2, 4}, index.search("e", TitleMatch.PREFIX, true));
+        assertArrayEquals(new int[]{4}, index.search("e", TitleMatch.PREFIX, false));
+    }
+
+    @Test
+    void testUnknownTrigramMatchesNothing() {
+        assertArrayEquals(new int[0], index.search("xyz", TitleMatch.CONTAINS, true));
+    }
+
+    @Test
+    void testEstimatedBytesIsPositive() {
+        assertTrue(index.estimatedBytes() > 0);
+    }
+}
@@ -1,22 +1,41 @@
 package com.audition.web;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.audition.common.cache.ContentVersion;
+import com.audition.common.cache.Freshness;
+import com.audition.common.cache.ServedEntry;
 import com.audition.common.exception.SystemException;
 import com.audition.model.AuditionPost;
 import com.audition.model.AuditionPostWithComments;
+import com.audition.model.BatchPostResult;
 import com.audition.model.PostComment;
 import com.audition.service.AuditionService;
+import com.audition.store.TitleMatch;
+import com.audition.web.advice.CacheAgeResponseAdvice;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,9 +45,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
 @SpringBootTest
@@ -53,7 +75,7 @@ class AuditionControllerTest {
         AuditionPost post1 = new AuditionPost(1, 1, "Title1", "Content1");
         AuditionPost post2 = new AuditionPost(2, 2, "Title2", "Content2");
 
-        when(auditionService.getPosts("Title1")).thenReturn(List.of(post1));
+        when(auditionService.getPosts("Title1", TitleMatch.CONTAINS, false)).thenReturn(List.of(post1));
 
         mockMvc.perform(get("/posts")
                 .param("title", "Title1")
@@ -62,7 +84,7 @@ class AuditionControllerTest {
             .andExpect(jsonPath("$[0].title").value("Title1"))
             .andDo(MockMvcResultHandlers.print());
 
-        verify(auditionService, times(1)).getPosts("Title1");
+        verify(auditionService, times(1)).getPosts("Title1", TitleMatch.CONTAINS, false);
     }
 
     @Test
@@ -70,7 +92,7 @@ class AuditionControllerTest {
         AuditionPost post1 = new AuditionPost(1, 1, "Title1", "Content1");
         AuditionPost post2 = new AuditionPost(2, 2, "Title2", "Content2");
 
-        when(auditionService.getPosts("Title1")).thenReturn(List.of(post1));
+        when(auditionService.getPosts("Title1", TitleMatch.CONTAINS, false)).thenReturn(List.of(post1));
 
         mockMvc.perform(get("/posts")
                 .param("title", "Title1")
@@ -79,6 +101,117 @@ class AuditionControllerTest {
             .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetAllPostsWithPrefixIgnoringCase() throws Exception {
+        when(auditionService.getPosts("tit", TitleMatch.PREFIX, true))
+            .thenReturn(List.of(new AuditionPost(1, 1, "Title1", "Content1")));
+
+        mockMvc.perform(get("/posts")
+                .param("title", "tit")
+                .param("match", "prefix")
+                .param("ignoreCase", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].title").value("Title1"));
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetAllPostsWithUnknownMatch() throws Exception {
+        mockMvc.perform(get("/posts")
+                .param("title", "tit")
+                .param("match", "regex"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetAllPostsPagesWithCursor() throws Exception {
+        when(auditionService.getPosts(null, TitleMatch.CONTAINS, false)).thenReturn(List.of(
+            new AuditionPost(1, 1, "Title1", "Content1"), new AuditionPost(1, 2, "Title2", "Content2"),
+            new AuditionPost(2, 3, "Title3", "Content3")));
+
+        final MvcResult first = mockMvc.perform(get("/posts").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[1].id").value(2))
+            .andExpect(header().string(ListEndpoint.TOTAL_COUNT_HEADER, "3"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn();
+        final String cursor = first.getResponse().getHeader(ListEndpoint.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/posts").param("limit", "2").param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(3))
+            .andExpect(header().doesNotExist(ListEndpoint.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetAllPostsCursorResumesAfterLastIdWhenEarlierPostsDisappear() throws Exception {
+        when(auditionService.getPosts(null, TitleMatch.CONTAINS, false))
+            .thenReturn(List.of(new AuditionPost(1, 1, "Title1", "Content1"),
+                new AuditionPost(1, 2, "Title2", "Content2"), new AuditionPost(2, 3, "Title3", "Content3")))
+            .thenReturn(List.of(new AuditionPost(1, 2, "Title2", "Content2"),
+                new AuditionPost(2, 3, "Title3", "Content3")));
+
+        final String cursor = mockMvc.perform(get("/posts").param("limit", "2"))
+            .andReturn().getResponse().getHeader(ListEndpoint.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/posts").param("limit", "2").param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(3));
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetAllPostsSortsAndProjectsFields() throws Exception {
+        when(auditionService.getPosts(null, TitleMatch.CONTAINS, false)).thenReturn(List.of(
+            new AuditionPost(1, 1, "b", "Content1"), new AuditionPost(1, 2, "c", "Content2"),
+            new AuditionPost(2, 3, "a", "Content3")));
+
+        mockMvc.perform(get("/posts").param("sort", "-title").param("fields", "id,title"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].title").value("c"))
+            .andExpect(jsonPath("$[2].id").value(3))
+            .andExpect(jsonPath("$[0].body").doesNotExist())
+            .andExpect(jsonPath("$[0].userId").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetAllPostsWithFilterExpression() throws Exception {
+        when(auditionService.getPosts(null, TitleMatch.CONTAINS, false)).thenReturn(List.of(
+            new AuditionPost(1, 1, "qui est", "Content1"), new AuditionPost(2, 2, "qui esse", "Content2"),
+            new AuditionPost(3, 3, "sunt", "Content3")));
+
+        mockMvc.perform(get("/posts").param("filter", "userId in (1, 3) and not title prefix 'sunt'"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(1));
+        mockMvc.perform(get("/posts").param("filter", "userId like 1"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value(containsString("filter")));
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetAllPostsRejectsBadListParameters() throws Exception {
+        mockMvc.perform(get("/posts").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/posts").param("sort", "body"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/posts").param("fields", "id,password"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/posts").param("cursor", "not a cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("cursor is invalid"));
+
+        verify(auditionService, never()).getPosts(any(), any(), anyBoolean());
+    }
+
     @Test
     @WithMockUser(username = "lisa")
     void testGetPostById() throws Exception {
@@ -97,6 +230,64 @@ class AuditionControllerTest {
         verify(auditionService, times(1)).validPostId("1");
     }
 
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetPostByIdReportsAgeOfCachedAnswer() throws Exception {
+        when(auditionService.getPostById("1")).thenAnswer(invocation -> {
+            ServedEntry.record(Duration.ofSeconds(90), Freshness.STALE);
+            return new AuditionPost(1, 1, "Title1", "Content1");
+        });
+
+        mockMvc.perform(get("/posts/{id}", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.AGE, "90"))
+            .andExpect(header().string(CacheAgeResponseAdvice.FRESHNESS_HEADER, "stale"));
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetPostByIdAnswersMatchingETagWithNotModified() throws Exception {
+        when(auditionService.getPostById("1")).thenAnswer(invocation -> {
+            ContentVersion.record(42);
+            return new AuditionPost(1, 1, "Title1", "Content1");
+        });
+
+        mockMvc.perform(get("/posts/{id}", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2a\""))
+            .andExpect(jsonPath("$.title").value("Title1"));
+        mockMvc.perform(get("/posts/{id}", "1").header(HttpHeaders.IF_NONE_MATCH, "\"2a\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2a\""))
+            .andExpect(content().string(""));
+        mockMvc.perform(get("/posts/{id}", "1").header(HttpHeaders.IF_NONE_MATCH, "\"29\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetPostByIdAnswersMatchingGzipETagWithNotModified() throws Exception {
+        when(auditionService.getPostById("1")).thenAnswer(invocation -> {
+            ContentVersion.record(42);
+            return new AuditionPost(1, 1, "Title1", "Content1");
+        });
+
+        mockMvc.perform(get("/posts/{id}", "1").header(HttpHeaders.IF_NONE_MATCH, "\"2a-gzip\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2a-gzip\""))
+            .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetPostByIdWithoutCachedContentHasNoETag() throws Exception {
+        when(auditionService.getPostById("1")).thenReturn(new AuditionPost(1, 1, "Title1", "Content1"));
+
+        mockMvc.perform(get("/posts/{id}", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
     @Test
     @WithMockUser(username = "lisa")
     void testGetPostsWithComments() throws Exception {
@@ -137,11 +328,31 @@ class AuditionControllerTest {
         verify(auditionService, times(1)).validPostId("1");
     }
 
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetCommentsForPostPagesAndProjectsFields() throws Exception {
+        when(auditionService.getCommentsByPostId("1")).thenReturn(List.of(
+            new PostComment(1, 1, "name1", "b@example.com", "Comment1"),
+            new PostComment(1, 2, "name2", "a@example.com", "Comment2")));
+
+        mockMvc.perform(get("/comments")
+                .param("postId", "1")
+                .param("filter", "email domain 'example.com'")
+                .param("sort", "email")
+                .param("limit", "1")
+                .param("fields", "email"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].email").value("a@example.com"))
+            .andExpect(jsonPath("$[0].body").doesNotExist())
+            .andExpect(header().exists(ListEndpoint.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     @WithMockUser(username = "lisa")
     void testGetAllPostsWithInvalidFilter() throws Exception {
         // Simulate a failure in the service
-        when(auditionService.getPosts(anyString())).thenThrow(new SystemException("Invalid title",
+        when(auditionService.getPosts(anyString(), any(TitleMatch.class), anyBoolean())).thenThrow(new SystemException("Invalid title",
             HttpStatus.BAD_REQUEST));
 
         mockMvc.perform(get("/posts")
@@ -151,7 +362,7 @@ class AuditionControllerTest {
             .andExpect(jsonPath("$.detail").value("Invalid title"))
             .andDo(MockMvcResultHandlers.print());
 
-        verify(auditionService, times(1)).getPosts("InvalidTitle");
+        verify(auditionService, times(1)).getPosts("InvalidTitle", TitleMatch.CONTAINS, false);
     }
 
     @Test
@@ -222,4 +433,30 @@ class AuditionControllerTest {
         verify(auditionService, times(1)).validPostId("invalidPostId");
         verify(auditionService, never()).getCommentsByPostId("invalidPostId");
     }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetPostsBatchStreamsOneLinePerId() throws Exception {
+        doAnswer(invocation -> {
+            final Consumer<BatchPostResult> sink = invocation.getArgument(3);
+            sink.accept(BatchPostResult.success(1, new AuditionPost(1, 1, "Title1", "Content1")));
+            sink.accept(BatchPostResult.failure(2, ProblemDetail.forStatus(HttpStatus.NOT_FOUND)));
+            return null;
+        }).when(auditionService).getPostsBatch(anyList(), anyBoolean(), any(), any());
+
+        final MvcResult asyncResult = mockMvc.perform(post("/posts/batch")
+                .param("include", "comments")
+                .contentType("application/json")
+                .content("{\"ids\":[1,2]}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("\"title\":\"Title1\"")))
+            .andExpect(content().string(containsString("\"status\":404")))
+            .andDo(MockMvcResultHandlers.print());
+
+        verify(auditionService, times(1)).getPostsBatch(eq(List.of(1, 2)), eq(true), any(), any());
+    }
 }
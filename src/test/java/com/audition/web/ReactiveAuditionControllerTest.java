@@ -0,0 +1,118 @@
+package com.audition.web;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.audition.common.exception.SystemException;
+import com.audition.model.AuditionPost;
+import com.audition.model.BatchPostResult;
+import com.audition.service.ReactiveAuditionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(properties = "application.api.mode=reactive")
+@AutoConfigureMockMvc
+class ReactiveAuditionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveAuditionService reactiveAuditionService;
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetPostById() throws Exception {
+        when(reactiveAuditionService.getPostById("1"))
+            .thenReturn(Mono.just(new AuditionPost(1, 1, "Title1", "Content1")));
+
+        final MvcResult asyncResult = mockMvc.perform(get("/posts/1"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Title1"));
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetPostByIdUpstreamErrorRendersProblemDetail() throws Exception {
+        when(reactiveAuditionService.getPostById("1"))
+            .thenReturn(Mono.error(new SystemException("Post not found", HttpStatus.NOT_FOUND)));
+
+        final MvcResult asyncResult = mockMvc.perform(get("/posts/1"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.detail").value("Post not found"));
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetPostByIdRejectsInvalidIdBeforeSubscribing() throws Exception {
+        mockMvc.perform(get("/posts/abc"))
+            .andExpect(status().isBadRequest());
+
+        verify(reactiveAuditionService, never()).getPostById("abc");
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testListParametersAreRejected() throws Exception {
+        mockMvc.perform(get("/posts").param("filter", "userId eq 1"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("Parameter filter is not supported in reactive mode"));
+        mockMvc.perform(get("/posts").param("limit", "10"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/comments").param("postId", "1").param("sort", "-id"))
+            .andExpect(status().isBadRequest());
+
+        verify(reactiveAuditionService, never()).getPosts(any(), any(), anyBoolean());
+        verify(reactiveAuditionService, never()).getCommentsByPostId("1");
+    }
+
+    @Test
+    @WithMockUser(username = "lisa")
+    void testGetPostsBatchStreamsOneLinePerId() throws Exception {
+        when(reactiveAuditionService.getPostsBatch(anyCollection(), eq(false), any())).thenReturn(Flux.just(
+            BatchPostResult.success(1, new AuditionPost(1, 1, "Title1", "Content1")),
+            BatchPostResult.failure(2, ProblemDetail.forStatus(HttpStatus.NOT_FOUND))));
+
+        final MvcResult asyncResult = mockMvc.perform(post("/posts/batch")
+                .contentType("application/json")
+                .content("{\"ids\":[1,2]}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("\"title\":\"Title1\"")))
+            .andExpect(content().string(containsString("\"status\":404")));
+    }
+}
@@ -3,18 +3,29 @@ package com.audition.web.advice;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.common.logging.AuditionLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
-import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 
 public class ExceptionControllerAdviceTest {
 
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ProblemDetailMapper problemDetailMapper = new ProblemDetailMapper(new AuditionLogger(), meterRegistry);
+
     @InjectMocks
     private ExceptionControllerAdvice exceptionControllerAdvice;
 
@@ -54,46 +65,34 @@ public class ExceptionControllerAdviceTest {
     }
 
     @Test
-    void testGetMessageFromExceptionWithMessage() {
-        String message = exceptionControllerAdvice.getMessageFromException(new Exception("Test message"));
-        assertEquals("Test message", message);
-    }
-
-    @Test
-    void testGetMessageFromExceptionWithoutMessage() {
-        String message = exceptionControllerAdvice.getMessageFromException(new Exception());
-        assertEquals("API Error occurred. Please contact support or administrator.", message);
-    }
-
-    @Test
-    void testGetHttpStatusCodeFromExceptionHttpClientErrorException() {
-        HttpClientErrorException exception = new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Bad Request");
-        HttpStatusCode statusCode = exceptionControllerAdvice.getHttpStatusCodeFromException(exception);
-
-        assertEquals(HttpStatus.BAD_REQUEST, statusCode);
+    void testHandleSystemExceptionCountsByStatus() {
+        exceptionControllerAdvice.handleSystemException(new SystemException("Not found", HttpStatus.NOT_FOUND));
+        exceptionControllerAdvice.handleSystemException(new SystemException("Not found", HttpStatus.NOT_FOUND));
+        exceptionControllerAdvice.handleSystemException(new SystemException("Bad gateway", HttpStatus.BAD_GATEWAY));
+
+        assertEquals(2.0, meterRegistry.get(ProblemDetailMapper.SYSTEM_EXCEPTIONS_COUNTER)
+            .tag("status", "404").counter().count());
+        assertEquals(1.0, meterRegistry.get(ProblemDetailMapper.SYSTEM_EXCEPTIONS_COUNTER)
+            .tag("status", "502").counter().count());
     }
 
     @Test
-    void testGetHttpStatusCodeFromExceptionHttpRequestMethodNotSupportedException() {
-        HttpRequestMethodNotSupportedException exception = new HttpRequestMethodNotSupportedException("POST");
-        HttpStatusCode statusCode = exceptionControllerAdvice.getHttpStatusCodeFromException(exception);
-
-        assertEquals(HttpStatus.METHOD_NOT_ALLOWED, statusCode);
-    }
-
-    @Test
-    void testGetHttpStatusCodeFromExceptionUnknown() {
-        Exception exception = new Exception();
-        HttpStatusCode statusCode = exceptionControllerAdvice.getHttpStatusCodeFromException(exception);
-
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, statusCode);
+    void testHandleUpstreamUnavailableExceptionSetsRetryAfter() {
+        UpstreamUnavailableException exception = new UpstreamUnavailableException("Circuit open",
+            Duration.ofMillis(2500), null);
+        ResponseEntity<ProblemDetail> result = exceptionControllerAdvice.handleUpstreamUnavailableException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, result.getStatusCode());
+        assertEquals("3", result.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Circuit open", result.getBody().getDetail());
     }
 
     @Test
-    void testGetHttpStatusCodeFromSystemExceptionWithValidStatusCode() {
-        SystemException exception = new SystemException("Custom error", HttpStatus.valueOf(200));
-        HttpStatusCode statusCode = exceptionControllerAdvice.getHttpStatusCodeFromSystemException(exception);
+    void testHandleUpstreamUnavailableExceptionIsCounted() {
+        exceptionControllerAdvice.handleUpstreamUnavailableException(new UpstreamUnavailableException("Bulkhead full",
+            Duration.ofSeconds(1), null));
 
-        assertEquals(HttpStatusCode.valueOf(200), statusCode);
+        assertEquals(1.0, meterRegistry.get(ProblemDetailMapper.SYSTEM_EXCEPTIONS_COUNTER)
+            .tag("status", "503").counter().count());
     }
 }
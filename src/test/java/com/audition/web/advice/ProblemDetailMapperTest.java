@@ -0,0 +1,81 @@
+package com.audition.web.advice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.client.HttpClientErrorException;
+
+class ProblemDetailMapperTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProblemDetailMapper problemDetailMapper = new ProblemDetailMapper(new AuditionLogger(),
+        meterRegistry);
+
+    @Test
+    void testToProblemDetailMatchesTheHandlers() {
+        final ProblemDetail system = problemDetailMapper.toProblemDetail(
+            new SystemException("Post not found", HttpStatus.NOT_FOUND));
+        final ProblemDetail clientError = problemDetailMapper.toProblemDetail(
+            new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Bad Request"));
+        final ProblemDetail unexpected = problemDetailMapper.toProblemDetail(new IllegalStateException());
+
+        assertEquals(404, system.getStatus());
+        assertEquals("Post not found", system.getDetail());
+        assertEquals(400, clientError.getStatus());
+        assertEquals(500, unexpected.getStatus());
+        assertEquals("API Error occurred. Please contact support or administrator.", unexpected.getDetail());
+        assertEquals(1.0, meterRegistry.get(ProblemDetailMapper.SYSTEM_EXCEPTIONS_COUNTER)
+            .tag("status", "404").counter().count());
+    }
+
+    @Test
+    void testGetMessageFromExceptionWithMessage() {
+        String message = problemDetailMapper.getMessageFromException(new Exception("Test message"));
+        assertEquals("Test message", message);
+    }
+
+    @Test
+    void testGetMessageFromExceptionWithoutMessage() {
+        String message = problemDetailMapper.getMessageFromException(new Exception());
+        assertEquals("API Error occurred. Please contact support or administrator.", message);
+    }
+
+    @Test
+    void testGetHttpStatusCodeFromExceptionHttpClientErrorException() {
+        HttpClientErrorException exception = new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Bad Request");
+        HttpStatusCode statusCode = problemDetailMapper.getHttpStatusCodeFromException(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, statusCode);
+    }
+
+    @Test
+    void testGetHttpStatusCodeFromExceptionHttpRequestMethodNotSupportedException() {
+        HttpRequestMethodNotSupportedException exception = new HttpRequestMethodNotSupportedException("POST");
+        HttpStatusCode statusCode = problemDetailMapper.getHttpStatusCodeFromException(exception);
+
+        assertEquals(HttpStatus.METHOD_NOT_ALLOWED, statusCode);
+    }
+
+    @Test
+    void testGetHttpStatusCodeFromExceptionUnknown() {
+        Exception exception = new Exception();
+        HttpStatusCode statusCode = problemDetailMapper.getHttpStatusCodeFromException(exception);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, statusCode);
+    }
+
+    @Test
+    void testGetHttpStatusCodeFromSystemExceptionWithValidStatusCode() {
+        SystemException exception = new SystemException("Custom error", HttpStatus.valueOf(200));
+        HttpStatusCode statusCode = problemDetailMapper.getHttpStatusCodeFromSystemException(exception);
+
+        assertEquals(HttpStatusCode.valueOf(200), statusCode);
+    }
+}
@@ -0,0 +1,160 @@
+package com.audition.web.advice;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.cache.ContentVersion;
+import com.audition.configuration.FieldProjection;
+import com.audition.configuration.HttpCachingProperties;
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+class SerializedResponseAdviceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HttpCachingProperties properties = new HttpCachingProperties();
+    private final List<AuditionPost> posts = new ArrayList<>();
+    private SerializedResponseAdvice advice;
+
+    @BeforeEach
+    void setUp() {
+        properties.getSerialized().setPaths(List.of("/posts"));
+        advice = new SerializedResponseAdvice(properties, objectMapper, meterRegistry);
+        for (int id = 1; id <= 50; id++) {
+            posts.add(new AuditionPost(1, id, "title " + id, "body of post " + id));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testWritesKeptBytesUntilTheContentVersionChanges() throws IOException {
+        final MockHttpServletResponse first = get("/posts", 7L, null, posts);
+        final MockHttpServletResponse second = get("/posts", 7L, null, List.of());
+        final MockHttpServletResponse changed = get("/posts", 8L, null, List.of());
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(posts), first.getContentAsByteArray());
+        // The second body is ignored: the bytes kept for version 7 are written
+        assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        assertEquals("[]", changed.getContentAsString());
+        assertEquals(2, meterRegistry.get(SerializedResponseAdvice.SERIALIZATION_TIMER).timer().count());
+        assertTrue(meterRegistry.get(SerializedResponseAdvice.SAVED_COUNTER).counter().count() > 0);
+    }
+
+    @Test
+    void testNegotiatesGzip() throws IOException {
+        final MockHttpServletResponse response = get("/posts", 7L, "br, gzip;q=0.8", posts);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(objectMapper.writeValueAsBytes(posts), gzip.readAllBytes());
+        }
+        assertEquals(response.getContentAsByteArray().length, meterRegistry.get(SerializedResponseAdvice.BYTES_COUNTER)
+            .tag("encoding", "gzip").counter().count());
+    }
+
+    @Test
+    void testGzipResponseHasItsOwnETag() {
+        final MockHttpServletRequest request = request("/posts", "/posts", "gzip");
+        ContentVersion.record(7L);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        // As left by ConditionalResponseAdvice
+        response.setHeader(HttpHeaders.ETAG, "\"7\"");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        advice.beforeBodyWrite(posts, null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+            new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+
+        assertEquals("\"7-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), response.getHeaders(HttpHeaders.VARY));
+    }
+
+    @Test
+    void testKeepsProjectedBytes() throws IOException {
+        advice = new SerializedResponseAdvice(properties, new WebServiceConfiguration().objectMapper(), meterRegistry);
+        final MappingJacksonValue projected = new MappingJacksonValue(posts.subList(0, 1));
+        projected.setFilters(FieldProjection.only(Set.of("id", "title")));
+
+        final MockHttpServletResponse response = get("/posts?fields=id,title", 7L, null, projected);
+
+        assertEquals("[{\"id\":1,\"title\":\"title 1\"}]", response.getContentAsString());
+    }
+
+    @Test
+    void testLeavesOtherResponsesToTheConverter() {
+        final MockHttpServletRequest request = request("/posts/{id}", "/posts/1", null);
+        ContentVersion.record(7L);
+
+        final Object body = advice.beforeBodyWrite(posts, null, MediaType.APPLICATION_JSON,
+            MappingJackson2HttpMessageConverter.class, new ServletServerHttpRequest(request),
+            new ServletServerHttpResponse(new MockHttpServletResponse()));
+
+        assertSame(posts, body);
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(SerializedResponseAdvice.acceptsGzip(List.of("gzip, deflate")));
+        assertTrue(SerializedResponseAdvice.acceptsGzip(List.of("*")));
+        assertFalse(SerializedResponseAdvice.acceptsGzip(List.of("gzip;q=0")));
+        assertFalse(SerializedResponseAdvice.acceptsGzip(List.of("identity")));
+        assertFalse(SerializedResponseAdvice.acceptsGzip(null));
+    }
+
+    private MockHttpServletResponse get(final String uri, final long version, final String acceptEncoding,
+        final Object body) {
+        final MockHttpServletRequest request = request("/posts", uri, acceptEncoding);
+        ContentVersion.record(version);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        final Object written = advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON,
+            MappingJackson2HttpMessageConverter.class, new ServletServerHttpRequest(request),
+            new ServletServerHttpResponse(response));
+
+        assertNull(written);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(final String pattern, final String uri,
+        final String acceptEncoding) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return request;
+    }
+}